@@ -0,0 +1,46 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs benchmarks with GC profiling and JSON results (for regression tracking) unless the command line says otherwise
+public class BenchmarkRunner {
+
+  private static final String RESULT_FILE = "jmh-result.json";
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    var commandLineOptions = new CommandLineOptions(args);
+
+    if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+        || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListProfilers()
+        || commandLineOptions.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    var optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+
+    if (commandLineOptions.getProfilers()
+        .isEmpty()) {
+      optionsBuilder.addProfiler(GCProfiler.class);
+    }
+
+    if (!commandLineOptions.getResultFormat()
+        .hasValue()) {
+      optionsBuilder.resultFormat(ResultFormatType.JSON);
+    }
+
+    if (!commandLineOptions.getResult()
+        .hasValue()) {
+      optionsBuilder.result(RESULT_FILE);
+    }
+
+    new Runner(optionsBuilder.build()).run();
+  }
+}
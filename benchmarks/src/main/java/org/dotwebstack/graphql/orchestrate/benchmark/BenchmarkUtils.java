@@ -0,0 +1,42 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import java.io.IOException;
+
+public class BenchmarkUtils {
+
+  private BenchmarkUtils() {}
+
+  public static GraphQLSchema loadSchema(String name, GraphQLCodeRegistry codeRegistry) {
+    var schemaResource = BenchmarkUtils.class.getClassLoader()
+        .getResource(name + ".graphql");
+
+    if (schemaResource == null) {
+      throw new IllegalStateException("Schema resource not found.");
+    }
+
+    try (var inputStream = schemaResource.openStream()) {
+      return createSchema(new SchemaParser().parse(inputStream), codeRegistry);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static GraphQLSchema createSchema(String sdl, GraphQLCodeRegistry codeRegistry) {
+    return createSchema(new SchemaParser().parse(sdl), codeRegistry);
+  }
+
+  private static GraphQLSchema createSchema(TypeDefinitionRegistry typeDefinitionRegistry,
+      GraphQLCodeRegistry codeRegistry) {
+    var runtimeWiring = RuntimeWiring.newRuntimeWiring()
+        .codeRegistry(codeRegistry)
+        .build();
+
+    return new SchemaGenerator().makeExecutableSchema(typeDefinitionRegistry, runtimeWiring);
+  }
+}
@@ -0,0 +1,100 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.loadSchema;
+
+import graphql.execution.MergedField;
+import graphql.language.Argument;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.language.StringValue;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.delegate.DelegationPlanCache;
+import org.dotwebstack.graphql.orchestrate.delegate.SimpleDelegator;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Delegates a root field to an in-process subschema, so the numbers exclude any network overhead
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DelegatorBenchmark {
+
+  @Param({"false", "true"})
+  private boolean planCached;
+
+  private SimpleDelegator delegator;
+
+  private DataFetchingEnvironment environment;
+
+  @Setup
+  public void setUp() {
+    DataFetcher<Object> breweryFetcher =
+        fetchingEnvironment -> Map.of("identifier", "foo", "name", "bar", "founder", Map.of("name", "baz"));
+
+    var codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher(FieldCoordinates.coordinates("Query", "brewery"), breweryFetcher)
+        .build();
+
+    var subschema = Subschema.newSubschema()
+        .schema(loadSchema("dbeerpedia", codeRegistry))
+        .build();
+
+    delegator = SimpleDelegator.newDelegator()
+        .subschema(subschema)
+        .fieldName("brewery")
+        .argsFromEnv(fetchingEnvironment -> fetchingEnvironment.getField()
+            .getArguments())
+        .planCache(planCached ? new DelegationPlanCache(100) : null)
+        .build();
+
+    var field = Field.newField("brewery")
+        .arguments(List.of(new Argument("identifier", new StringValue("foo"))))
+        .selectionSet(SelectionSet.newSelectionSet()
+            .selection(new Field("identifier"))
+            .selection(new Field("name"))
+            .selection(Field.newField("founder")
+                .selectionSet(SelectionSet.newSelectionSet()
+                    .selection(new Field("name"))
+                    .build())
+                .build())
+            .build())
+        .build();
+
+    environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+        .operationDefinition(OperationDefinition.newOperationDefinition()
+            .operation(OperationDefinition.Operation.QUERY)
+            .build())
+        .mergedField(MergedField.newMergedField()
+            .addField(field)
+            .build())
+        .variables(Map.of())
+        .build();
+  }
+
+  @Benchmark
+  public Object delegate() {
+    return delegator.delegate(environment)
+        .join();
+  }
+}
@@ -0,0 +1,108 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.dotwebstack.graphql.orchestrate.transform.FieldPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldPathBenchmark {
+
+  private static final List<String> DEEP_PATH = List.of("a", "b", "c", "d", "e", "f");
+
+  private static final List<String> WIDE_PATH = List.of("items", "founder", "name");
+
+  private static final int WIDE_SIZE = 10_000;
+
+  private final FieldPath deepFieldPath = FieldPath.of(DEEP_PATH);
+
+  private final FieldPath wideFieldPath = FieldPath.of(WIDE_PATH);
+
+  private Object deepData;
+
+  private Object wideData;
+
+  @Setup
+  public void setUp() {
+    Object data = "value";
+
+    for (var index = DEEP_PATH.size() - 1; index >= 0; index--) {
+      data = Map.of(DEEP_PATH.get(index), data);
+    }
+
+    deepData = data;
+
+    var items = new ArrayList<Object>(WIDE_SIZE);
+
+    for (var index = 0; index < WIDE_SIZE; index++) {
+      items.add(Map.of("founder", Map.of("name", "founder" + index)));
+    }
+
+    wideData = Map.of("items", items);
+  }
+
+  @Benchmark
+  public Object deepFieldPath() {
+    return deepFieldPath.getValue(deepData);
+  }
+
+  @Benchmark
+  public Object deepRecursive() {
+    return getFieldValue(deepData, DEEP_PATH);
+  }
+
+  @Benchmark
+  public Object wideFieldPath() {
+    return wideFieldPath.getValue(wideData);
+  }
+
+  @Benchmark
+  public Object wideRecursive() {
+    return getFieldValue(wideData, WIDE_PATH);
+  }
+
+  // Previous implementation of TransformUtils.getFieldValue, which recursed on sub lists and used streams for lists
+  private static Object getFieldValue(Object data, List<String> fieldPath) {
+    var fieldPathSize = fieldPath.size();
+    var fieldValue = getFieldValue(data, fieldPath.get(0));
+
+    if (fieldValue == null || fieldPathSize == 1) {
+      return fieldValue;
+    }
+
+    return getFieldValue(fieldValue, fieldPath.subList(1, fieldPathSize));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object getFieldValue(Object data, String fieldKey) {
+    if (data == null) {
+      return null;
+    }
+
+    if (data instanceof List) {
+      return (((List<Object>) data).stream()).map(item -> getFieldValue(item, fieldKey))
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+    }
+
+    return ((Map<String, Object>) data).get(fieldKey);
+  }
+}
@@ -0,0 +1,162 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.loadSchema;
+
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLCodeRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.HoistField;
+import org.dotwebstack.graphql.orchestrate.transform.TransformContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compare the GC profiler allocation rates of the rewriting strategies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HoistFieldBenchmark {
+
+  private static final List<List<String>> HOISTED_PATHS = List.of(List.of("brewery"),
+      List.of("brewery", "collaborators"));
+
+  private static final List<String> SOURCE_FIELD_PATH = List.of("founder", "name");
+
+  @Param({"100", "10000"})
+  private int collaboratorCount;
+
+  private UnaryOperator<Result> resultMapper;
+
+  private Result result;
+
+  private Result ownedResult;
+
+  @Setup
+  public void setUp() {
+    var schema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .build());
+
+    var context = TransformContext.newContext()
+        .subschema(Subschema.newSubschema()
+            .schema(schema)
+            .build())
+        .build();
+
+    var transform = new HoistField("Brewery", "founderName", SOURCE_FIELD_PATH);
+    transform.transformSchema(schema, context);
+
+    var operationDefinition = (OperationDefinition) Parser
+        .parse("{brewery(identifier:\"foo\") {identifier founderName collaborators {identifier founderName}}}")
+        .getDefinitions()
+        .get(0);
+
+    resultMapper = transform.transformRequest(Request.newRequest()
+        .selectionSet(operationDefinition.getSelectionSet())
+        .build())
+        .getResultMapper();
+
+    var collaborators = new ArrayList<Object>(collaboratorCount);
+
+    for (var index = 0; index < collaboratorCount; index++) {
+      collaborators.add(createBrewery("collaborator" + index, List.of()));
+    }
+
+    result = Result.newResult()
+        .data(Map.of("brewery", createBrewery("foo", collaborators)))
+        .build();
+
+    // Rewriting in place is idempotent here, so the same tree can be reused across invocations
+    ownedResult = result.transform(builder -> builder.data(new HashMap<>(result.getData()))
+        .dataOwned(true));
+  }
+
+  @Benchmark
+  public Result structurallyShared() {
+    return resultMapper.apply(result);
+  }
+
+  @Benchmark
+  public Result inPlace() {
+    return resultMapper.apply(ownedResult);
+  }
+
+  @Benchmark
+  public Object copyPerHoistedField() {
+    Object data = result.getData();
+
+    for (var hoistedPath : HOISTED_PATHS) {
+      data = mapTransform(data, hoistedPath);
+    }
+
+    return data;
+  }
+
+  private static Map<String, Object> createBrewery(String identifier, List<Object> collaborators) {
+    var brewery = new HashMap<String, Object>();
+    brewery.put("identifier", identifier);
+    brewery.put("founder", Map.of("name", "founder of " + identifier));
+    brewery.put("collaborators", collaborators);
+    return brewery;
+  }
+
+  // Previous strategy, which copied every map on the path once for every hoisted field
+  @SuppressWarnings("unchecked")
+  private static Object mapTransform(Object data, List<String> fieldPath) {
+    if (data instanceof List) {
+      return ((List<Object>) data).stream()
+          .map(item -> mapTransform(item, fieldPath))
+          .collect(Collectors.toList());
+    }
+
+    var dataMap = (Map<String, Object>) data;
+    var fieldKey = fieldPath.get(0);
+    var fieldValue = dataMap.get(fieldKey);
+
+    if (fieldPath.size() > 1) {
+      return putMapValue(dataMap, fieldKey, mapTransform(fieldValue, fieldPath.subList(1, fieldPath.size())));
+    }
+
+    if (fieldValue instanceof List) {
+      return putMapValue(dataMap, fieldKey, ((List<Map<String, Object>>) fieldValue).stream()
+          .map(HoistFieldBenchmark::dehoist)
+          .collect(Collectors.toList()));
+    }
+
+    return putMapValue(dataMap, fieldKey, dehoist((Map<String, Object>) fieldValue));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> dehoist(Map<String, Object> container) {
+    var founder = (Map<String, Object>) container.get(SOURCE_FIELD_PATH.get(0));
+
+    return putMapValue(container, "founderName", founder.get(SOURCE_FIELD_PATH.get(1)));
+  }
+
+  private static Map<String, Object> putMapValue(Map<String, Object> inputMap, String key, Object value) {
+    var dataMap = new HashMap<>(inputMap);
+    dataMap.put(key, value);
+    return Collections.unmodifiableMap(dataMap);
+  }
+}
@@ -0,0 +1,116 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.schema.JsonResponseDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class JsonDecodingBenchmark {
+
+  private static final int CHUNK_SIZE = 16 * 1024;
+
+  private static final ResolvableType MAP_TYPE =
+      ResolvableType.forType(new ParameterizedTypeReference<Map<String, Object>>() {});
+
+  @Param({"1", "10", "50"})
+  private int payloadMegabytes;
+
+  private List<byte[]> chunks;
+
+  private Jackson2JsonDecoder jacksonDecoder;
+
+  private JsonResponseDecoder streamingDecoder;
+
+  @Setup
+  public void setUp() {
+    chunks = createChunks(createBody(payloadMegabytes * 1024 * 1024));
+
+    jacksonDecoder = new Jackson2JsonDecoder();
+    jacksonDecoder.setMaxInMemorySize(-1);
+
+    streamingDecoder = new JsonResponseDecoder(-1);
+  }
+
+  @Benchmark
+  public Object aggregatingDecoder() {
+    return jacksonDecoder.decodeToMono(toDataBuffers(), MAP_TYPE, MediaType.APPLICATION_JSON, Map.of())
+        .block();
+  }
+
+  @Benchmark
+  public Object streamingDecoder() {
+    return streamingDecoder.decode(toDataBuffers())
+        .block();
+  }
+
+  private Flux<DataBuffer> toDataBuffers() {
+    return Flux.fromIterable(chunks)
+        .map(DefaultDataBufferFactory.sharedInstance::wrap);
+  }
+
+  private static byte[] createBody(int size) {
+    var builder = new StringBuilder(size + 256).append("{\"data\":{\"breweries\":[");
+    var index = 0;
+
+    while (builder.length() < size) {
+      if (index > 0) {
+        builder.append(',');
+      }
+
+      builder.append("{\"identifier\":\"brewery-")
+          .append(index)
+          .append("\",\"name\":\"Brewery ")
+          .append(index)
+          .append("\",\"founded\":")
+          .append(1800 + index % 200)
+          .append(",\"rating\":")
+          .append(index % 50 / 10.0)
+          .append(",\"founder\":{\"name\":\"Founder ")
+          .append(index)
+          .append("\",\"hobbies\":[\"brewing\",\"tasting\"]},\"cofounder\":null}");
+
+      index++;
+    }
+
+    return builder.append("]}}")
+        .toString()
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static List<byte[]> createChunks(byte[] body) {
+    var chunks = new ArrayList<byte[]>();
+
+    for (var offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+      chunks.add(Arrays.copyOfRange(body, offset, Math.min(offset + CHUNK_SIZE, body.length)));
+    }
+
+    return chunks;
+  }
+}
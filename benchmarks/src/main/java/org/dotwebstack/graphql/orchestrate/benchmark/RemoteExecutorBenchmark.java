@@ -0,0 +1,108 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.schema.HttpClientOptions;
+import org.dotwebstack.graphql.orchestrate.schema.RemoteExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Round trips to a stub endpoint on the loopback interface, which answers every request with the same body. Nagle's
+// algorithm is disabled on the stub, since otherwise delayed acknowledgements dominate the round trip time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dsun.net.httpserver.nodelay=true"})
+public class RemoteExecutorBenchmark {
+
+  private static final String QUERY = "{breweries {identifier name founder {name}}}";
+
+  @Param({"10", "1000"})
+  private int breweryCount;
+
+  private HttpServer server;
+
+  private ExecutorService serverExecutor;
+
+  private RemoteExecutor remoteExecutor;
+
+  @Setup
+  public void setUp() throws IOException {
+    var body = createBody(breweryCount);
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/graphql", exchange -> {
+      exchange.getRequestBody()
+          .readAllBytes();
+      exchange.getResponseHeaders()
+          .add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+
+      try (var responseBody = exchange.getResponseBody()) {
+        responseBody.write(body);
+      }
+    });
+
+    serverExecutor = Executors.newFixedThreadPool(4);
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    remoteExecutor = RemoteExecutor.newExecutor()
+        .endpoint(URI.create(String.format("http://%s:%d/graphql", server.getAddress()
+            .getHostString(),
+            server.getAddress()
+                .getPort())))
+        .httpClientOptions(HttpClientOptions.newOptions()
+            .build())
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public ExecutionResult execute() {
+    return remoteExecutor.execute(ExecutionInput.newExecutionInput()
+        .query(QUERY)
+        .build())
+        .join();
+  }
+
+  private static byte[] createBody(int breweryCount) throws IOException {
+    var breweries = new ArrayList<Object>(breweryCount);
+
+    for (var index = 0; index < breweryCount; index++) {
+      breweries.add(Map.of("identifier", "brewery" + index, "name", "Brewery " + index, "founder",
+          Map.of("name", "Founder " + index)));
+    }
+
+    return new ObjectMapper().writeValueAsBytes(Map.of("data", Map.of("breweries", breweries)));
+  }
+}
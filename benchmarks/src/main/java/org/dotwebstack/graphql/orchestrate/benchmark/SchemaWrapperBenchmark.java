@@ -0,0 +1,81 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.createSchema;
+
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.RenameObjectFields;
+import org.dotwebstack.graphql.orchestrate.transform.RenameTypes;
+import org.dotwebstack.graphql.orchestrate.wrap.SchemaWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SchemaWrapperBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int typeCount;
+
+  private Subschema subschema;
+
+  private Subschema transformedSubschema;
+
+  @Setup
+  public void setUp() {
+    subschema = Subschema.newSubschema()
+        .schema(createSchema(createSdl(typeCount), GraphQLCodeRegistry.newCodeRegistry()
+            .build()))
+        .build();
+
+    transformedSubschema = subschema.transform(builder -> builder.transform(new RenameTypes((typeName,
+        type) -> typeName.startsWith("Type") ? "Renamed" + typeName : typeName)
+            .pipe(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name")
+                ? "label"
+                : fieldName))));
+  }
+
+  @Benchmark
+  public GraphQLSchema wrap() {
+    return SchemaWrapper.wrap(subschema);
+  }
+
+  @Benchmark
+  public GraphQLSchema wrapWithTransforms() {
+    return SchemaWrapper.wrap(transformedSubschema);
+  }
+
+  // Every type gets a root field, scalar fields and references to other types, like typical entity schemas. References
+  // form a shallow tree, since the schema generator recurses along reference chains.
+  private static String createSdl(int typeCount) {
+    var builder = new StringBuilder("type Query {\n");
+
+    for (var index = 0; index < typeCount; index++) {
+      builder.append(String.format("  type%d(identifier: ID!): Type%d%n", index, index));
+    }
+
+    builder.append("}\n");
+
+    for (var index = 0; index < typeCount; index++) {
+      builder.append(String.format("type Type%d {%n  identifier: ID!%n  name: String!%n  count: Int%n"
+          + "  parent: Type%d%n  related: [Type%d!]!%n}%n", index, index / 2, index / 3));
+    }
+
+    return builder.toString();
+  }
+}
@@ -0,0 +1,93 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.loadSchema;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubschemaBenchmark {
+
+  private static final String QUERY = "{brewery(identifier:\"foo\") {identifier name founder {name}}}";
+
+  private GraphQLSchema schema;
+
+  private Subschema subschema;
+
+  private Subschema cachingSubschema;
+
+  @Setup
+  public void setUp() {
+    DataFetcher<Object> breweryFetcher =
+        environment -> Map.of("identifier", "foo", "name", "bar", "founder", Map.of("name", "baz"));
+
+    var codeRegistry = GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher(FieldCoordinates.coordinates("Query", "brewery"), breweryFetcher)
+        .build();
+
+    schema = loadSchema("dbeerpedia", codeRegistry);
+    subschema = Subschema.newSubschema()
+        .schema(schema)
+        .build();
+
+    var documents = new ConcurrentHashMap<String, PreparsedDocumentEntry>();
+
+    PreparsedDocumentProvider documentProvider =
+        (executionInput, parseAndValidate) -> CompletableFuture.completedFuture(documents
+            .computeIfAbsent(executionInput.getQuery(), query -> parseAndValidate.apply(executionInput)));
+
+    cachingSubschema = subschema.transform(builder -> builder.preparsedDocumentProvider(documentProvider));
+  }
+
+  @Benchmark
+  public ExecutionResult perCallEngine() {
+    return GraphQL.newGraphQL(schema)
+        .build()
+        .execute(createInput());
+  }
+
+  @Benchmark
+  public ExecutionResult sharedEngine() {
+    return subschema.execute(createInput())
+        .join();
+  }
+
+  @Benchmark
+  public ExecutionResult sharedEngineWithPreparsedDocuments() {
+    return cachingSubschema.execute(createInput())
+        .join();
+  }
+
+  private static ExecutionInput createInput() {
+    return ExecutionInput.newExecutionInput()
+        .query(QUERY)
+        .build();
+  }
+}
@@ -0,0 +1,146 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.loadSchema;
+
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLCodeRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.FilterObjectFields;
+import org.dotwebstack.graphql.orchestrate.transform.HoistField;
+import org.dotwebstack.graphql.orchestrate.transform.RenameObjectFields;
+import org.dotwebstack.graphql.orchestrate.transform.RenameTypes;
+import org.dotwebstack.graphql.orchestrate.transform.Transform;
+import org.dotwebstack.graphql.orchestrate.transform.TransformContext;
+import org.dotwebstack.graphql.orchestrate.transform.TransformedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Request and result paths of every built-in transform, on the same query shape and result size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformBenchmark {
+
+  private static final String QUERY = "{brewery(identifier:\"foo\") {__typename identifier %1$s founder {name} "
+      + "collaborators {__typename identifier %1$s founder {name}}}}";
+
+  @Param({"RenameTypes", "RenameObjectFields", "FilterObjectFields", "HoistField"})
+  private String transformName;
+
+  @Param({"10", "1000"})
+  private int collaboratorCount;
+
+  private Transform transform;
+
+  private Request request;
+
+  private UnaryOperator<Result> resultMapper;
+
+  private Result result;
+
+  @Setup
+  public void setUp() {
+    var schema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .build());
+
+    var context = TransformContext.newContext()
+        .subschema(Subschema.newSubschema()
+            .schema(schema)
+            .build())
+        .build();
+
+    transform = createTransform(transformName);
+    transform.transformSchema(schema, context);
+
+    var operationDefinition = (OperationDefinition) Parser.parse(String.format(QUERY, getNameField(transformName)))
+        .getDefinitions()
+        .get(0);
+
+    request = Request.newRequest()
+        .selectionSet(operationDefinition.getSelectionSet())
+        .build();
+
+    resultMapper = transform.transformRequest(request)
+        .getResultMapper();
+
+    var collaborators = new ArrayList<Object>(collaboratorCount);
+
+    for (var index = 0; index < collaboratorCount; index++) {
+      collaborators.add(createBrewery("collaborator" + index, List.of()));
+    }
+
+    result = Result.newResult()
+        .data(Map.of("brewery", createBrewery("foo", collaborators)))
+        .build();
+  }
+
+  @Benchmark
+  public TransformedRequest transformRequest() {
+    return transform.transformRequest(request);
+  }
+
+  @Benchmark
+  public Result transformResult() {
+    return resultMapper.apply(result);
+  }
+
+  private static Transform createTransform(String transformName) {
+    switch (transformName) {
+      case "RenameTypes":
+        return new RenameTypes((typeName, type) -> typeName.equals("Brewery") ? "Company" : typeName);
+      case "RenameObjectFields":
+        return new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name") ? "label"
+            : fieldName);
+      case "FilterObjectFields":
+        return new FilterObjectFields((typeName, fieldName, fieldDefinition) -> !fieldName.equals("hobbies"));
+      case "HoistField":
+        return new HoistField("Brewery", "founderName", List.of("founder", "name"));
+      default:
+        throw new IllegalArgumentException("Unknown transform: " + transformName);
+    }
+  }
+
+  private static String getNameField(String transformName) {
+    switch (transformName) {
+      case "RenameObjectFields":
+        return "label";
+      case "HoistField":
+        return "founderName";
+      default:
+        return "name";
+    }
+  }
+
+  // Contains the keys of every transformed query, since the upstream answers with the original field names or aliases
+  private static Map<String, Object> createBrewery(String identifier, List<Object> collaborators) {
+    var brewery = new HashMap<String, Object>();
+    brewery.put("__typename", "Brewery");
+    brewery.put("identifier", identifier);
+    brewery.put("name", "name of " + identifier);
+    brewery.put("label", "name of " + identifier);
+    brewery.put("founder", Map.of("name", "founder of " + identifier));
+    brewery.put("collaborators", collaborators);
+    return brewery;
+  }
+}
@@ -0,0 +1,130 @@
+package org.dotwebstack.graphql.orchestrate.benchmark;
+
+import static org.dotwebstack.graphql.orchestrate.benchmark.BenchmarkUtils.loadSchema;
+
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.AbstractTransform;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
+import org.dotwebstack.graphql.orchestrate.transform.RenameObjectFields;
+import org.dotwebstack.graphql.orchestrate.transform.Transform;
+import org.dotwebstack.graphql.orchestrate.transform.TransformContext;
+import org.dotwebstack.graphql.orchestrate.transform.TransformPipeline;
+import org.dotwebstack.graphql.orchestrate.transform.TransformedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformPipelineBenchmark {
+
+  @Param({"1", "4", "16"})
+  private int chainLength;
+
+  private Transform fusedPipeline;
+
+  private Transform unfusedPipeline;
+
+  private Request request;
+
+  @Setup
+  public void setUp() {
+    var schema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .build());
+
+    var context = TransformContext.newContext()
+        .subschema(Subschema.newSubschema()
+            .schema(schema)
+            .build())
+        .build();
+
+    var fusedTransforms = new ArrayList<Transform>(chainLength);
+    var unfusedTransforms = new ArrayList<Transform>(chainLength);
+
+    // Every transform renames the field name produced by the previous one: name -> name0 -> name1 -> ...
+    for (var index = 0; index < chainLength; index++) {
+      var fromName = index == 0 ? "name" : "name" + (index - 1);
+      var toName = "name" + index;
+
+      fusedTransforms.add(createTransform(fromName, toName));
+      unfusedTransforms.add(new UnfusedTransform(createTransform(fromName, toName)));
+    }
+
+    fusedPipeline = new TransformPipeline(fusedTransforms);
+    fusedPipeline.transformSchema(schema, context);
+    unfusedPipeline = new TransformPipeline(unfusedTransforms);
+    unfusedPipeline.transformSchema(schema, context);
+
+    var fieldName = "name" + (chainLength - 1);
+    var query = String.format("{brewery(identifier:\"foo\") {identifier %s founder {%s} ambassadors {%s} "
+        + "collaborators {identifier %s founder {%s}}}}", fieldName, fieldName, fieldName, fieldName, fieldName);
+    var operationDefinition = (OperationDefinition) Parser.parse(query)
+        .getDefinitions()
+        .get(0);
+
+    request = Request.newRequest()
+        .selectionSet(operationDefinition.getSelectionSet())
+        .build();
+  }
+
+  @Benchmark
+  public TransformedRequest fused() {
+    return fusedPipeline.transformRequest(request);
+  }
+
+  @Benchmark
+  public TransformedRequest unfused() {
+    return unfusedPipeline.transformRequest(request);
+  }
+
+  private static Transform createTransform(String fromName, String toName) {
+    return new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals(fromName) ? toName
+        : fieldName);
+  }
+
+  // Hides the fusible nature of the wrapped transform, forcing one traversal per transform
+  private static class UnfusedTransform extends AbstractTransform {
+
+    private final Transform transform;
+
+    UnfusedTransform(Transform transform) {
+      this.transform = transform;
+    }
+
+    @Override
+    public CompiledTransform compile(GraphQLSchema originalSchema, TransformContext context) {
+      var compiledTransform = transform.compile(originalSchema, context);
+
+      return new CompiledTransform() {
+        @Override
+        public GraphQLSchema getTransformedSchema() {
+          return compiledTransform.getTransformedSchema();
+        }
+
+        @Override
+        public TransformedRequest transformRequest(Request originalRequest) {
+          return compiledTransform.transformRequest(originalRequest);
+        }
+      };
+    }
+  }
+}
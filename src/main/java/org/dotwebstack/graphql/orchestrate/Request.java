@@ -1,5 +1,7 @@
 package org.dotwebstack.graphql.orchestrate;
 
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
 import graphql.language.SelectionSet;
 import graphql.language.VariableDefinition;
 import java.util.List;
@@ -13,6 +15,10 @@ import lombok.NonNull;
 @Builder(builderMethodName = "newRequest", toBuilder = true)
 public final class Request {
 
+  @NonNull
+  @Builder.Default
+  private final OperationDefinition.Operation operation = OperationDefinition.Operation.QUERY;
+
   @NonNull
   private final SelectionSet selectionSet;
 
@@ -24,6 +30,11 @@ public final class Request {
   @Builder.Default
   private final Map<String, Object> variables = Map.of();
 
+  // Named fragments which are spread (directly or transitively) within the selection set, keyed by name
+  @NonNull
+  @Builder.Default
+  private final Map<String, FragmentDefinition> fragmentDefinitions = Map.of();
+
   public Request transform(@NonNull Consumer<RequestBuilder> builderConsumer) {
     var builder = toBuilder();
     builderConsumer.accept(builder);
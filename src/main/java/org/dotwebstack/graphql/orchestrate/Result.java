@@ -1,5 +1,7 @@
 package org.dotwebstack.graphql.orchestrate;
 
+import graphql.GraphQLError;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import lombok.Builder;
@@ -12,6 +14,18 @@ public final class Result {
 
   private final Map<String, Object> data;
 
+  // Whether the data tree is referenced by this result only, which allows transforms to rewrite it in place
+  private final boolean dataOwned;
+
+  // Error paths refer to the result tree of the request this result belongs to, so transforms relocate them as well
+  @NonNull
+  @Builder.Default
+  private final List<GraphQLError> errors = List.of();
+
+  @NonNull
+  @Builder.Default
+  private final Map<Object, Object> extensions = Map.of();
+
   public Result transform(@NonNull Consumer<ResultBuilder> builderConsumer) {
     var builder = toBuilder();
     builderConsumer.accept(builder);
@@ -0,0 +1,66 @@
+package org.dotwebstack.graphql.orchestrate.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+// Approximates LRU eviction for concurrent maps (CLOCK algorithm). A hand sweeps over the entries, sparing entries
+// which were used since the hand passed these last, and selects the first entry which was not. The hand keeps its
+// position between selections, so all entries are considered in turn.
+public final class EvictionClock<K, E extends EvictionClock.Entry> {
+
+  private final Map<K, E> entries;
+
+  // Weakly consistent iterator over the entries, guarded by this
+  private Iterator<Map.Entry<K, E>> hand;
+
+  public EvictionClock(@NonNull Map<K, E> entries) {
+    this.entries = entries;
+  }
+
+  // Returns the next entry to evict (preferring entries matching the given predicate), or null if there are none
+  public synchronized Map.Entry<K, E> selectVictim(@NonNull Predicate<E> preferred) {
+    // Every entry has been spared once after a full sweep, so the second sweep selects one despite concurrent use
+    var maxSteps = 2 * entries.size() + 1;
+
+    for (var step = 0;; step++) {
+      if (hand == null || !hand.hasNext()) {
+        hand = entries.entrySet()
+            .iterator();
+
+        if (!hand.hasNext()) {
+          return null;
+        }
+      }
+
+      var entry = hand.next();
+
+      if (preferred.test(entry.getValue()) || !entry.getValue()
+          .clearUsed() || step >= maxSteps) {
+        return entry;
+      }
+    }
+  }
+
+  public abstract static class Entry {
+
+    private volatile boolean used;
+
+    // Called on every cache hit, so the flag is only written when it is not set yet
+    public void markUsed() {
+      if (!used) {
+        used = true;
+      }
+    }
+
+    boolean clearUsed() {
+      if (!used) {
+        return false;
+      }
+
+      used = false;
+      return true;
+    }
+  }
+}
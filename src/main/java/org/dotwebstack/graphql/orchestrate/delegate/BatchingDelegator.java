@@ -0,0 +1,265 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import static graphql.execution.instrumentation.dataloader.EmptyDataLoaderRegistryInstance.EMPTY_DATALOADER_REGISTRY;
+import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapErrorPaths;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.VariableDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.Try;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Phase;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
+
+@Slf4j
+@Builder(builderMethodName = "newDelegator")
+public class BatchingDelegator implements Delegator {
+
+  private static final String ALIAS_PREFIX = "_";
+
+  @NonNull
+  private final Subschema subschema;
+
+  @NonNull
+  private final String fieldName;
+
+  @NonNull
+  @Builder.Default
+  private final ArgsFromEnvFunction argsFromEnv = environment -> List.of();
+
+  private final DelegationPlanCache planCache;
+
+  // Compiled form of the subschema transform, falling back to the transform itself when absent
+  private final CompiledTransform compiledTransform;
+
+  // Delegators sharing the same key (and subschema) are merged into a single upstream operation
+  @NonNull
+  private final String dataLoaderKey;
+
+  public CompletableFuture<Object> delegate(DataFetchingEnvironment environment) {
+    var plan = new DelegationPlanner(subschema, compiledTransform, planCache).getPlan(environment, fieldName,
+        argsFromEnv);
+    var delegation = new Delegation(plan, fieldName, plan.selectVariables(environment.getVariables()), environment);
+    var dataLoaderRegistry = environment.getDataLoaderRegistry();
+
+    // Batching requires a data loader registry, which is only available when provided with the execution input
+    if (dataLoaderRegistry == null || dataLoaderRegistry == EMPTY_DATALOADER_REGISTRY) {
+      return loadBatch(List.of(delegation)).toCompletableFuture()
+          .thenCompose(values -> unwrapValue(values.get(0)));
+    }
+
+    DataLoader<Delegation, Object> dataLoader =
+        dataLoaderRegistry.computeIfAbsent(dataLoaderKey, key -> createDataLoader());
+
+    return dataLoader.load(delegation);
+  }
+
+  private DataLoader<Delegation, Object> createDataLoader() {
+    var options = DataLoaderOptions.newOptions()
+        .setCachingEnabled(false);
+
+    return DataLoaderFactory.newDataLoaderWithTry(this::loadBatch, options);
+  }
+
+  private CompletionStage<List<Try<Object>>> loadBatch(List<Delegation> delegations) {
+    var selections = new ArrayList<Selection<?>>();
+    var variableDefinitions = new LinkedHashMap<String, VariableDefinition>();
+    var fragmentDefinitions = new LinkedHashMap<String, FragmentDefinition>();
+    var variables = new HashMap<String, Object>();
+
+    for (var index = 0; index < delegations.size(); index++) {
+      var delegation = delegations.get(index);
+      var request = delegation.getPlan()
+          .getRequest();
+
+      for (var field : request.getSelectionSet()
+          .getSelectionsOfType(Field.class)) {
+        var alias = createAlias(index, field);
+        selections.add(field.transform(builder -> builder.alias(alias)));
+      }
+
+      request.getVariableDefinitions()
+          .forEach(variableDefinition -> variableDefinitions.putIfAbsent(variableDefinition.getName(),
+              variableDefinition));
+
+      // Delegations of one batch stem from the same document, so equally named fragments are identical
+      request.getFragmentDefinitions()
+          .forEach(fragmentDefinitions::putIfAbsent);
+
+      variables.putAll(delegation.getVariables());
+    }
+
+    var operationDefinition = OperationDefinition.newOperationDefinition()
+        .operation(OperationDefinition.Operation.QUERY)
+        .selectionSet(new SelectionSet(selections))
+        .variableDefinitions(new ArrayList<>(variableDefinitions.values()))
+        .build();
+
+    var query = subschema.getInstrumentation()
+        .instrument(Phase.QUERY_PRINTING, subschema.getName(),
+            () -> DelegationPlanner.printQuery(operationDefinition, fragmentDefinitions.values()));
+
+    var executionInput = ExecutionInput.newExecutionInput()
+        .query(query)
+        .variables(variables)
+        .build();
+
+    return subschema.execute(executionInput)
+        .thenCompose(executionResult -> collectValues(splitResult(executionResult, delegations)));
+  }
+
+  private static CompletableFuture<List<Try<Object>>> collectValues(List<CompletableFuture<Try<Object>>> values) {
+    return CompletableFuture.allOf(values.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> values.stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList()));
+  }
+
+  private List<CompletableFuture<Try<Object>>> splitResult(ExecutionResult executionResult,
+      List<Delegation> delegations) {
+    var errors = executionResult.getErrors();
+
+    if (!errors.isEmpty()) {
+      LOG.error("GraphQL query returned errors:\n{}", errors.stream()
+          .map(GraphQLError::getMessage)
+          .map("- "::concat)
+          .collect(Collectors.joining("\n")));
+    }
+
+    Map<String, Object> data = executionResult.getData();
+    var extensions = executionResult.getExtensions() != null ? executionResult.getExtensions() : Map.of();
+    var values = new ArrayList<CompletableFuture<Try<Object>>>(delegations.size());
+
+    for (var index = 0; index < delegations.size(); index++) {
+      var delegation = delegations.get(index);
+      var delegationErrors = getDelegationErrors(errors, index);
+
+      // Errors accompany the partial data, unless there is no data at all
+      if (data == null && !delegationErrors.isEmpty()) {
+        values.add(CompletableFuture.completedFuture(Try.failed(new DelegateException(delegationErrors))));
+        continue;
+      }
+
+      var delegationData = new HashMap<String, Object>();
+
+      for (var field : delegation.getPlan()
+          .getRequest()
+          .getSelectionSet()
+          .getSelectionsOfType(Field.class)) {
+        delegationData.put(field.getResultKey(), data != null ? data.get(createAlias(index, field)) : null);
+      }
+
+      var result = Result.newResult()
+          .data(delegationData)
+          .dataOwned(true)
+          .errors(delegationErrors)
+          .extensions(extensions)
+          .build();
+
+      // Failures of one delegation must not affect the others, so these are passed on as failed values
+      values.add(delegation.getPlan()
+          .mapResult(result)
+          .thenApply(mappedResult -> DelegationResults.getFieldValue(mappedResult, delegation.getFieldName(),
+              delegation.getEnvironment()))
+          .handle((value, throwable) -> throwable != null ? Try.failed(unwrap(throwable)) : Try.succeeded(value)));
+    }
+
+    return values;
+  }
+
+  private static List<GraphQLError> getDelegationErrors(List<GraphQLError> errors, int index) {
+    var aliasPrefix = ALIAS_PREFIX + index + ALIAS_PREFIX;
+
+    var delegationErrors = errors.stream()
+        .filter(error -> isDelegationError(error, aliasPrefix))
+        .collect(Collectors.toList());
+
+    return mapErrorPaths(delegationErrors, path -> removeAlias(path, aliasPrefix));
+  }
+
+  // Errors without a path cannot be attributed to a single delegation, so these apply to all of them
+  private static boolean isDelegationError(GraphQLError error, String aliasPrefix) {
+    var path = error.getPath();
+
+    if (path == null || path.isEmpty()) {
+      return true;
+    }
+
+    return String.valueOf(path.get(0))
+        .startsWith(aliasPrefix);
+  }
+
+  private static List<Object> removeAlias(List<Object> path, String aliasPrefix) {
+    if (path.isEmpty() || !String.valueOf(path.get(0))
+        .startsWith(aliasPrefix)) {
+      return path;
+    }
+
+    var newPath = new ArrayList<>(path);
+    newPath.set(0, String.valueOf(path.get(0))
+        .substring(aliasPrefix.length()));
+
+    return newPath;
+  }
+
+  private static CompletableFuture<Object> unwrapValue(Try<Object> value) {
+    if (value.isSuccess()) {
+      return CompletableFuture.completedFuture(value.get());
+    }
+
+    return CompletableFuture.failedFuture(value.getThrowable());
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause()
+        : throwable;
+  }
+
+  private static String createAlias(int index, Field field) {
+    return ALIAS_PREFIX + index + ALIAS_PREFIX + field.getResultKey();
+  }
+
+  @Getter
+  private static class Delegation {
+
+    private final DelegationPlan plan;
+
+    private final String fieldName;
+
+    private final Map<String, Object> variables;
+
+    private final DataFetchingEnvironment environment;
+
+    public Delegation(DelegationPlan plan, String fieldName, Map<String, Object> variables,
+        DataFetchingEnvironment environment) {
+      this.plan = plan;
+      this.fieldName = fieldName;
+      this.variables = variables;
+      this.environment = environment;
+    }
+  }
+}
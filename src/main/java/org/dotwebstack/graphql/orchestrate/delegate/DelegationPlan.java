@@ -0,0 +1,62 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import graphql.language.VariableDefinition;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+
+@Getter
+@Builder(builderMethodName = "newPlan")
+public final class DelegationPlan {
+
+  @NonNull
+  private final Request request;
+
+  @NonNull
+  private final String query;
+
+  @NonNull
+  @Builder.Default
+  private final UnaryOperator<Result> resultMapper = UnaryOperator.identity();
+
+  // Replaces the result mapper for transforms bound to the planned request, in which case the plan is not cached
+  private final Function<Result, CompletableFuture<Result>> asyncResultMapper;
+
+  public boolean isShareable() {
+    return asyncResultMapper == null;
+  }
+
+  public CompletableFuture<Result> mapResult(@NonNull Result result) {
+    try {
+      return asyncResultMapper != null ? asyncResultMapper.apply(result)
+          : CompletableFuture.completedFuture(resultMapper.apply(result));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  // Selects the values of the variables declared by the delegated query, leaving out those of other root fields
+  public Map<String, Object> selectVariables(@NonNull Map<String, Object> variables) {
+    var variableDefinitions = request.getVariableDefinitions();
+
+    if (variableDefinitions.isEmpty()) {
+      return Map.of();
+    }
+
+    var selectedVariables = new HashMap<String, Object>(variableDefinitions.size() * 2);
+
+    variableDefinitions.stream()
+        .map(VariableDefinition::getName)
+        .filter(variables::containsKey)
+        .forEach(variableName -> selectedVariables.put(variableName, variables.get(variableName)));
+
+    return selectedVariables;
+  }
+}
@@ -0,0 +1,101 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.dotwebstack.graphql.orchestrate.cache.EvictionClock;
+
+public class DelegationPlanCache {
+
+  private final int maximumSize;
+
+  private final Map<DelegationPlanKey, CacheEntry> entries = new ConcurrentHashMap<>();
+
+  private final EvictionClock<DelegationPlanKey, CacheEntry> evictionClock = new EvictionClock<>(entries);
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private final LongAdder evictionCount = new LongAdder();
+
+  public DelegationPlanCache(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be at least 1.");
+    }
+
+    this.maximumSize = maximumSize;
+  }
+
+  DelegationPlan getPlan(DelegationPlanKey key, Supplier<DelegationPlan> planSupplier) {
+    var entry = entries.get(key);
+
+    if (entry != null) {
+      hitCount.increment();
+      entry.markUsed();
+      return entry.plan;
+    }
+
+    missCount.increment();
+
+    // Concurrent misses for the same key may both compute a plan, which is harmless since plans are immutable
+    var plan = planSupplier.get();
+
+    // Plans bound to the planned request are used once, so these are not stored
+    if (!plan.isShareable()) {
+      return plan;
+    }
+
+    entries.put(key, new CacheEntry(plan));
+
+    if (entries.size() > maximumSize) {
+      evictEntries();
+    }
+
+    return plan;
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  private void evictEntries() {
+    while (entries.size() > maximumSize) {
+      var victim = evictionClock.selectVictim(entry -> false);
+
+      if (victim == null) {
+        return;
+      }
+
+      if (entries.remove(victim.getKey(), victim.getValue())) {
+        evictionCount.increment();
+      }
+    }
+  }
+
+  private static final class CacheEntry extends EvictionClock.Entry {
+
+    private final DelegationPlan plan;
+
+    private CacheEntry(DelegationPlan plan) {
+      this.plan = plan;
+    }
+  }
+}
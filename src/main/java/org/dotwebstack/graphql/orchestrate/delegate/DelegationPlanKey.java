@@ -0,0 +1,118 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import graphql.language.AstComparator;
+import graphql.language.BooleanValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.IntValue;
+import graphql.language.NamedNode;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.StringValue;
+import graphql.language.VariableDefinition;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+final class DelegationPlanKey {
+
+  private final OperationDefinition.Operation operation;
+
+  private final Field field;
+
+  private final List<VariableDefinition> variableDefinitions;
+
+  private final List<FragmentDefinition> fragmentDefinitions;
+
+  // Values of the variables which decide on skipped or included selections, since transforms do not visit these
+  private final Map<String, Object> conditionVariables;
+
+  private final int hashCode;
+
+  DelegationPlanKey(Field field, List<VariableDefinition> variableDefinitions) {
+    this(OperationDefinition.Operation.QUERY, field, variableDefinitions, List.of(), Map.of());
+  }
+
+  DelegationPlanKey(OperationDefinition.Operation operation, Field field, List<VariableDefinition> variableDefinitions,
+      List<FragmentDefinition> fragmentDefinitions, Map<String, Object> conditionVariables) {
+    this.operation = operation;
+    this.field = field;
+    this.variableDefinitions = variableDefinitions;
+    this.fragmentDefinitions = fragmentDefinitions;
+    this.conditionVariables = conditionVariables;
+    this.hashCode = 31 * (31 * (31 * (31 * operation.ordinal() + hash(field)) + hash(variableDefinitions))
+        + hash(fragmentDefinitions)) + conditionVariables.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+
+    if (!(other instanceof DelegationPlanKey)) {
+      return false;
+    }
+
+    var otherKey = (DelegationPlanKey) other;
+
+    return hashCode == otherKey.hashCode && operation == otherKey.operation
+        && AstComparator.isEqual(field, otherKey.field) && isEqual(variableDefinitions, otherKey.variableDefinitions)
+        && isEqual(fragmentDefinitions, otherKey.fragmentDefinitions)
+        && conditionVariables.equals(otherKey.conditionVariables);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  private static boolean isEqual(List<? extends Node<?>> nodes, List<? extends Node<?>> otherNodes) {
+    if (nodes.size() != otherNodes.size()) {
+      return false;
+    }
+
+    for (var i = 0; i < nodes.size(); i++) {
+      if (!AstComparator.isEqual(nodes.get(i), otherNodes.get(i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static int hash(List<? extends Node<?>> nodes) {
+    return nodes.stream()
+        .mapToInt(DelegationPlanKey::hash)
+        .reduce(0, (result, hash) -> 31 * result + hash);
+  }
+
+  // Structural hash which mirrors the properties compared by AstComparator (source locations are ignored)
+  private static int hash(Node<?> node) {
+    var result = node.getClass()
+        .hashCode();
+
+    if (node instanceof NamedNode) {
+      result = 31 * result + Objects.hashCode(((NamedNode<?>) node).getName());
+    }
+
+    if (node instanceof Field) {
+      result = 31 * result + Objects.hashCode(((Field) node).getAlias());
+    } else if (node instanceof StringValue) {
+      result = 31 * result + Objects.hashCode(((StringValue) node).getValue());
+    } else if (node instanceof IntValue) {
+      result = 31 * result + Objects.hashCode(((IntValue) node).getValue());
+    } else if (node instanceof FloatValue) {
+      result = 31 * result + Objects.hashCode(((FloatValue) node).getValue());
+    } else if (node instanceof BooleanValue) {
+      result = 31 * result + Boolean.hashCode(((BooleanValue) node).isValue());
+    }
+
+    for (Node<?> child : node.getChildren()) {
+      result = 31 * result + hash(child);
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,222 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import graphql.Directives;
+import graphql.language.Argument;
+import graphql.language.AstPrinter;
+import graphql.language.Directive;
+import graphql.language.FragmentDefinition;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Instrumentation;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Phase;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
+import org.dotwebstack.graphql.orchestrate.transform.Transform;
+import org.dotwebstack.graphql.orchestrate.transform.TransformUtils;
+import org.dotwebstack.graphql.orchestrate.transform.TransformedRequest;
+
+final class DelegationPlanner {
+
+  private static final Set<String> CONDITION_DIRECTIVES =
+      Set.of(Directives.SkipDirective.getName(), Directives.IncludeDirective.getName());
+
+  private final Subschema subschema;
+
+  private final CompiledTransform compiledTransform;
+
+  private final DelegationPlanCache planCache;
+
+  DelegationPlanner(Subschema subschema, CompiledTransform compiledTransform, DelegationPlanCache planCache) {
+    this.subschema = subschema;
+    this.compiledTransform = compiledTransform;
+    this.planCache = planCache;
+  }
+
+  DelegationPlan getPlan(DataFetchingEnvironment environment, String fieldName, ArgsFromEnvFunction argsFromEnv) {
+    // Client aliases are dropped, since delegated results are looked up by field name
+    var rootField = environment.getField()
+        .transform(builder -> builder.name(fieldName)
+            .alias(null)
+            .arguments(argsFromEnv.apply(environment)));
+
+    var operationDefinition = environment.getOperationDefinition();
+    var fragmentDefinitions =
+        TransformUtils.collectFragmentDefinitions(rootField.getSelectionSet(), environment.getFragmentsByName());
+
+    var originalRequest = Request.newRequest()
+        .operation(operationDefinition.getOperation())
+        .selectionSet(new SelectionSet(List.of(rootField)))
+        .variableDefinitions(operationDefinition.getVariableDefinitions())
+        .variables(environment.getVariables())
+        .fragmentDefinitions(fragmentDefinitions)
+        .build();
+
+    if (planCache == null) {
+      return createPlan(originalRequest);
+    }
+
+    var planKey = new DelegationPlanKey(originalRequest.getOperation(), rootField,
+        originalRequest.getVariableDefinitions(), List.copyOf(fragmentDefinitions.values()),
+        getConditionVariables(originalRequest));
+
+    return planCache.getPlan(planKey, () -> createPlan(originalRequest));
+  }
+
+  private DelegationPlan createPlan(Request originalRequest) {
+    var instrumentation = subschema.getInstrumentation();
+    var transform = subschema.getTransform();
+    var transformName = transform != null ? transform.getClass()
+        .getSimpleName() : null;
+
+    var transformedRequest = transformName != null
+        ? instrumentation.instrument(Phase.REQUEST_TRANSFORM, transformName,
+            () -> transformRequest(originalRequest, transform))
+        : transformRequest(originalRequest, transform);
+
+    var request = pruneRequest(transformedRequest.getRequest());
+
+    var operationDefinition = OperationDefinition.newOperationDefinition()
+        .operation(request.getOperation())
+        .selectionSet(request.getSelectionSet())
+        .variableDefinitions(request.getVariableDefinitions())
+        .build();
+
+    var query = instrumentation.instrument(Phase.QUERY_PRINTING, subschema.getName(),
+        () -> printQuery(operationDefinition, request.getFragmentDefinitions()
+            .values()));
+
+    if (!transformedRequest.isShareable()) {
+      return DelegationPlan.newPlan()
+          .request(request)
+          .query(query)
+          .asyncResultMapper(instrumentResultMapper(transformedRequest, transformName))
+          .build();
+    }
+
+    return DelegationPlan.newPlan()
+        .request(request)
+        .query(query)
+        .resultMapper(instrumentResultMapper(transformedRequest.getResultMapper(), transformName))
+        .build();
+  }
+
+  // Result mappers are applied by every delegator, so these are instrumented once when the plan is created
+  private UnaryOperator<Result> instrumentResultMapper(UnaryOperator<Result> resultMapper, String transformName) {
+    var instrumentation = subschema.getInstrumentation();
+
+    if (resultMapper == UnaryOperator.<Result>identity() || instrumentation == Instrumentation.NOOP) {
+      return resultMapper;
+    }
+
+    return result -> instrumentation.instrument(Phase.RESULT_TRANSFORM, transformName,
+        () -> resultMapper.apply(result));
+  }
+
+  private Function<Result, CompletableFuture<Result>> instrumentResultMapper(TransformedRequest transformedRequest,
+      String transformName) {
+    var instrumentation = subschema.getInstrumentation();
+
+    if (instrumentation == Instrumentation.NOOP) {
+      return transformedRequest::mapResult;
+    }
+
+    return result -> instrumentation.instrumentAsync(Phase.RESULT_TRANSFORM, transformName,
+        () -> transformedRequest.mapResult(result));
+  }
+
+  // Transforms may drop or add selections, so only variables and fragments referenced by the outcome are kept. Plans
+  // may be shared between requests, so these must not retain the variable values of the planned request either.
+  private static Request pruneRequest(Request request) {
+    var fragmentDefinitions =
+        TransformUtils.collectFragmentDefinitions(request.getSelectionSet(), request.getFragmentDefinitions());
+
+    var variableNames = new HashSet<String>();
+    collectVariableNames(request.getSelectionSet(), variableNames);
+    fragmentDefinitions.values()
+        .forEach(fragmentDefinition -> collectVariableNames(fragmentDefinition, variableNames));
+
+    var variableDefinitions = request.getVariableDefinitions()
+        .stream()
+        .filter(variableDefinition -> variableNames.contains(variableDefinition.getName()))
+        .collect(Collectors.toList());
+
+    return request.transform(builder -> builder.variableDefinitions(variableDefinitions)
+        .variables(Map.of())
+        .fragmentDefinitions(fragmentDefinitions));
+  }
+
+  private static void collectVariableNames(Node<?> node, Set<String> variableNames) {
+    if (node instanceof VariableReference) {
+      variableNames.add(((VariableReference) node).getName());
+      return;
+    }
+
+    node.getChildren()
+        .forEach(child -> collectVariableNames(child, variableNames));
+  }
+
+  // Every named fragment is printed once after the operation, however often it is spread
+  static String printQuery(OperationDefinition operationDefinition,
+      Collection<FragmentDefinition> fragmentDefinitions) {
+    return Stream.concat(Stream.of(operationDefinition), fragmentDefinitions.stream())
+        .map(AstPrinter::printAst)
+        .collect(Collectors.joining("\n\n"));
+  }
+
+  // Selections skipped by directives are not visited by request transforms, so their conditions become part of the key
+  private static Map<String, Object> getConditionVariables(Request request) {
+    var conditionVariables = new HashMap<String, Object>();
+
+    collectConditionVariables(request.getSelectionSet(), request.getVariables(), conditionVariables);
+    request.getFragmentDefinitions()
+        .values()
+        .forEach(fragmentDefinition -> collectConditionVariables(fragmentDefinition, request.getVariables(),
+            conditionVariables));
+
+    return conditionVariables;
+  }
+
+  private static void collectConditionVariables(Node<?> node, Map<String, Object> variables,
+      Map<String, Object> conditionVariables) {
+    if (node instanceof Directive && CONDITION_DIRECTIVES.contains(((Directive) node).getName())) {
+      ((Directive) node).getArguments()
+          .stream()
+          .map(Argument::getValue)
+          .filter(VariableReference.class::isInstance)
+          .map(value -> ((VariableReference) value).getName())
+          .forEach(variableName -> conditionVariables.put(variableName, variables.get(variableName)));
+      return;
+    }
+
+    node.getChildren()
+        .forEach(child -> collectConditionVariables(child, variables, conditionVariables));
+  }
+
+  private TransformedRequest transformRequest(Request originalRequest, Transform transform) {
+    if (compiledTransform != null) {
+      return compiledTransform.transformRequest(originalRequest);
+    }
+
+    if (transform != null) {
+      return transform.transformRequest(originalRequest);
+    }
+
+    return TransformedRequest.of(originalRequest);
+  }
+}
@@ -0,0 +1,75 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.relocateError;
+
+import graphql.ExecutionResult;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ResultPath;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.dotwebstack.graphql.orchestrate.Result;
+
+final class DelegationResults {
+
+  private DelegationResults() {}
+
+  // Only results without any data are considered failed, otherwise the errors accompany the partial data
+  static Result createResult(ExecutionResult executionResult, Map<String, Object> data) {
+    if (data == null && !executionResult.getErrors()
+        .isEmpty()) {
+      throw new DelegateException(executionResult.getErrors());
+    }
+
+    var extensions = executionResult.getExtensions();
+
+    return Result.newResult()
+        .data(data)
+        .dataOwned(true)
+        .errors(executionResult.getErrors())
+        .extensions(extensions != null ? extensions : Map.of())
+        .build();
+  }
+
+  // Errors of the delegated field are moved to the position of the field in the original request
+  static Object getFieldValue(Result result, String fieldKey, DataFetchingEnvironment environment) {
+    var data = result.getData();
+    var value = data != null ? data.get(fieldKey) : null;
+
+    if (result.getErrors()
+        .isEmpty()
+        && result.getExtensions()
+            .isEmpty()) {
+      return value;
+    }
+
+    var fieldPath = environment.getExecutionStepInfo()
+        .getPath();
+    var sourceLocation = environment.getField()
+        .getSourceLocation();
+    var locations = sourceLocation != null ? List.of(sourceLocation) : null;
+
+    var errors = result.getErrors()
+        .stream()
+        .map(error -> relocateError(error, relocatePath(error.getPath(), fieldKey, fieldPath), locations))
+        .collect(Collectors.toList());
+
+    return DataFetcherResult.newResult()
+        .data(value)
+        .errors(errors)
+        .extensions(result.getExtensions())
+        .build();
+  }
+
+  private static List<Object> relocatePath(List<Object> path, String fieldKey, ResultPath fieldPath) {
+    var relocatedPath = new ArrayList<>(fieldPath.toList());
+
+    if (path != null && !path.isEmpty() && fieldKey.equals(path.get(0))) {
+      relocatedPath.addAll(path.subList(1, path.size()));
+    }
+
+    return relocatedPath;
+  }
+}
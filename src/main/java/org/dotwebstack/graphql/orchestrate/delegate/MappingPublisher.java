@@ -0,0 +1,109 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+// Items are mapped asynchronously, while these are still emitted in upstream order
+final class MappingPublisher<T, R> implements Publisher<R> {
+
+  private final Publisher<T> upstream;
+
+  private final Function<T, CompletableFuture<R>> mapper;
+
+  MappingPublisher(Publisher<T> upstream, Function<T, CompletableFuture<R>> mapper) {
+    this.upstream = upstream;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super R> subscriber) {
+    upstream.subscribe(new MappingSubscriber<>(subscriber, mapper));
+  }
+
+  private static final class MappingSubscriber<T, R> implements Subscriber<T> {
+
+    private final Subscriber<? super R> downstream;
+
+    private final Function<T, CompletableFuture<R>> mapper;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private Subscription subscription;
+
+    // Completes once every item received so far is emitted, which keeps emission sequential and in order
+    private CompletableFuture<Void> emitted = CompletableFuture.completedFuture(null);
+
+    private MappingSubscriber(Subscriber<? super R> downstream, Function<T, CompletableFuture<R>> mapper) {
+      this.downstream = downstream;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+      if (done.get()) {
+        return;
+      }
+
+      emitted = emitted.thenCompose(ignored -> mapItem(item))
+          .thenAccept(this::emitItem)
+          .whenComplete((ignored, throwable) -> {
+            if (throwable != null && done.compareAndSet(false, true)) {
+              subscription.cancel();
+              downstream.onError(unwrap(throwable));
+            }
+          });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      emitted.whenComplete((ignored, mappingThrowable) -> {
+        if (done.compareAndSet(false, true)) {
+          downstream.onError(throwable);
+        }
+      });
+    }
+
+    @Override
+    public void onComplete() {
+      emitted.whenComplete((ignored, mappingThrowable) -> {
+        if (done.compareAndSet(false, true)) {
+          downstream.onComplete();
+        }
+      });
+    }
+
+    private CompletableFuture<R> mapItem(T item) {
+      try {
+        return mapper.apply(item);
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    private void emitItem(R mappedItem) {
+      // Publishers must not emit nulls, so the demand for a skipped item is passed on upstream
+      if (mappedItem == null) {
+        subscription.request(1);
+        return;
+      }
+
+      downstream.onNext(mappedItem);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+      return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause()
+          : throwable;
+    }
+  }
+}
@@ -3,20 +3,16 @@ package org.dotwebstack.graphql.orchestrate.delegate;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
-import graphql.language.AstPrinter;
-import graphql.language.OperationDefinition;
-import graphql.language.SelectionSet;
 import graphql.schema.DataFetchingEnvironment;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.dotwebstack.graphql.orchestrate.Request;
 import org.dotwebstack.graphql.orchestrate.Result;
 import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
 
 @Slf4j
 @Builder(builderMethodName = "newDelegator")
@@ -32,39 +28,24 @@ public class SimpleDelegator implements Delegator {
   @Builder.Default
   private final ArgsFromEnvFunction argsFromEnv = environment -> List.of();
 
-  public CompletableFuture<Object> delegate(DataFetchingEnvironment environment) {
-    var rootField = environment.getField()
-        .transform(builder -> builder.name(fieldName)
-            .arguments(argsFromEnv.apply(environment)));
-
-    var originalRequest = Request.newRequest()
-        .selectionSet(new SelectionSet(List.of(rootField)))
-        .variableDefinitions(environment.getOperationDefinition()
-            .getVariableDefinitions())
-        .variables(environment.getVariables())
-        .build();
+  private final DelegationPlanCache planCache;
 
-    return Optional.ofNullable(subschema.getTransform())
-        .map(transform -> transform.transform(originalRequest, this::delegateRequest))
-        .orElseGet(() -> this.delegateRequest(originalRequest))
-        .thenApply(result -> result.getData()
-            .get(fieldName));
-  }
+  // Compiled form of the subschema transform, falling back to the transform itself when absent
+  private final CompiledTransform compiledTransform;
 
-  private CompletableFuture<Result> delegateRequest(Request request) {
-    var operationDefinition = OperationDefinition.newOperationDefinition()
-        .operation(OperationDefinition.Operation.QUERY)
-        .selectionSet(request.getSelectionSet())
-        .variableDefinitions(request.getVariableDefinitions())
-        .build();
+  public CompletableFuture<Object> delegate(DataFetchingEnvironment environment) {
+    var plan = new DelegationPlanner(subschema, compiledTransform, planCache).getPlan(environment, fieldName,
+        argsFromEnv);
 
     var executionInput = ExecutionInput.newExecutionInput()
-        .query(AstPrinter.printAst(operationDefinition))
-        .variables(request.getVariables())
+        .query(plan.getQuery())
+        .variables(plan.selectVariables(environment.getVariables()))
         .build();
 
     return subschema.execute(executionInput)
-        .thenApply(this::mapResult);
+        .thenApply(this::mapResult)
+        .thenCompose(plan::mapResult)
+        .thenApply(result -> DelegationResults.getFieldValue(result, fieldName, environment));
   }
 
   private Result mapResult(ExecutionResult executionResult) {
@@ -75,12 +56,8 @@ public class SimpleDelegator implements Delegator {
           .map(GraphQLError::getMessage)
           .map("- "::concat)
           .collect(Collectors.joining("\n")));
-
-      throw new DelegateException(errors);
     }
 
-    return Result.newResult()
-        .data(executionResult.getData())
-        .build();
+    return DelegationResults.createResult(executionResult, executionResult.getData());
   }
 }
@@ -0,0 +1,62 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.Builder;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
+import org.reactivestreams.Publisher;
+
+@Builder(builderMethodName = "newDelegator")
+public class SubscriptionDelegator implements Delegator {
+
+  @NonNull
+  private final Subschema subschema;
+
+  @NonNull
+  private final String fieldName;
+
+  @NonNull
+  @Builder.Default
+  private final ArgsFromEnvFunction argsFromEnv = environment -> List.of();
+
+  private final DelegationPlanCache planCache;
+
+  // Compiled form of the subschema transform, falling back to the transform itself when absent
+  private final CompiledTransform compiledTransform;
+
+  // Completes with a publisher of field values, which graphql-java resolves as source event stream
+  public CompletableFuture<Object> delegate(DataFetchingEnvironment environment) {
+    var plan = new DelegationPlanner(subschema, compiledTransform, planCache).getPlan(environment, fieldName,
+        argsFromEnv);
+
+    var executionInput = ExecutionInput.newExecutionInput()
+        .query(plan.getQuery())
+        .variables(plan.selectVariables(environment.getVariables()))
+        .build();
+
+    return subschema.subscribe(executionInput)
+        .thenApply(executionResult -> {
+          if (!executionResult.getErrors()
+              .isEmpty()) {
+            throw new DelegateException(executionResult.getErrors());
+          }
+
+          Publisher<ExecutionResult> events = executionResult.getData();
+
+          return new MappingPublisher<>(events, event -> mapEvent(event, plan, environment));
+        });
+  }
+
+  private CompletableFuture<Object> mapEvent(ExecutionResult event, DelegationPlan plan,
+      DataFetchingEnvironment environment) {
+    var result = DelegationResults.createResult(event, event.getData());
+
+    return plan.mapResult(result)
+        .thenApply(mappedResult -> DelegationResults.getFieldValue(mappedResult, fieldName, environment));
+  }
+}
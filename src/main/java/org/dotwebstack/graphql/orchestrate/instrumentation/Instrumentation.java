@@ -0,0 +1,71 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+
+// Receives the begin and end of every phase, where the name identifies the transform class or the subschema
+public interface Instrumentation {
+
+  Instrumentation NOOP = (phase, name) -> InstrumentationContext.NOOP;
+
+  InstrumentationContext begin(Phase phase, String name);
+
+  default <T> T instrument(Phase phase, String name, Supplier<T> supplier) {
+    if (this == NOOP) {
+      return supplier.get();
+    }
+
+    var context = begin(phase, name);
+    var startTime = System.nanoTime();
+
+    try {
+      var value = supplier.get();
+      context.end(Duration.ofNanos(System.nanoTime() - startTime), null);
+      return value;
+    } catch (RuntimeException e) {
+      context.end(Duration.ofNanos(System.nanoTime() - startTime), e);
+      throw e;
+    }
+  }
+
+  // Phase ends when the future completes, rather than when the supplier returns
+  default <T> CompletableFuture<T> instrumentAsync(Phase phase, String name,
+      Supplier<CompletableFuture<T>> supplier) {
+    if (this == NOOP) {
+      return supplier.get();
+    }
+
+    var context = begin(phase, name);
+    var startTime = System.nanoTime();
+    CompletableFuture<T> future;
+
+    try {
+      future = supplier.get();
+    } catch (RuntimeException e) {
+      context.end(Duration.ofNanos(System.nanoTime() - startTime), e);
+      throw e;
+    }
+
+    return future
+        .whenComplete((value, throwable) -> context.end(Duration.ofNanos(System.nanoTime() - startTime),
+            throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause()
+                : throwable));
+  }
+
+  static Instrumentation chain(@NonNull Instrumentation... instrumentations) {
+    var instrumentationList = List.of(instrumentations);
+
+    return (phase, name) -> {
+      var contexts = instrumentationList.stream()
+          .map(instrumentation -> instrumentation.begin(phase, name))
+          .collect(Collectors.toList());
+
+      return (duration, throwable) -> contexts.forEach(context -> context.end(duration, throwable));
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import java.time.Duration;
+
+public interface InstrumentationContext {
+
+  InstrumentationContext NOOP = (duration, throwable) -> {};
+
+  // Throwable is null when the phase completed normally
+  void end(Duration duration, Throwable throwable);
+}
@@ -0,0 +1,35 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import lombok.Builder;
+import lombok.NonNull;
+
+// Records every phase in a timer tagged with the phase, the name and the outcome
+@Builder(builderMethodName = "newInstrumentation")
+public class MicrometerInstrumentation implements Instrumentation {
+
+  @NonNull
+  private final MeterRegistry meterRegistry;
+
+  @NonNull
+  @Builder.Default
+  private final String metricName = "graphql.orchestrate.phase";
+
+  // Publishes histogram buckets, so percentiles can be aggregated across instances
+  @Builder.Default
+  private final boolean percentileHistogram = true;
+
+  @Override
+  public InstrumentationContext begin(Phase phase, String name) {
+    return (duration, throwable) -> Timer.builder(metricName)
+        .tag("phase", phase.name()
+            .toLowerCase(Locale.ROOT))
+        .tag("name", name)
+        .tag("outcome", throwable == null ? "success" : "error")
+        .publishPercentileHistogram(percentileHistogram)
+        .register(meterRegistry)
+        .record(duration);
+  }
+}
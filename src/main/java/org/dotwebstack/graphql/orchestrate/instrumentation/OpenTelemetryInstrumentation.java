@@ -0,0 +1,39 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import java.util.Locale;
+import lombok.Builder;
+import lombok.NonNull;
+
+// Reports every phase as a span, which is a child of the span that is current when the phase begins
+@Builder(builderMethodName = "newInstrumentation")
+public class OpenTelemetryInstrumentation implements Instrumentation {
+
+  public static final AttributeKey<String> NAME = AttributeKey.stringKey("graphql.orchestrate.name");
+
+  @NonNull
+  private final Tracer tracer;
+
+  @NonNull
+  @Builder.Default
+  private final String spanNamePrefix = "graphql.orchestrate.";
+
+  @Override
+  public InstrumentationContext begin(Phase phase, String name) {
+    var span = tracer.spanBuilder(spanNamePrefix + phase.name()
+        .toLowerCase(Locale.ROOT))
+        .setAttribute(NAME, name)
+        .startSpan();
+
+    return (duration, throwable) -> {
+      if (throwable != null) {
+        span.recordException(throwable);
+        span.setStatus(StatusCode.ERROR);
+      }
+
+      span.end();
+    };
+  }
+}
@@ -0,0 +1,6 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+// Phases of a delegation, where request transforms and query printing only occur when a plan is created
+public enum Phase {
+  REQUEST_TRANSFORM, QUERY_PRINTING, EXECUTION, RESPONSE_DECODING, RESULT_TRANSFORM
+}
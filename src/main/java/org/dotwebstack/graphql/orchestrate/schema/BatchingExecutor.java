@@ -0,0 +1,163 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.springframework.http.HttpStatus;
+
+// Collects the operations executed within a short window and sends them to the endpoint as one array request
+@Slf4j
+@Builder(builderMethodName = "newExecutor")
+public class BatchingExecutor implements Executor {
+
+  @NonNull
+  private final RemoteExecutor remoteExecutor;
+
+  // Time an operation may wait for other operations to join its batch
+  @NonNull
+  @Builder.Default
+  private final Duration batchWindow = Duration.ofMillis(5);
+
+  // Batches which reach this size are sent right away
+  @Builder.Default
+  private final int maxBatchSize = 20;
+
+  // Set once the endpoint answers a batch as unsupported, after which all operations are sent on their own
+  private final AtomicBoolean batchesRejected = new AtomicBoolean();
+
+  private final AtomicReference<List<PendingExecution>> currentBatch = new AtomicReference<>();
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+    if (batchesRejected.get()) {
+      return remoteExecutor.execute(input);
+    }
+
+    var execution = new PendingExecution(input);
+    List<PendingExecution> fullBatch = null;
+
+    synchronized (currentBatch) {
+      var batch = currentBatch.get();
+
+      if (batch == null) {
+        batch = new ArrayList<>();
+        currentBatch.set(batch);
+        scheduleFlush(batch);
+      }
+
+      batch.add(execution);
+
+      if (batch.size() >= maxBatchSize) {
+        currentBatch.set(null);
+        fullBatch = batch;
+      }
+    }
+
+    if (fullBatch != null) {
+      send(fullBatch);
+    }
+
+    return execution.result;
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return remoteExecutor.subscribe(input);
+  }
+
+  private void scheduleFlush(List<PendingExecution> batch) {
+    CompletableFuture.delayedExecutor(batchWindow.toNanos(), TimeUnit.NANOSECONDS)
+        .execute(() -> flush(batch));
+  }
+
+  private void flush(List<PendingExecution> batch) {
+    synchronized (currentBatch) {
+      // Batch has been sent already, since it reached the maximum size
+      if (currentBatch.get() != batch) {
+        return;
+      }
+
+      currentBatch.set(null);
+    }
+
+    send(batch);
+  }
+
+  private void send(List<PendingExecution> batch) {
+    if (batch.size() == 1) {
+      sendSingle(batch.get(0));
+      return;
+    }
+
+    var inputs = batch.stream()
+        .map(execution -> execution.input)
+        .collect(Collectors.toList());
+
+    remoteExecutor.executeBatch(inputs)
+        .whenComplete((results, throwable) -> complete(batch, results, throwable));
+  }
+
+  private void complete(List<PendingExecution> batch, Optional<List<ExecutionResult>> results, Throwable throwable) {
+    if (throwable != null) {
+      batch.forEach(execution -> execution.result.completeExceptionally(throwable));
+      return;
+    }
+
+    if (results.isEmpty()) {
+      if (batchesRejected.compareAndSet(false, true)) {
+        LOG.warn("Endpoint does not accept batched operations, falling back to single operations.");
+      }
+
+      // Endpoint may have executed part of the batch nonetheless, so mutations are never sent again
+      if (batch.stream()
+          .anyMatch(execution -> OperationKeys.isMutation(execution.input))) {
+        var exception = new GraphqlJavaOrchestrateException(HttpStatus.BAD_GATEWAY,
+            "Endpoint rejected batched operations, which are not sent again since these include a mutation.");
+        batch.forEach(execution -> execution.result.completeExceptionally(exception));
+        return;
+      }
+
+      batch.forEach(this::sendSingle);
+      return;
+    }
+
+    for (var index = 0; index < batch.size(); index++) {
+      batch.get(index).result.complete(results.get()
+          .get(index));
+    }
+  }
+
+  private void sendSingle(PendingExecution execution) {
+    remoteExecutor.execute(execution.input)
+        .whenComplete((result, throwable) -> {
+          if (throwable != null) {
+            execution.result.completeExceptionally(throwable);
+          } else {
+            execution.result.complete(result);
+          }
+        });
+  }
+
+  private static final class PendingExecution {
+
+    private final ExecutionInput input;
+
+    private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+
+    private PendingExecution(ExecutionInput input) {
+      this.input = input;
+    }
+  }
+}
@@ -0,0 +1,281 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.schema.RemoteExecutor.CACHE_CONTROL_EXTENSION;
+import static org.dotwebstack.graphql.orchestrate.schema.RemoteExecutor.MAX_AGE;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.dotwebstack.graphql.orchestrate.cache.EvictionClock;
+
+// Caches the results of query operations, honoring the cache hints of the endpoint
+@Slf4j
+@Builder(builderMethodName = "newExecutor")
+public class CachingExecutor implements Executor {
+
+  private static final String HINTS = "hints";
+
+  private static final String SCOPE = "scope";
+
+  private static final String PRIVATE_SCOPE = "PRIVATE";
+
+  @NonNull
+  private final Executor executor;
+
+  // Upper bound of the estimated size of all cached results, in bytes
+  @Builder.Default
+  private final long maximumWeight = 16L * 1024 * 1024;
+
+  // Applies to results without cache hints, which are not cached by default
+  @NonNull
+  @Builder.Default
+  private final Duration defaultMaxAge = Duration.ZERO;
+
+  @NonNull
+  @Builder.Default
+  private final Clock clock = Clock.systemUTC();
+
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+  private final EvictionClock<String, CacheEntry> evictionClock = new EvictionClock<>(entries);
+
+  private final Map<String, CompletableFuture<ExecutionResult>> pendingExecutions = new ConcurrentHashMap<>();
+
+  private final AtomicLong weight = new AtomicLong();
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private final LongAdder evictionCount = new LongAdder();
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+    if (OperationKeys.isMutation(input)) {
+      return executor.execute(input);
+    }
+
+    var key = OperationKeys.createKey(input);
+    var entry = entries.get(key);
+
+    if (entry != null) {
+      if (entry.expiresAt > clock.millis()) {
+        hitCount.increment();
+        entry.markUsed();
+        return CompletableFuture.completedFuture(ExecutionResults.copy(entry.result));
+      }
+
+      removeEntry(key, entry);
+    }
+
+    missCount.increment();
+
+    // Concurrent misses for the same operation share a single upstream execution
+    var execution = new CompletableFuture<ExecutionResult>();
+    var pendingExecution = pendingExecutions.putIfAbsent(key, execution);
+
+    if (pendingExecution == null) {
+      pendingExecution = execution;
+      CompletableFuture<ExecutionResult> upstreamExecution;
+
+      // The execution is already published, so it must also complete if the executor throws synchronously
+      try {
+        upstreamExecution = executor.execute(input);
+      } catch (RuntimeException e) {
+        upstreamExecution = CompletableFuture.failedFuture(e);
+      }
+
+      upstreamExecution.whenComplete((result, throwable) -> {
+        if (throwable == null) {
+          storeResult(key, result);
+        }
+
+        pendingExecutions.remove(key, execution);
+
+        if (throwable != null) {
+          execution.completeExceptionally(throwable);
+        } else {
+          execution.complete(result);
+        }
+      });
+    }
+
+    return pendingExecution.thenApply(ExecutionResults::copy);
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return executor.subscribe(input);
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public long getWeight() {
+    return weight.get();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.forEach(this::removeEntry);
+  }
+
+  private void storeResult(String key, ExecutionResult result) {
+    var maxAge = getMaxAge(result);
+
+    if (maxAge <= 0) {
+      return;
+    }
+
+    var entry = new CacheEntry(result, estimateWeight(result.getData()), clock.millis() + maxAge);
+
+    if (entry.weight > maximumWeight) {
+      LOG.debug("Result of {} bytes exceeds the maximum cache weight, not caching it.", entry.weight);
+      return;
+    }
+
+    var previousEntry = entries.put(key, entry);
+    weight.addAndGet(entry.weight - (previousEntry != null ? previousEntry.weight : 0));
+
+    if (weight.get() > maximumWeight) {
+      evictEntries();
+    }
+  }
+
+  private void removeEntry(String key, CacheEntry entry) {
+    if (entries.remove(key, entry)) {
+      weight.addAndGet(-entry.weight);
+    }
+  }
+
+  // Evicts expired entries as soon as the clock hand passes these, regardless of their use
+  private void evictEntries() {
+    while (weight.get() > maximumWeight) {
+      var now = clock.millis();
+      var victim = evictionClock.selectVictim(entry -> entry.expiresAt <= now);
+
+      if (victim == null) {
+        return;
+      }
+
+      if (entries.remove(victim.getKey(), victim.getValue())) {
+        weight.addAndGet(-victim.getValue().weight);
+        evictionCount.increment();
+      }
+    }
+  }
+
+  // Returns the max age in milliseconds, where the most restrictive hint wins
+  private long getMaxAge(ExecutionResult result) {
+    if (!result.getErrors()
+        .isEmpty() || result.getData() == null) {
+      return 0;
+    }
+
+    var extensions = result.getExtensions();
+    var cacheControl = extensions != null ? extensions.get(CACHE_CONTROL_EXTENSION) : null;
+
+    if (!(cacheControl instanceof Map)) {
+      return defaultMaxAge.toMillis();
+    }
+
+    var cacheControlMap = (Map<?, ?>) cacheControl;
+    Long maxAge = null;
+
+    if (cacheControlMap.get(HINTS) instanceof List) {
+      for (var hint : (List<?>) cacheControlMap.get(HINTS)) {
+        if (!(hint instanceof Map)) {
+          continue;
+        }
+
+        var hintMap = (Map<?, ?>) hint;
+
+        if (PRIVATE_SCOPE.equals(hintMap.get(SCOPE))) {
+          return 0;
+        }
+
+        maxAge = minMaxAge(maxAge, hintMap.get(MAX_AGE));
+      }
+    }
+
+    maxAge = minMaxAge(maxAge, cacheControlMap.get(MAX_AGE));
+
+    return maxAge != null ? maxAge * 1000 : defaultMaxAge.toMillis();
+  }
+
+  private static Long minMaxAge(Long maxAge, Object hintedMaxAge) {
+    if (!(hintedMaxAge instanceof Number)) {
+      return maxAge;
+    }
+
+    var seconds = ((Number) hintedMaxAge).longValue();
+
+    return maxAge != null ? Math.min(maxAge, seconds) : seconds;
+  }
+
+  // Rough estimate of the retained heap size, which suffices to bound the cache
+  private static long estimateWeight(Object value) {
+    if (value instanceof Map) {
+      var mapWeight = 64L;
+
+      for (var entry : ((Map<?, ?>) value).entrySet()) {
+        mapWeight += 32 + estimateWeight(entry.getKey()) + estimateWeight(entry.getValue());
+      }
+
+      return mapWeight;
+    }
+
+    if (value instanceof List) {
+      var listWeight = 40L;
+
+      for (var element : (List<?>) value) {
+        listWeight += 8 + estimateWeight(element);
+      }
+
+      return listWeight;
+    }
+
+    if (value instanceof String) {
+      return 40L + ((String) value).length();
+    }
+
+    return value != null ? 16 : 0;
+  }
+
+  private static final class CacheEntry extends EvictionClock.Entry {
+
+    private final ExecutionResult result;
+
+    private final long weight;
+
+    private final long expiresAt;
+
+    private CacheEntry(ExecutionResult result, long weight, long expiresAt) {
+      this.result = result;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.springframework.http.HttpStatus;
+
+// Limits the executions in flight towards an upstream, adapting the limit to the observed latency: the limit grows
+// while latency is stable and shrinks as soon as latency rises (gradient) or executions fail (multiplicative decrease)
+@Slf4j
+@Builder(builderMethodName = "newExecutor")
+public class ConcurrencyLimitingExecutor implements Executor {
+
+  // Number of samples over which the long-term latency is averaged
+  private static final double LONG_WINDOW = 100;
+
+  private static final double SMOOTHING = 0.2;
+
+  private static final double MIN_GRADIENT = 0.5;
+
+  @NonNull
+  private final Executor executor;
+
+  @Builder.Default
+  private final int initialLimit = 20;
+
+  @Builder.Default
+  private final int minLimit = 1;
+
+  @Builder.Default
+  private final int maxLimit = 200;
+
+  // Factor by which the current latency may exceed the long-term latency before the limit shrinks
+  @Builder.Default
+  private final double tolerance = 1.5;
+
+  // Factor applied to the limit when an execution fails
+  @Builder.Default
+  private final double backoffRatio = 0.9;
+
+  // Executions beyond the limit wait for a slot, until the queue is full
+  @Builder.Default
+  private final int maxQueueSize = 100;
+
+  @NonNull
+  @Builder.Default
+  private final Duration maxQueueTime = Duration.ofSeconds(1);
+
+  @NonNull
+  @Builder.Default
+  private final Clock clock = Clock.systemUTC();
+
+  // Guards the limit, the executions in flight and the queue
+  private final LimitState state = new LimitState();
+
+  private final LongAdder rejectedCount = new LongAdder();
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+    var pendingExecution = new PendingExecution(input);
+
+    boolean queued;
+
+    synchronized (state) {
+      queued = state.inFlightCount >= getLimit();
+
+      if (!queued) {
+        state.inFlightCount++;
+      } else if (state.queue.size() < maxQueueSize) {
+        state.queue.add(pendingExecution);
+      } else {
+        rejectedCount.increment();
+        return CompletableFuture.failedFuture(new GraphqlJavaOrchestrateException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Concurrency limit of upstream reached."));
+      }
+    }
+
+    if (queued) {
+      CompletableFuture.delayedExecutor(maxQueueTime.toMillis(), TimeUnit.MILLISECONDS)
+          .execute(() -> expire(pendingExecution));
+    } else {
+      start(pendingExecution);
+    }
+
+    return pendingExecution.result;
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return executor.subscribe(input);
+  }
+
+  public int getLimit() {
+    synchronized (state) {
+      if (state.limit < 0) {
+        state.limit = initialLimit;
+      }
+
+      return (int) state.limit;
+    }
+  }
+
+  public int getInFlightCount() {
+    synchronized (state) {
+      return state.inFlightCount;
+    }
+  }
+
+  public int getQueuedCount() {
+    synchronized (state) {
+      return state.queue.size();
+    }
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  private void start(PendingExecution pendingExecution) {
+    var startTime = clock.instant();
+    CompletableFuture<ExecutionResult> execution;
+
+    // Executions failing synchronously release their slot like any other failed execution
+    try {
+      execution = executor.execute(pendingExecution.input);
+    } catch (RuntimeException e) {
+      execution = CompletableFuture.failedFuture(e);
+    }
+
+    execution.whenComplete((executionResult, throwable) -> {
+      var failed = throwable != null || ExecutionResults.isServerError(executionResult);
+      release(Duration.between(startTime, clock.instant()), failed).forEach(this::start);
+
+      if (throwable != null) {
+        pendingExecution.result.completeExceptionally(throwable);
+      } else {
+        pendingExecution.result.complete(executionResult);
+      }
+    });
+  }
+
+  // Updates the limit with the sample of the completed execution and returns the queued executions that may start
+  private List<PendingExecution> release(Duration rtt, boolean failed) {
+    synchronized (state) {
+      var currentLimit = getLimit();
+
+      if (failed) {
+        state.limit = Math.max(minLimit, state.limit * backoffRatio);
+      } else {
+        updateLimit(Math.max(rtt.toNanos(), 1));
+      }
+
+      if (getLimit() != currentLimit) {
+        LOG.debug("Concurrency limit changed from {} to {}.", currentLimit, getLimit());
+      }
+
+      state.inFlightCount--;
+
+      var startable = new ArrayList<PendingExecution>();
+
+      while (state.inFlightCount < getLimit() && !state.queue.isEmpty()) {
+        state.inFlightCount++;
+        startable.add(state.queue.poll());
+      }
+
+      return startable;
+    }
+  }
+
+  private void updateLimit(double rtt) {
+    state.longRtt = state.longRtt == 0 ? rtt : state.longRtt + (rtt - state.longRtt) / LONG_WINDOW;
+
+    // Lets the long-term latency catch up quickly once an upstream has recovered from a period of high latency
+    if (state.longRtt / rtt > 2) {
+      state.longRtt *= 0.95;
+    }
+
+    // Without enough load the latency says nothing about the capacity of the upstream
+    if (state.inFlightCount < state.limit / 2) {
+      return;
+    }
+
+    var gradient = Math.max(MIN_GRADIENT, Math.min(1, tolerance * state.longRtt / rtt));
+    var newLimit = state.limit * gradient + Math.sqrt(state.limit);
+
+    state.limit = Math.max(minLimit, Math.min(maxLimit, state.limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+  }
+
+  private void expire(PendingExecution pendingExecution) {
+    boolean removed;
+
+    synchronized (state) {
+      removed = state.queue.remove(pendingExecution);
+    }
+
+    if (removed) {
+      rejectedCount.increment();
+      pendingExecution.result.completeExceptionally(new GraphqlJavaOrchestrateException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Concurrency limit of upstream reached, timed out waiting in queue."));
+    }
+  }
+
+  private static final class LimitState {
+
+    private final ArrayDeque<PendingExecution> queue = new ArrayDeque<>();
+
+    // Initialized lazily, since the builder assigns the initial limit after the field initializers have run
+    private double limit = -1;
+
+    private double longRtt;
+
+    private int inFlightCount;
+  }
+
+  @RequiredArgsConstructor
+  private static final class PendingExecution {
+
+    private final ExecutionInput input;
+
+    private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+  }
+}
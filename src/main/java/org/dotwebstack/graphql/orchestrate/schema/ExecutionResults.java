@@ -0,0 +1,50 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+
+final class ExecutionResults {
+
+  private ExecutionResults() {}
+
+  // Delegators take ownership of result data, so results shared between callers are handed out as copies
+  static ExecutionResult copy(ExecutionResult result) {
+    return ExecutionResultImpl.newExecutionResult()
+        .from(result)
+        .data(copyValue(result.getData()))
+        .build();
+  }
+
+  // Server errors reported by the remote executor indicate an unhealthy upstream, unlike GraphQL errors
+  static boolean isServerError(ExecutionResult result) {
+    return result.getErrors()
+        .stream()
+        .filter(ExceptionWhileDataFetching.class::isInstance)
+        .map(error -> ((ExceptionWhileDataFetching) error).getException())
+        .anyMatch(exception -> exception instanceof GraphqlJavaOrchestrateException
+            && ((GraphqlJavaOrchestrateException) exception).getStatusCode()
+                .is5xxServerError());
+  }
+
+  private static Object copyValue(Object value) {
+    if (value instanceof Map) {
+      var copy = new LinkedHashMap<Object, Object>();
+      ((Map<?, ?>) value).forEach((key, entryValue) -> copy.put(key, copyValue(entryValue)));
+      return copy;
+    }
+
+    if (value instanceof List) {
+      var copy = new ArrayList<Object>(((List<?>) value).size());
+      ((List<?>) value).forEach(element -> copy.add(copyValue(element)));
+      return copy;
+    }
+
+    return value;
+  }
+}
@@ -7,4 +7,9 @@ import java.util.concurrent.CompletableFuture;
 public interface Executor {
 
   CompletableFuture<ExecutionResult> execute(ExecutionInput input);
+
+  // Results of subscription operations contain a publisher of execution results as data, like graphql-java does
+  default CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return execute(input);
+  }
 }
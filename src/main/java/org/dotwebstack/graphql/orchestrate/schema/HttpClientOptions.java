@@ -0,0 +1,132 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+// Transport settings of a remote executor, which are turned into a Reactor Netty backed web client
+@Getter
+@Builder(builderMethodName = "newOptions")
+public final class HttpClientOptions {
+
+  private static final String GZIP = "gzip";
+
+  @NonNull
+  @Builder.Default
+  private final String poolName = "graphql-orchestrate";
+
+  // Requests gzip encoded responses (by sending an Accept-Encoding header) and decodes these transparently
+  private final boolean responseCompression;
+
+  // Sends gzip encoded request bodies, which requires the endpoint to support Content-Encoding on requests
+  private final boolean requestCompression;
+
+  // Protocols to negotiate, where H2C alone means HTTP/2 with prior knowledge (defaults to HTTP/1.1)
+  @Singular
+  private final List<HttpProtocol> protocols;
+
+  @Builder.Default
+  private final int maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+
+  // Maximum number of requests waiting for a connection, or null for the Reactor Netty default
+  private final Integer pendingAcquireMaxCount;
+
+  private final Duration pendingAcquireTimeout;
+
+  private final Duration maxIdleTime;
+
+  // Receives the live metrics (including the pending acquire queue) of every pool, once per remote address
+  private final BiConsumer<SocketAddress, ConnectionPoolMetrics> poolMetricsListener;
+
+  public WebClient createWebClient() {
+    var httpClient = HttpClient.create(createConnectionProvider())
+        .compress(responseCompression);
+
+    if (!protocols.isEmpty()) {
+      httpClient = httpClient.protocol(protocols.toArray(HttpProtocol[]::new));
+    }
+
+    var builder = WebClient.builder()
+        .clientConnector(new ReactorClientHttpConnector(httpClient));
+
+    if (requestCompression) {
+      builder.filter(compressRequests());
+    }
+
+    return builder.build();
+  }
+
+  private ConnectionProvider createConnectionProvider() {
+    var builder = ConnectionProvider.builder(poolName)
+        .maxConnections(maxConnections);
+
+    if (pendingAcquireMaxCount != null) {
+      builder.pendingAcquireMaxCount(pendingAcquireMaxCount);
+    }
+
+    if (pendingAcquireTimeout != null) {
+      builder.pendingAcquireTimeout(pendingAcquireTimeout);
+    }
+
+    if (maxIdleTime != null) {
+      builder.maxIdleTime(maxIdleTime);
+    }
+
+    if (poolMetricsListener != null) {
+      builder.metrics(true, () -> (name, id, remoteAddress, metrics) -> poolMetricsListener.accept(remoteAddress,
+          metrics));
+    }
+
+    return builder.build();
+  }
+
+  private static ExchangeFilterFunction compressRequests() {
+    return (request, next) -> next.exchange(ClientRequest.from(request)
+        .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+        .body((outputMessage, context) -> request.body()
+            .insert(new ClientHttpRequestDecorator(outputMessage) {
+              @Override
+              public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(body)
+                    .flatMap(dataBuffer -> super.writeWith(Mono.just(compress(dataBuffer, bufferFactory()))));
+              }
+            }, context))
+        .build());
+  }
+
+  private static DataBuffer compress(DataBuffer dataBuffer, DataBufferFactory bufferFactory) {
+    var outputStream = new ByteArrayOutputStream(dataBuffer.readableByteCount() / 2);
+
+    try (var inputStream = dataBuffer.asInputStream(true); var gzipStream = new GZIPOutputStream(outputStream)) {
+      inputStream.transferTo(gzipStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bufferFactory.wrap(outputStream.toByteArray());
+  }
+}
@@ -0,0 +1,178 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.GraphQLException;
+import graphql.language.AstPrinter;
+import graphql.parser.Parser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Builder(builderMethodName = "newCache")
+public class IntrospectionCache {
+
+  private static final String SNAPSHOT_EXTENSION = ".graphql";
+
+  // Directory holding one SDL snapshot per cache key (e.g. the upstream endpoint)
+  @NonNull
+  private final Path directory;
+
+  // Invoked after background revalidation found a changed upstream schema
+  private final BiConsumer<String, TypeDefinitionRegistry> changeListener;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+  // Returns the stored snapshot right away when present, while revalidating it in the background
+  public CompletableFuture<TypeDefinitionRegistry> introspectSchema(@NonNull String key, @NonNull Executor executor) {
+    var storedSnapshot = readSnapshot(key);
+
+    if (storedSnapshot.isPresent()) {
+      var snapshot = storedSnapshot.get();
+      snapshots.put(key, snapshot);
+      revalidate(key, executor);
+
+      return CompletableFuture.completedFuture(snapshot.getTypeDefinitionRegistry());
+    }
+
+    return introspectSdl(executor).thenApply(sdl -> {
+      var snapshot = new Snapshot(sdl);
+      snapshots.put(key, snapshot);
+      writeSnapshot(key, sdl);
+
+      return snapshot.getTypeDefinitionRegistry();
+    });
+  }
+
+  // Completes with true if the upstream schema changed, or false if it did not change or could not be introspected
+  public CompletableFuture<Boolean> revalidate(@NonNull String key, @NonNull Executor executor) {
+    return introspectSdl(executor).thenApply(sdl -> {
+      var snapshot = new Snapshot(sdl);
+      var previousSnapshot = snapshots.put(key, snapshot);
+
+      if (previousSnapshot != null && previousSnapshot.getSdl()
+          .equals(sdl)) {
+        return false;
+      }
+
+      writeSnapshot(key, sdl);
+
+      if (changeListener != null) {
+        changeListener.accept(key, snapshot.getTypeDefinitionRegistry());
+      }
+
+      return true;
+    })
+        .exceptionally(throwable -> {
+          LOG.warn("Revalidating schema '{}' failed, keeping the current snapshot.", key, throwable);
+          return false;
+        });
+  }
+
+  public Optional<TypeDefinitionRegistry> getTypeDefinitionRegistry(@NonNull String key) {
+    return Optional.ofNullable(snapshots.get(key))
+        .map(Snapshot::getTypeDefinitionRegistry);
+  }
+
+  private static CompletableFuture<String> introspectSdl(Executor executor) {
+    return SchemaIntrospector.introspectDocument(executor)
+        .thenApply(AstPrinter::printAst);
+  }
+
+  // Snapshots only speed up loading, so unreadable snapshots are discarded in favor of introspection
+  private Optional<Snapshot> readSnapshot(String key) {
+    var file = getSnapshotFile(key);
+
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(new Snapshot(Files.readString(file, StandardCharsets.UTF_8)));
+    } catch (IOException e) {
+      LOG.warn("Reading schema snapshot '{}' failed, introspecting instead.", file, e);
+    } catch (GraphQLException e) {
+      LOG.warn("Schema snapshot '{}' is corrupt, discarding it and introspecting instead.", file, e);
+      deleteFile(file);
+    }
+
+    return Optional.empty();
+  }
+
+  // Failing to write a snapshot only costs the next cold start an introspection, so it never fails the load itself
+  private void writeSnapshot(String key, String sdl) {
+    var file = getSnapshotFile(key);
+    Path temporaryFile = null;
+
+    try {
+      Files.createDirectories(directory);
+
+      // Write to a temporary file first, so readers never observe partially written snapshots
+      temporaryFile = Files.createTempFile(directory, file.getFileName()
+          .toString(), ".tmp");
+      Files.writeString(temporaryFile, sdl, StandardCharsets.UTF_8);
+
+      try {
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOG.warn("Writing schema snapshot '{}' failed, continuing without it.", file, e);
+
+      if (temporaryFile != null) {
+        deleteFile(temporaryFile);
+      }
+    }
+  }
+
+  private static void deleteFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.warn("Deleting file '{}' failed.", file, e);
+    }
+  }
+
+  private Path getSnapshotFile(String key) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(key.getBytes(StandardCharsets.UTF_8));
+
+      return directory.resolve(HexFormat.of()
+          .formatHex(digest) + SNAPSHOT_EXTENSION);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+    }
+  }
+
+  @Getter
+  private static final class Snapshot {
+
+    private final String sdl;
+
+    private final TypeDefinitionRegistry typeDefinitionRegistry;
+
+    private Snapshot(String sdl) {
+      this.sdl = sdl;
+      this.typeDefinitionRegistry = SchemaIntrospector.buildTypeDefinitionRegistry(Parser.parse(sdl));
+    }
+  }
+}
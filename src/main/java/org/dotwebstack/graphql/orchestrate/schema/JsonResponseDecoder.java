@@ -0,0 +1,182 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class JsonResponseDecoder {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final long maxInMemorySize;
+
+  public JsonResponseDecoder(long maxInMemorySize) {
+    this.maxInMemorySize = maxInMemorySize;
+  }
+
+  @SuppressWarnings("unchecked")
+  public Mono<Map<String, Object>> decode(Flux<DataBuffer> dataBuffers) {
+    return decodeRoot(dataBuffers, false).map(root -> (Map<String, Object>) root);
+  }
+
+  // Decodes either an object or an array (of batched responses) as root
+  public Mono<Object> decodeObjectOrArray(Flux<DataBuffer> dataBuffers) {
+    return decodeRoot(dataBuffers, true);
+  }
+
+  private Mono<Object> decodeRoot(Flux<DataBuffer> dataBuffers, boolean arrayAccepted) {
+    return Mono.using(() -> new TreeBuilder(arrayAccepted), treeBuilder -> dataBuffers.doOnNext(treeBuilder::feed)
+        .then(Mono.fromCallable(treeBuilder::finish)), TreeBuilder::close);
+  }
+
+  // Builds the result tree while the body is still being received, so the body itself is never aggregated
+  private class TreeBuilder {
+
+    private final JsonParser parser;
+
+    private final boolean arrayAccepted;
+
+    private final Deque<Object> containers = new ArrayDeque<>();
+
+    private final Deque<String> fieldNames = new ArrayDeque<>();
+
+    private byte[] chunk = new byte[0];
+
+    private long byteCount;
+
+    private Object root;
+
+    private TreeBuilder(boolean arrayAccepted) {
+      this.arrayAccepted = arrayAccepted;
+
+      try {
+        parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void feed(DataBuffer dataBuffer) {
+      var length = dataBuffer.readableByteCount();
+      byteCount += length;
+
+      if (maxInMemorySize >= 0 && byteCount > maxInMemorySize) {
+        DataBufferUtils.release(dataBuffer);
+        throw new DataBufferLimitException(
+            String.format("Exceeded limit on max bytes to buffer : %d", maxInMemorySize));
+      }
+
+      // Parser consumes all tokens before the next feed, so the chunk array can be reused
+      if (chunk.length < length) {
+        chunk = new byte[length];
+      }
+
+      dataBuffer.read(chunk, 0, length);
+      DataBufferUtils.release(dataBuffer);
+
+      try {
+        ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(chunk, 0, length);
+        parseTokens();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private Object finish() throws IOException {
+      ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+      parseTokens();
+
+      if (!containers.isEmpty()) {
+        throw new IOException("Unexpected end of JSON input.");
+      }
+
+      return root;
+    }
+
+    private void close() {
+      try {
+        parser.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void parseTokens() throws IOException {
+      JsonToken token;
+
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+        switch (token) {
+          case START_OBJECT:
+            containers.push(new LinkedHashMap<String, Object>());
+            break;
+          case START_ARRAY:
+            containers.push(new ArrayList<>());
+            break;
+          case END_OBJECT:
+          case END_ARRAY:
+            addValue(containers.pop());
+            break;
+          case FIELD_NAME:
+            fieldNames.push(parser.currentName());
+            break;
+          case VALUE_STRING:
+            addValue(parser.getText());
+            break;
+          case VALUE_NUMBER_INT:
+            addValue(parser.getNumberValue());
+            break;
+          case VALUE_NUMBER_FLOAT:
+            addValue(parser.getDoubleValue());
+            break;
+          case VALUE_TRUE:
+            addValue(Boolean.TRUE);
+            break;
+          case VALUE_FALSE:
+            addValue(Boolean.FALSE);
+            break;
+          case VALUE_NULL:
+            addValue(null);
+            break;
+          default:
+            throw new IOException(String.format("Unsupported JSON token: %s", token));
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addValue(Object value) throws IOException {
+      var container = containers.peek();
+
+      if (container == null) {
+        if (!(value instanceof Map) && !(arrayAccepted && value instanceof List)) {
+          throw new IOException(arrayAccepted ? "JSON response body must be an object or array."
+              : "JSON response body must be an object.");
+        }
+
+        root = value;
+        return;
+      }
+
+      if (container instanceof Map) {
+        ((Map<String, Object>) container).put(fieldNames.pop(), value);
+        return;
+      }
+
+      ((List<Object>) container).add(value);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLException;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class OperationKeys {
+
+  private OperationKeys() {}
+
+  // Identical operations produce identical keys, regardless of the order of (nested) variable entries. Documents may
+  // contain several operations, so the selected operation is part of the key (operation names are never empty).
+  static String createKey(ExecutionInput input) {
+    var operationName = input.getOperationName();
+    var builder = new StringBuilder(input.getQuery())
+        .append('\n')
+        .append(operationName != null ? operationName : "")
+        .append('\n');
+
+    appendCanonical(input.getVariables(), builder);
+
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(builder.toString()
+              .getBytes(StandardCharsets.UTF_8));
+
+      return HexFormat.of()
+          .formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+    }
+  }
+
+  // Mutations have side effects, so these must never be shared, cached or retried. Documents may start with comments
+  // or fragment definitions and contain several operations, so the operation to execute is selected from the parsed
+  // document. Documents which cannot be parsed, or have no operation to select, are treated as mutations.
+  static boolean isMutation(ExecutionInput input) {
+    var query = input.getQuery();
+
+    // Every mutation is declared with its keyword, so only documents containing it need to be parsed
+    if (!query.contains("mutation")) {
+      return false;
+    }
+
+    List<OperationDefinition> operationDefinitions;
+
+    try {
+      operationDefinitions = Parser.parse(query)
+          .getDefinitionsOfType(OperationDefinition.class);
+    } catch (GraphQLException e) {
+      return true;
+    }
+
+    var operationName = input.getOperationName();
+
+    if (operationName == null) {
+      return operationDefinitions.size() != 1 || isMutation(operationDefinitions.get(0));
+    }
+
+    return operationDefinitions.stream()
+        .filter(operationDefinition -> operationName.equals(operationDefinition.getName()))
+        .findFirst()
+        .map(OperationKeys::isMutation)
+        .orElse(true);
+  }
+
+  private static boolean isMutation(OperationDefinition operationDefinition) {
+    return operationDefinition.getOperation() == OperationDefinition.Operation.MUTATION;
+  }
+
+  private static void appendCanonical(Object value, StringBuilder builder) {
+    if (value instanceof Map) {
+      var sortedEntries = new TreeMap<String, Object>();
+      ((Map<?, ?>) value).forEach((key, entryValue) -> sortedEntries.put(String.valueOf(key), entryValue));
+
+      builder.append('{');
+      sortedEntries.forEach((key, entryValue) -> {
+        appendString(key, builder);
+        builder.append(':');
+        appendCanonical(entryValue, builder);
+        builder.append(',');
+      });
+      builder.append('}');
+    } else if (value instanceof List) {
+      builder.append('[');
+      ((List<?>) value).forEach(element -> {
+        appendCanonical(element, builder);
+        builder.append(',');
+      });
+      builder.append(']');
+    } else if (value instanceof String) {
+      appendString((String) value, builder);
+    } else {
+      builder.append(value);
+    }
+  }
+
+  private static void appendString(String value, StringBuilder builder) {
+    builder.append('"')
+        .append(value.replace("\\", "\\\\")
+            .replace("\"", "\\\""))
+        .append('"');
+  }
+}
@@ -4,47 +4,386 @@ import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
 import graphql.execution.ResultPath;
 import graphql.language.SourceLocation;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.NonNull;
 import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Instrumentation;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Phase;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Builder(builderMethodName = "newExecutor")
 public class RemoteExecutor implements Executor {
 
+  private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+  private static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+
+  private static final String COMPLETE_EVENT = "complete";
+
+  // Client errors which say nothing about the support for batched operations
+  private static final Set<Integer> TRANSIENT_CLIENT_ERRORS =
+      Set.of(HttpStatus.REQUEST_TIMEOUT.value(), HttpStatus.TOO_MANY_REQUESTS.value());
+
+  // Result extension carrying cache hints, both from the endpoint (Apollo style) and the Cache-Control header
+  public static final String CACHE_CONTROL_EXTENSION = "cacheControl";
+
+  public static final String MAX_AGE = "maxAge";
+
+  private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> SERVER_SENT_EVENT_TYPE =
+      new ParameterizedTypeReference<>() {};
+
   @NonNull
   private final WebClient webClient;
 
   @NonNull
   private final URI endpoint;
 
+  // Sends query hashes instead of full query texts (automatic persisted queries)
+  private final boolean persistedQueries;
+
+  // Maximum response body size in bytes, or -1 for no limit
+  @Builder.Default
+  private final long maxInMemorySize = -1;
+
+  @NonNull
+  @Builder.Default
+  private final Instrumentation instrumentation = Instrumentation.NOOP;
+
+  // Registered query hashes beyond this number are forgotten least recently used first, after which the endpoint is
+  // sent the full query text again should one of these recur
+  @Builder.Default
+  private final int maxPersistedQueryHashes = 1000;
+
+  // Query hashes which are known to be registered by the endpoint, in access order. Delegated queries inline literal
+  // argument values, so the number of distinct queries is unbounded.
+  private final Map<String, Boolean> persistedQueryHashes =
+      Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+          return size() > maxPersistedQueryHashes;
+        }
+      });
+
+  private final AtomicBoolean persistedQueriesUnsupported = new AtomicBoolean();
+
   public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
-    var mapTypeRef = new ParameterizedTypeReference<Map<String, Object>>() {};
-    var body = Map.of("query", input.getQuery(), "variables", input.getVariables());
+    var response = persistedQueries && !persistedQueriesUnsupported.get()
+        ? postPersistedQuery(input)
+        : post(createBody(input, null, true));
+
+    return response.map(RemoteExecutor::mapToResult)
+        .toFuture();
+  }
+
+  // Sends all inputs as one array of operations, completing empty if the endpoint explicitly does not support these:
+  // it answers with a client error, or not with an array of equal size. Server errors and transient client errors
+  // fail the batch instead. Batched queries are never persisted.
+  public CompletableFuture<Optional<List<ExecutionResult>>> executeBatch(@NonNull List<ExecutionInput> inputs) {
+    var body = inputs.stream()
+        .map(input -> createBody(input, null, true))
+        .collect(Collectors.toList());
 
     return webClient.post()
         .uri(endpoint)
         .contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON)
         .body(BodyInserters.fromValue(body))
-        .exchangeToMono(clientResponse -> clientResponse.bodyToMono(mapTypeRef))
-        .map(RemoteExecutor::mapToResult)
+        .exchangeToMono(clientResponse -> {
+          var statusCode = clientResponse.statusCode();
+
+          if (statusCode.is5xxServerError() || TRANSIENT_CLIENT_ERRORS.contains(statusCode.value())) {
+            var status = Optional.ofNullable(HttpStatus.resolve(statusCode.value()))
+                .orElse(HttpStatus.BAD_GATEWAY);
+
+            return clientResponse.releaseBody()
+                .then(Mono.error(new GraphqlJavaOrchestrateException(status,
+                    String.format("Batched operations failed with status %d.", statusCode.value()))));
+          }
+
+          if (statusCode.is4xxClientError()) {
+            return clientResponse.releaseBody()
+                .thenReturn(Optional.<List<ExecutionResult>>empty());
+          }
+
+          return instrumentDecoding(new JsonResponseDecoder(maxInMemorySize)
+              .decodeObjectOrArray(clientResponse.bodyToFlux(DataBuffer.class)))
+                  .map(responseBody -> mapToResults(responseBody, inputs.size()));
+        })
         .toFuture();
   }
 
-  private static ExecutionResult mapToResult(Map<String, Object> body) {
+  // Streams subscription events over server-sent events (graphql-sse, distinct connections mode)
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    var events = webClient.post()
+        .uri(endpoint)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .body(BodyInserters.fromValue(createBody(input, null, true)))
+        .retrieve()
+        .bodyToFlux(SERVER_SENT_EVENT_TYPE)
+        .takeWhile(event -> !COMPLETE_EVENT.equals(event.event()))
+        .filter(event -> event.data() != null)
+        .map(event -> mapToResult(event.data()));
+
+    return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+        .data(events)
+        .build());
+  }
+
+  private Mono<Map<String, Object>> postPersistedQuery(ExecutionInput input) {
+    var queryHash = hashQuery(input.getQuery());
+    var queryRegistered = persistedQueryHashes.get(queryHash) != null;
+
+    return post(createBody(input, queryHash, !queryRegistered))
+        .flatMap(body -> handlePersistedQueryResponse(input, queryHash, body));
+  }
+
+  private Mono<Map<String, Object>> handlePersistedQueryResponse(ExecutionInput input, String queryHash,
+      Map<String, Object> body) {
+    if (hasError(body, PERSISTED_QUERY_NOT_SUPPORTED)) {
+      persistedQueriesUnsupported.set(true);
+      return post(createBody(input, null, true));
+    }
+
+    // Endpoint does not know (or has evicted) the query, so it needs to be sent along
+    if (hasError(body, PERSISTED_QUERY_NOT_FOUND)) {
+      persistedQueryHashes.remove(queryHash);
+      return post(createBody(input, queryHash, true))
+          .doOnNext(retryBody -> registerQuery(retryBody, queryHash));
+    }
+
+    registerQuery(body, queryHash);
+    return Mono.just(body);
+  }
+
+  private Mono<Map<String, Object>> post(Map<String, Object> body) {
+    return webClient.post()
+        .uri(endpoint)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .body(BodyInserters.fromValue(body))
+        .exchangeToMono(clientResponse -> instrumentDecoding(new JsonResponseDecoder(maxInMemorySize)
+            .decode(clientResponse.bodyToFlux(DataBuffer.class)))
+            .map(responseBody -> addCacheControl(responseBody, clientResponse.headers()
+                .header(HttpHeaders.CACHE_CONTROL))));
+  }
+
+  // Body is decoded while it is being received, so the decoding phase covers receiving the body as well
+  private <T> Mono<T> instrumentDecoding(Mono<T> decoding) {
+    if (instrumentation == Instrumentation.NOOP) {
+      return decoding;
+    }
+
+    return Mono.defer(() -> {
+      var context = instrumentation.begin(Phase.RESPONSE_DECODING, endpoint.toString());
+      var startTime = System.nanoTime();
+
+      return decoding.doOnSuccess(body -> context.end(Duration.ofNanos(System.nanoTime() - startTime), null))
+          .doOnError(throwable -> context.end(Duration.ofNanos(System.nanoTime() - startTime), throwable))
+          .doOnCancel(() -> context.end(Duration.ofNanos(System.nanoTime() - startTime),
+              new CancellationException()));
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> addCacheControl(Map<String, Object> body, List<String> cacheControlHeaders) {
+    var maxAge = parseMaxAge(cacheControlHeaders);
+
+    if (maxAge == null) {
+      return body;
+    }
+
+    var extensions = body.get("extensions") instanceof Map
+        ? new HashMap<>((Map<String, Object>) body.get("extensions"))
+        : new HashMap<String, Object>();
+
+    var cacheControl = extensions.get(CACHE_CONTROL_EXTENSION) instanceof Map
+        ? new HashMap<>((Map<String, Object>) extensions.get(CACHE_CONTROL_EXTENSION))
+        : new HashMap<String, Object>();
+
+    cacheControl.put(MAX_AGE, maxAge);
+    extensions.put(CACHE_CONTROL_EXTENSION, cacheControl);
+
+    var cacheableBody = new HashMap<>(body);
+    cacheableBody.put("extensions", extensions);
+
+    return cacheableBody;
+  }
+
+  // Gateways are shared caches, so private responses are never cached and s-maxage takes precedence over max-age
+  private static Long parseMaxAge(List<String> cacheControlHeaders) {
+    Long maxAge = null;
+    Long sharedMaxAge = null;
+
+    for (var header : cacheControlHeaders) {
+      for (var directive : header.split(",")) {
+        var normalizedDirective = directive.trim()
+            .toLowerCase(Locale.ROOT);
+
+        if ("no-store".equals(normalizedDirective) || "no-cache".equals(normalizedDirective)
+            || "private".equals(normalizedDirective)) {
+          return 0L;
+        }
+
+        if (normalizedDirective.startsWith("s-maxage=")) {
+          sharedMaxAge = parseSeconds(normalizedDirective.substring("s-maxage=".length()));
+        } else if (normalizedDirective.startsWith("max-age=")) {
+          maxAge = parseSeconds(normalizedDirective.substring("max-age=".length()));
+        }
+      }
+    }
+
+    return sharedMaxAge != null ? sharedMaxAge : maxAge;
+  }
+
+  private static Long parseSeconds(String value) {
+    try {
+      return Math.max(Long.parseLong(value.trim()), 0L);
+    } catch (NumberFormatException e) {
+      return 0L;
+    }
+  }
+
+  private void registerQuery(Map<String, Object> body, String queryHash) {
     if (body.containsKey("data")) {
+      persistedQueryHashes.put(queryHash, Boolean.TRUE);
+    }
+  }
+
+  private static Map<String, Object> createBody(ExecutionInput input, String queryHash, boolean includeQuery) {
+    var body = new HashMap<String, Object>();
+    body.put("variables", input.getVariables());
+
+    if (includeQuery) {
+      body.put("query", input.getQuery());
+    }
+
+    if (queryHash != null) {
+      body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", queryHash)));
+    }
+
+    return body;
+  }
+
+  private static boolean hasError(Map<String, Object> body, String message) {
+    var errors = body.get("errors");
+
+    if (!(errors instanceof List)) {
+      return false;
+    }
+
+    return ((List<?>) errors).stream()
+        .filter(Map.class::isInstance)
+        .anyMatch(error -> message.equals(((Map<?, ?>) error).get("message")));
+  }
+
+  private static String hashQuery(String query) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(query.getBytes(StandardCharsets.UTF_8));
+
+      return HexFormat.of()
+          .formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<List<ExecutionResult>> mapToResults(Object body, int size) {
+    if (!(body instanceof List) || ((List<?>) body).size() != size) {
+      return Optional.empty();
+    }
+
+    var results = new ArrayList<ExecutionResult>(size);
+
+    for (var element : (List<?>) body) {
+      results.add(mapToResult(element instanceof Map ? (Map<String, Object>) element : Map.of()));
+    }
+
+    return Optional.of(results);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<GraphQLError> mapToErrors(Object errors) {
+    if (!(errors instanceof List)) {
+      return List.of();
+    }
+
+    return ((List<?>) errors).stream()
+        .filter(Map.class::isInstance)
+        .map(error -> mapToError((Map<String, Object>) error))
+        .collect(Collectors.toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static GraphQLError mapToError(Map<String, Object> error) {
+    var builder = GraphqlErrorBuilder.newError()
+        .message(String.valueOf(error.get("message")));
+
+    if (error.get("path") instanceof List) {
+      builder.path((List<Object>) error.get("path"));
+    }
+
+    if (error.get("locations") instanceof List) {
+      builder.locations(((List<?>) error.get("locations")).stream()
+          .filter(Map.class::isInstance)
+          .map(location -> mapToLocation((Map<String, Object>) location))
+          .collect(Collectors.toList()));
+    }
+
+    if (error.get("extensions") instanceof Map) {
+      builder.extensions((Map<String, Object>) error.get("extensions"));
+    }
+
+    return builder.build();
+  }
+
+  private static SourceLocation mapToLocation(Map<String, Object> location) {
+    var line = location.get("line") instanceof Number ? ((Number) location.get("line")).intValue() : -1;
+    var column = location.get("column") instanceof Number ? ((Number) location.get("column")).intValue() : -1;
+
+    return new SourceLocation(line, column);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ExecutionResult mapToResult(Map<String, Object> body) {
+    if (body.containsKey("data") || body.get("errors") instanceof List) {
       return ExecutionResultImpl.newExecutionResult()
           .data(body.get("data"))
+          .errors(mapToErrors(body.get("errors")))
+          .extensions(body.get("extensions") instanceof Map ? (Map<Object, Object>) body.get("extensions") : null)
           .build();
     }
 
@@ -65,4 +404,12 @@ public class RemoteExecutor implements Executor {
             SourceLocation.EMPTY))
         .build();
   }
+
+  public static class RemoteExecutorBuilder {
+
+    // Alternative for a preconfigured web client, covering compression, HTTP/2 and connection pooling
+    public RemoteExecutorBuilder httpClientOptions(@NonNull HttpClientOptions httpClientOptions) {
+      return webClient(httpClientOptions.createWebClient());
+    }
+  }
 }
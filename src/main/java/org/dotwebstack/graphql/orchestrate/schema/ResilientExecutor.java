@@ -0,0 +1,240 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.springframework.http.HttpStatus;
+
+// Isolates an upstream by bounding the time and concurrency of its executions, retrying failed queries and failing
+// fast while the upstream keeps failing
+@Slf4j
+@Builder(builderMethodName = "newExecutor")
+public class ResilientExecutor implements Executor {
+
+  private static final long CIRCUIT_CLOSED = -1;
+
+  @NonNull
+  private final Executor executor;
+
+  // Time an attempt may take before it is cancelled, or null for no timeout
+  @Builder.Default
+  private final Duration timeout = Duration.ofSeconds(10);
+
+  // Additional attempts for failed queries, since mutations are not idempotent these are never retried
+  @Builder.Default
+  private final int maxRetries = 2;
+
+  @NonNull
+  @Builder.Default
+  private final Duration initialBackoff = Duration.ofMillis(50);
+
+  @NonNull
+  @Builder.Default
+  private final Duration maxBackoff = Duration.ofSeconds(1);
+
+  // Consecutive failures after which the circuit opens
+  @Builder.Default
+  private final int failureThreshold = 5;
+
+  // Time the circuit stays open, after which a single trial execution decides whether it closes again
+  @NonNull
+  @Builder.Default
+  private final Duration openDuration = Duration.ofSeconds(10);
+
+  // Executions beyond this limit are rejected right away, instead of queueing up behind a slow upstream
+  @Builder.Default
+  private final int maxConcurrentExecutions = 100;
+
+  @NonNull
+  @Builder.Default
+  private final Clock clock = Clock.systemUTC();
+
+  private final AtomicInteger activeCount = new AtomicInteger();
+
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+  private final AtomicLong openedAt = new AtomicLong(CIRCUIT_CLOSED);
+
+  private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+  private final LongAdder failureCount = new LongAdder();
+
+  private final LongAdder timeoutCount = new LongAdder();
+
+  private final LongAdder retryCount = new LongAdder();
+
+  private final LongAdder rejectedCount = new LongAdder();
+
+  private final LongAdder shortCircuitCount = new LongAdder();
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+    if (activeCount.incrementAndGet() > maxConcurrentExecutions) {
+      activeCount.decrementAndGet();
+      rejectedCount.increment();
+      return CompletableFuture.failedFuture(new GraphqlJavaOrchestrateException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Maximum number of concurrent executions reached."));
+    }
+
+    var result = new CompletableFuture<ExecutionResult>();
+    executeAttempt(input, 0, result);
+
+    return result.whenComplete((executionResult, throwable) -> activeCount.decrementAndGet());
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return executor.subscribe(input);
+  }
+
+  public CircuitState getCircuitState() {
+    var opened = openedAt.get();
+
+    if (opened == CIRCUIT_CLOSED) {
+      return CircuitState.CLOSED;
+    }
+
+    return clock.millis() - opened < openDuration.toMillis() ? CircuitState.OPEN : CircuitState.HALF_OPEN;
+  }
+
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  public long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public long getShortCircuitCount() {
+    return shortCircuitCount.sum();
+  }
+
+  private void executeAttempt(ExecutionInput input, int attempt, CompletableFuture<ExecutionResult> result) {
+    if (!isExecutionAllowed()) {
+      shortCircuitCount.increment();
+      result.completeExceptionally(new GraphqlJavaOrchestrateException(HttpStatus.SERVICE_UNAVAILABLE,
+          "Upstream is unavailable, circuit is open."));
+      return;
+    }
+
+    executeWithTimeout(input).whenComplete((executionResult, throwable) -> {
+      if (throwable == null && !ExecutionResults.isServerError(executionResult)) {
+        recordSuccess();
+        result.complete(executionResult);
+        return;
+      }
+
+      recordFailure();
+
+      if (attempt < maxRetries && !OperationKeys.isMutation(input)) {
+        retryCount.increment();
+        CompletableFuture.delayedExecutor(getBackoff(attempt), TimeUnit.MILLISECONDS)
+            .execute(() -> executeAttempt(input, attempt + 1, result));
+        return;
+      }
+
+      if (throwable != null) {
+        result.completeExceptionally(throwable);
+      } else {
+        result.complete(executionResult);
+      }
+    });
+  }
+
+  private CompletableFuture<ExecutionResult> executeWithTimeout(ExecutionInput input) {
+    CompletableFuture<ExecutionResult> execution;
+
+    // Synchronous exceptions count as failed attempts, so these release the slot and are seen by the circuit
+    try {
+      execution = executor.execute(input);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    if (timeout == null) {
+      return execution;
+    }
+
+    // Times out a copy and cancels the execution itself, which (unlike completing it) aborts the upstream request
+    return execution.copy()
+        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((executionResult, throwable) -> {
+          if (throwable instanceof TimeoutException) {
+            timeoutCount.increment();
+            execution.cancel(true);
+          }
+        });
+  }
+
+  private boolean isExecutionAllowed() {
+    var opened = openedAt.get();
+
+    if (opened == CIRCUIT_CLOSED) {
+      return true;
+    }
+
+    if (clock.millis() - opened < openDuration.toMillis()) {
+      return false;
+    }
+
+    return trialInFlight.compareAndSet(false, true);
+  }
+
+  private void recordSuccess() {
+    consecutiveFailures.set(0);
+    trialInFlight.set(false);
+
+    if (openedAt.getAndSet(CIRCUIT_CLOSED) != CIRCUIT_CLOSED) {
+      LOG.info("Upstream recovered, closing circuit.");
+    }
+  }
+
+  private void recordFailure() {
+    failureCount.increment();
+
+    // A failing trial execution opens the circuit again, regardless of the threshold
+    var trialFailed = trialInFlight.getAndSet(false);
+
+    if (consecutiveFailures.incrementAndGet() >= failureThreshold || trialFailed) {
+      if (openedAt.getAndSet(clock.millis()) == CIRCUIT_CLOSED) {
+        LOG.warn("Upstream failed {} times in a row, opening circuit.", consecutiveFailures.get());
+      }
+    }
+  }
+
+  // Equal jitter spreads the retries of concurrent executions, while keeping half of the exponential backoff
+  private long getBackoff(int attempt) {
+    var backoff = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt, 20));
+    return backoff / 2 + ThreadLocalRandom.current()
+        .nextLong(backoff / 2 + 1);
+  }
+
+  public enum CircuitState {
+    CLOSED, OPEN, HALF_OPEN
+  }
+}
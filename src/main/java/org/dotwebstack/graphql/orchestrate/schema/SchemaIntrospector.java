@@ -14,14 +14,17 @@ public class SchemaIntrospector {
   private SchemaIntrospector() {}
 
   public static CompletableFuture<TypeDefinitionRegistry> introspectSchema(Executor executor) {
+    return introspectDocument(executor).thenApply(SchemaIntrospector::buildTypeDefinitionRegistry);
+  }
+
+  static CompletableFuture<Document> introspectDocument(Executor executor) {
     return executor.execute(ExecutionInput.newExecutionInput()
         .query(INTROSPECTION_QUERY)
         .build())
-        .thenApply(new IntrospectionResultToSchema()::createSchemaDefinition)
-        .thenApply(SchemaIntrospector::buildTypeDefinitionRegistry);
+        .thenApply(new IntrospectionResultToSchema()::createSchemaDefinition);
   }
 
-  private static TypeDefinitionRegistry buildTypeDefinitionRegistry(Document document) {
+  static TypeDefinitionRegistry buildTypeDefinitionRegistry(Document document) {
     var typeDefinitionRegistry = new TypeDefinitionRegistry();
 
     document.getDefinitions()
@@ -0,0 +1,90 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.NonNull;
+
+// Shares the execution of an operation with identical operations executed while it is in flight
+@Builder(builderMethodName = "newExecutor")
+public class SingleFlightExecutor implements Executor {
+
+  @NonNull
+  private final Executor executor;
+
+  private final Map<String, PendingExecution> pendingExecutions = new ConcurrentHashMap<>();
+
+  private final LongAdder coalescedCount = new LongAdder();
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+    if (OperationKeys.isMutation(input)) {
+      return executor.execute(input);
+    }
+
+    var key = OperationKeys.createKey(input);
+    var execution = new PendingExecution();
+
+    // Marking as shared is atomic with the removal below, so the flag is final once the execution is removed
+    var pendingExecution = pendingExecutions.compute(key, (k, existingExecution) -> {
+      if (existingExecution == null) {
+        return execution;
+      }
+
+      existingExecution.shared = true;
+      return existingExecution;
+    });
+
+    if (pendingExecution != execution) {
+      coalescedCount.increment();
+      return pendingExecution.result.thenApply(ExecutionResults::copy);
+    }
+
+    CompletableFuture<ExecutionResult> upstreamExecution;
+
+    // The execution is already published, so it must also complete if the executor throws synchronously
+    try {
+      upstreamExecution = executor.execute(input);
+    } catch (RuntimeException e) {
+      upstreamExecution = CompletableFuture.failedFuture(e);
+    }
+
+    upstreamExecution.whenComplete((result, throwable) -> {
+      pendingExecutions.remove(key, execution);
+
+      if (throwable != null) {
+        execution.result.completeExceptionally(throwable);
+      } else {
+        execution.result.complete(result);
+      }
+    });
+
+    // Delegators take ownership of result data, so a shared result is only handed out as copies
+    return execution.result.thenApply(result -> execution.shared ? ExecutionResults.copy(result) : result);
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    return executor.subscribe(input);
+  }
+
+  // Number of executions which were served by the execution of an identical operation
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  public int getPendingCount() {
+    return pendingExecutions.size();
+  }
+
+  private static final class PendingExecution {
+
+    private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+
+    private volatile boolean shared;
+  }
+}
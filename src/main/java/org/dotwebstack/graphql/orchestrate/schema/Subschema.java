@@ -3,13 +3,22 @@ package org.dotwebstack.graphql.orchestrate.schema;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLSchema;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Singular;
 import lombok.extern.slf4j.Slf4j;
+import org.dotwebstack.graphql.orchestrate.delegate.DelegationPlanCache;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Instrumentation;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Phase;
 import org.dotwebstack.graphql.orchestrate.transform.Transform;
 
 @Slf4j
@@ -20,21 +29,54 @@ public class Subschema {
   @NonNull
   private final GraphQLSchema schema;
 
+  // Identifies the subschema in instrumentation
+  @NonNull
+  @Builder.Default
+  private final String name = "default";
+
   private final Executor executor;
 
   private final Transform transform;
 
+  private final DelegationPlanCache planCache;
+
+  // Merges root field delegations of a single execution level into one upstream operation
+  private final boolean batching;
+
+  private final PreparsedDocumentProvider preparsedDocumentProvider;
+
+  private final ExecutionStrategy executionStrategy;
+
+  // Types of this subschema which can be merged with the same types of other subschemas when stitching
+  @Singular
+  private final List<TypeMergeConfig> typeMergeConfigs;
+
+  @NonNull
+  @Builder.Default
+  private final Instrumentation instrumentation = Instrumentation.NOOP;
+
+  // Local engine is built on first use and shared by all executions
+  @Getter(AccessLevel.NONE)
+  private final AtomicReference<GraphQL> graphql = new AtomicReference<>();
+
   public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
     LOG.debug("Executing query:\n{}", input.getQuery());
 
     if (executor != null) {
-      return executor.execute(input);
+      return instrumentation.instrumentAsync(Phase.EXECUTION, name, () -> executor.execute(input));
     }
 
-    var graphql = GraphQL.newGraphQL(schema)
-        .build();
+    return instrumentation.instrumentAsync(Phase.EXECUTION, name, () -> getGraphql().executeAsync(input));
+  }
+
+  public CompletableFuture<ExecutionResult> subscribe(ExecutionInput input) {
+    LOG.debug("Executing subscription:\n{}", input.getQuery());
+
+    if (executor != null) {
+      return executor.subscribe(input);
+    }
 
-    return graphql.executeAsync(input);
+    return getGraphql().executeAsync(input);
   }
 
   public Subschema transform(@NonNull Consumer<SubschemaBuilder> builderConsumer) {
@@ -42,4 +84,31 @@ public class Subschema {
     builderConsumer.accept(builder);
     return builder.build();
   }
+
+  private GraphQL getGraphql() {
+    var instance = graphql.get();
+
+    if (instance != null) {
+      return instance;
+    }
+
+    // Racing threads may both build an engine, but only the first one is ever used
+    graphql.compareAndSet(null, buildGraphql());
+
+    return graphql.get();
+  }
+
+  private GraphQL buildGraphql() {
+    var builder = GraphQL.newGraphQL(schema);
+
+    if (preparsedDocumentProvider != null) {
+      builder.preparsedDocumentProvider(preparsedDocumentProvider);
+    }
+
+    if (executionStrategy != null) {
+      builder.queryExecutionStrategy(executionStrategy);
+    }
+
+    return builder.build();
+  }
 }
@@ -0,0 +1,25 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+@Getter
+@Builder(builderMethodName = "newTypeMergeConfig")
+public class TypeMergeConfig {
+
+  // Name of the merged type, as exposed by the wrapped subschema
+  @NonNull
+  private final String typeName;
+
+  // Field identifying objects of the merged type across subschemas
+  @NonNull
+  private final String keyFieldName;
+
+  // Root field returning the objects for a list of keys (e.g. buildingsByIds)
+  @NonNull
+  private final String fieldName;
+
+  @NonNull
+  private final String argumentName;
+}
@@ -0,0 +1,407 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import static graphql.execution.instrumentation.dataloader.EmptyDataLoaderRegistryInstance.EMPTY_DATALOADER_REGISTRY;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.language.Argument;
+import graphql.language.AstPrinter;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.ListType;
+import graphql.language.Node;
+import graphql.language.NonNullType;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dotwebstack.graphql.orchestrate.delegate.DelegateException;
+import org.dotwebstack.graphql.orchestrate.schema.TypeMergeConfig;
+import org.dotwebstack.graphql.orchestrate.transform.TransformUtils;
+
+final class EntityLoader {
+
+  private static final String KEYS_VARIABLE = "keys";
+
+  private final TypeMergeConfig config;
+
+  private final GraphQLObjectType objectType;
+
+  private final SelectionPruner selectionPruner;
+
+  private final Type<?> keysType;
+
+  // Lookups are executed against the wrapped schema, so the subschema transform is applied by its own delegator
+  private final GraphQL graphql;
+
+  private final String dataLoaderKey;
+
+  EntityLoader(GraphQLSchema wrappedSchema, TypeMergeConfig config, SelectionPruner selectionPruner) {
+    var lookupField = wrappedSchema.getQueryType()
+        .getFieldDefinition(config.getFieldName());
+
+    if (lookupField == null || lookupField.getArgument(config.getArgumentName()) == null) {
+      throw new StitchException(String.format("Lookup field '%s(%s:)' for type '%s' not found.",
+          config.getFieldName(), config.getArgumentName(), config.getTypeName()));
+    }
+
+    if (wrappedSchema.getObjectType(config.getTypeName()) == null) {
+      throw new StitchException(String.format("Object type '%s' not found.", config.getTypeName()));
+    }
+
+    var keysInputType = lookupField.getArgument(config.getArgumentName())
+        .getType();
+
+    if (!(GraphQLTypeUtil.unwrapNonNull(keysInputType) instanceof GraphQLList)
+        || !(GraphQLTypeUtil.unwrapNonNull(lookupField.getType()) instanceof GraphQLList)) {
+      throw new StitchException(String.format("Lookup field '%s' must accept and return a list.",
+          config.getFieldName()));
+    }
+
+    this.config = config;
+    this.objectType = wrappedSchema.getObjectType(config.getTypeName());
+    this.selectionPruner = selectionPruner;
+    this.keysType = createTypeAst(keysInputType);
+    this.graphql = GraphQL.newGraphQL(wrappedSchema)
+        .build();
+    this.dataLoaderKey = EntityLoader.class.getName() + ":" + UUID.randomUUID();
+  }
+
+  boolean providesField(String fieldName) {
+    return objectType.getFieldDefinition(fieldName) != null;
+  }
+
+  CompletableFuture<LoadedEntity> load(DataFetchingEnvironment environment) {
+    Map<String, Object> source = environment.getSource();
+    var key = source.get(config.getKeyFieldName());
+
+    if (key == null) {
+      return CompletableFuture.completedFuture(LoadedEntity.ABSENT);
+    }
+
+    var fields = collectFields(environment, source);
+    var variableDefinitions = collectVariableDefinitions(fields, environment);
+
+    // Variables without a value are left out, so the lookup falls back on their default values as well
+    var variables = new HashMap<String, Object>();
+    variableDefinitions.stream()
+        .map(VariableDefinition::getName)
+        .filter(environment.getVariables()::containsKey)
+        .forEach(variableName -> variables.put(variableName, environment.getVariables()
+            .get(variableName)));
+
+    var lookup = new Lookup(key, fields, variableDefinitions, variables);
+    var dataLoaderRegistry = environment.getDataLoaderRegistry();
+
+    // Batching requires a data loader registry, which is only available when provided with the execution input
+    if (dataLoaderRegistry == null || dataLoaderRegistry == EMPTY_DATALOADER_REGISTRY) {
+      return loadBatch(List.of(lookup)).thenApply(entities -> entities.get(0));
+    }
+
+    DataLoader<Lookup, LoadedEntity> dataLoader =
+        dataLoaderRegistry.computeIfAbsent(dataLoaderKey, dataLoaderKey -> createDataLoader());
+
+    return dataLoader.load(lookup);
+  }
+
+  private DataLoader<Lookup, LoadedEntity> createDataLoader() {
+    var options = DataLoaderOptions.newOptions()
+        .setCachingEnabled(false);
+
+    return DataLoaderFactory.newDataLoader(this::loadBatch, options);
+  }
+
+  // Selects the sibling fields provided by this loader, which are missing from the current object
+  private List<Field> collectFields(DataFetchingEnvironment environment, Map<String, Object> source) {
+    var fields = new ArrayList<Field>();
+
+    environment.getExecutionStepInfo()
+        .getParent()
+        .getField()
+        .getFields()
+        .forEach(parentField -> collectFields(parentField.getSelectionSet(), environment.getFragmentsByName(),
+            source, fields));
+
+    return fields;
+  }
+
+  private void collectFields(SelectionSet selectionSet, Map<String, FragmentDefinition> fragmentDefinitions,
+      Map<String, Object> source, List<Field> fields) {
+    if (selectionSet == null) {
+      return;
+    }
+
+    for (Selection<?> selection : selectionSet.getSelections()) {
+      if (selection instanceof Field) {
+        var field = (Field) selection;
+
+        if (providesField(field.getName()) && !source.containsKey(field.getResultKey())) {
+          fields.add(field.transform(builder -> builder.selectionSet(TransformUtils
+              .inlineFragments(field.getSelectionSet(), fragmentDefinitions))));
+        }
+      } else if (selection instanceof InlineFragment) {
+        var inlineFragment = (InlineFragment) selection;
+        var typeCondition = inlineFragment.getTypeCondition();
+
+        if (typeCondition == null || objectType.getName()
+            .equals(typeCondition.getName())) {
+          collectFields(inlineFragment.getSelectionSet(), fragmentDefinitions, source, fields);
+        }
+      } else if (selection instanceof FragmentSpread) {
+        var fragmentDefinition = fragmentDefinitions.get(((FragmentSpread) selection).getName());
+
+        if (fragmentDefinition != null && objectType.getName()
+            .equals(fragmentDefinition.getTypeCondition()
+                .getName())) {
+          collectFields(fragmentDefinition.getSelectionSet(), fragmentDefinitions, source, fields);
+        }
+      }
+    }
+  }
+
+  // Merged fields may reference variables, so only objects whose fields use the same variable values share a lookup
+  private List<VariableDefinition> collectVariableDefinitions(List<Field> fields,
+      DataFetchingEnvironment environment) {
+    var variableNames = new HashSet<String>();
+    fields.forEach(field -> collectVariableNames(field, variableNames));
+
+    if (variableNames.isEmpty()) {
+      return List.of();
+    }
+
+    return environment.getOperationDefinition()
+        .getVariableDefinitions()
+        .stream()
+        .filter(variableDefinition -> variableNames.contains(variableDefinition.getName()))
+        .collect(Collectors.toList());
+  }
+
+  private static void collectVariableNames(Node<?> node, Set<String> variableNames) {
+    if (node instanceof VariableReference) {
+      variableNames.add(((VariableReference) node).getName());
+      return;
+    }
+
+    node.getChildren()
+        .forEach(child -> collectVariableNames(child, variableNames));
+  }
+
+  // Performs a single lookup for all objects of the current execution level, per set of variable values
+  private CompletableFuture<List<LoadedEntity>> loadBatch(List<Lookup> lookups) {
+    var lookupGroups = new ArrayList<>(lookups.stream()
+        .collect(Collectors.groupingBy(Lookup::getVariables, LinkedHashMap::new, Collectors.toList()))
+        .values());
+
+    if (lookupGroups.size() == 1) {
+      return loadGroup(lookups);
+    }
+
+    var groupLoads = lookupGroups.stream()
+        .map(this::loadGroup)
+        .collect(Collectors.toList());
+
+    return CompletableFuture.allOf(groupLoads.toArray(CompletableFuture[]::new))
+        .thenApply(nothing -> {
+          var entitiesByLookup = new IdentityHashMap<Lookup, LoadedEntity>();
+
+          for (var index = 0; index < lookupGroups.size(); index++) {
+            var lookupGroup = lookupGroups.get(index);
+            var entities = groupLoads.get(index)
+                .join();
+
+            for (var lookupIndex = 0; lookupIndex < lookupGroup.size(); lookupIndex++) {
+              entitiesByLookup.put(lookupGroup.get(lookupIndex), entities.get(lookupIndex));
+            }
+          }
+
+          return lookups.stream()
+              .map(entitiesByLookup::get)
+              .collect(Collectors.toList());
+        });
+  }
+
+  private CompletableFuture<List<LoadedEntity>> loadGroup(List<Lookup> lookups) {
+    var variableDefinitions = new LinkedHashMap<String, VariableDefinition>();
+    lookups.forEach(lookup -> lookup.getVariableDefinitions()
+        .forEach(variableDefinition -> variableDefinitions.putIfAbsent(variableDefinition.getName(),
+            variableDefinition)));
+
+    // The keys variable must not shadow a variable of the client operation
+    var keysVariable = KEYS_VARIABLE;
+
+    for (var suffix = 1; variableDefinitions.containsKey(keysVariable); suffix++) {
+      keysVariable = KEYS_VARIABLE + suffix;
+    }
+
+    variableDefinitions.put(keysVariable, new VariableDefinition(keysVariable, keysType));
+
+    var keys = new ArrayList<>(lookups.stream()
+        .map(Lookup::getKey)
+        .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+    var variables = new HashMap<>(lookups.get(0)
+        .getVariables());
+    variables.put(keysVariable, keys);
+
+    var selections = new LinkedHashMap<String, Selection<?>>();
+    lookups.forEach(lookup -> lookup.getFields()
+        .forEach(field -> selections.putIfAbsent(field.getResultKey(), field)));
+
+    var lookupField = Field.newField(config.getFieldName())
+        .arguments(List.of(new Argument(config.getArgumentName(), new VariableReference(keysVariable))))
+        .selectionSet(selectionPruner.prune(new SelectionSet(new ArrayList<>(selections.values())),
+            config.getTypeName()))
+        .build();
+
+    var operationDefinition = OperationDefinition.newOperationDefinition()
+        .operation(OperationDefinition.Operation.QUERY)
+        .variableDefinitions(new ArrayList<>(variableDefinitions.values()))
+        .selectionSet(new SelectionSet(List.of(lookupField)))
+        .build();
+
+    var executionInput = ExecutionInput.newExecutionInput()
+        .query(AstPrinter.printAst(operationDefinition))
+        .variables(variables)
+        .build();
+
+    return graphql.executeAsync(executionInput)
+        .thenApply(executionResult -> mapEntities(executionResult, keys, lookups));
+  }
+
+  // Only a lookup without any data fails as a whole, other errors are assigned to the entity at their lookup index
+  @SuppressWarnings("unchecked")
+  private List<LoadedEntity> mapEntities(ExecutionResult executionResult, List<Object> keys, List<Lookup> lookups) {
+    Map<String, Object> data = executionResult.getData();
+    var entities = data != null ? (List<Map<String, Object>>) data.get(config.getFieldName()) : null;
+
+    if (entities == null && !executionResult.getErrors()
+        .isEmpty()) {
+      throw new DelegateException(executionResult.getErrors());
+    }
+
+    var entitiesByKey = new HashMap<Object, Map<String, Object>>();
+
+    if (entities != null) {
+      entities.stream()
+          .filter(Objects::nonNull)
+          .forEach(entity -> entitiesByKey.put(entity.get(config.getKeyFieldName()), entity));
+    }
+
+    var fieldErrorsByKey = new HashMap<Object, List<GraphQLError>>();
+    var entityErrorsByKey = new HashMap<Object, List<GraphQLError>>();
+    var batchErrors = new ArrayList<GraphQLError>();
+
+    for (var error : executionResult.getErrors()) {
+      var path = error.getPath();
+
+      if (path != null && path.size() > 1 && path.get(1) instanceof Integer && (Integer) path.get(1) < keys.size()) {
+        var errorsByKey = path.size() > 2 ? fieldErrorsByKey : entityErrorsByKey;
+        errorsByKey.computeIfAbsent(keys.get((Integer) path.get(1)), key -> new ArrayList<>())
+            .add(TransformUtils.relocateError(error, path.subList(2, path.size()), error.getLocations()));
+      } else {
+        batchErrors.add(TransformUtils.relocateError(error, List.of(), error.getLocations()));
+      }
+    }
+
+    // Every merged field of an object has its own lookup, so errors concerning the entity as a whole are only assigned
+    // to the first lookup of the entity, and errors concerning the whole batch only to the first lookup of the batch
+    var loadedKeys = new HashSet<>();
+    var loadedEntities = new ArrayList<LoadedEntity>(lookups.size());
+
+    for (var lookup : lookups) {
+      var errors = new ArrayList<>(fieldErrorsByKey.getOrDefault(lookup.getKey(), List.of()));
+
+      if (loadedKeys.add(lookup.getKey())) {
+        errors.addAll(entityErrorsByKey.getOrDefault(lookup.getKey(), List.of()));
+      }
+
+      if (loadedEntities.isEmpty()) {
+        errors.addAll(batchErrors);
+      }
+
+      loadedEntities.add(new LoadedEntity(entitiesByKey.get(lookup.getKey()), errors));
+    }
+
+    return loadedEntities;
+  }
+
+  private static Type<?> createTypeAst(GraphQLType type) {
+    if (type instanceof GraphQLNonNull) {
+      return new NonNullType(createTypeAst(((GraphQLNonNull) type).getWrappedType()));
+    }
+
+    if (type instanceof GraphQLList) {
+      return new ListType(createTypeAst(((GraphQLList) type).getWrappedType()));
+    }
+
+    return new TypeName(((GraphQLNamedType) type).getName());
+  }
+
+  @Getter
+  static final class LoadedEntity {
+
+    static final LoadedEntity ABSENT = new LoadedEntity(null, List.of());
+
+    private final Map<String, Object> data;
+
+    // Errors with a path relative to the entity, or an empty path if these concern the entity as a whole
+    private final List<GraphQLError> errors;
+
+    private LoadedEntity(Map<String, Object> data, List<GraphQLError> errors) {
+      this.data = data;
+      this.errors = errors;
+    }
+  }
+
+  @Getter
+  private static final class Lookup {
+
+    private final Object key;
+
+    private final List<Field> fields;
+
+    private final List<VariableDefinition> variableDefinitions;
+
+    private final Map<String, Object> variables;
+
+    private Lookup(Object key, List<Field> fields, List<VariableDefinition> variableDefinitions,
+        Map<String, Object> variables) {
+      this.key = key;
+      this.fields = fields;
+      this.variableDefinitions = variableDefinitions;
+      this.variables = variables;
+    }
+  }
+}
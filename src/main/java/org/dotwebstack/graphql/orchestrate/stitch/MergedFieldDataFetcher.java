@@ -0,0 +1,85 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.relocateError;
+
+import graphql.execution.DataFetcherResult;
+import graphql.language.Field;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.dotwebstack.graphql.orchestrate.stitch.EntityLoader.LoadedEntity;
+
+final class MergedFieldDataFetcher implements DataFetcher<Object> {
+
+  // Loader of the subschema providing the field, or null if the field can only be resolved from its source
+  private final EntityLoader entityLoader;
+
+  MergedFieldDataFetcher(EntityLoader entityLoader) {
+    this.entityLoader = entityLoader;
+  }
+
+  @Override
+  public Object get(DataFetchingEnvironment environment) {
+    Map<String, Object> source = environment.getSource();
+    var field = environment.getField();
+
+    if (source == null) {
+      return null;
+    }
+
+    // Objects returned by the providing subschema itself already contain the field
+    if (source.containsKey(field.getResultKey())) {
+      return source.get(field.getResultKey());
+    }
+
+    if (source.containsKey(field.getName()) || entityLoader == null) {
+      return source.get(field.getName());
+    }
+
+    return entityLoader.load(environment)
+        .thenApply(entity -> getFieldValue(entity, field, environment));
+  }
+
+  // Errors of the entity are moved to the merged field, if these concern the field or the entity as a whole
+  private static Object getFieldValue(LoadedEntity entity, Field field, DataFetchingEnvironment environment) {
+    var data = entity.getData();
+    var value = data != null ? data.get(field.getResultKey()) : null;
+
+    var fieldPath = environment.getExecutionStepInfo()
+        .getPath()
+        .toList();
+    var locations = field.getSourceLocation() != null ? List.of(field.getSourceLocation()) : null;
+
+    var errors = entity.getErrors()
+        .stream()
+        .filter(error -> error.getPath()
+            .isEmpty()
+            || field.getResultKey()
+                .equals(error.getPath()
+                    .get(0)))
+        .map(error -> relocateError(error, relocatePath(error.getPath(), fieldPath), locations))
+        .collect(Collectors.toList());
+
+    if (errors.isEmpty()) {
+      return value;
+    }
+
+    return DataFetcherResult.newResult()
+        .data(value)
+        .errors(errors)
+        .build();
+  }
+
+  private static List<Object> relocatePath(List<Object> path, List<Object> fieldPath) {
+    var relocatedPath = new ArrayList<>(fieldPath);
+
+    if (!path.isEmpty()) {
+      relocatedPath.addAll(path.subList(1, path.size()));
+    }
+
+    return relocatedPath;
+  }
+}
@@ -0,0 +1,374 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import static java.util.stream.Collectors.toList;
+
+import graphql.execution.MergedField;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DelegatingDataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.GraphQLUnionType;
+import graphql.schema.idl.DirectiveInfo;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaPrinter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.schema.TypeMergeConfig;
+import org.dotwebstack.graphql.orchestrate.transform.TransformUtils;
+import org.dotwebstack.graphql.orchestrate.wrap.SchemaWrapper;
+
+public class SchemaMerger {
+
+  private static final Map<OperationDefinition.Operation, String> ROOT_TYPE_NAMES =
+      Map.of(OperationDefinition.Operation.QUERY, "Query", OperationDefinition.Operation.MUTATION, "Mutation",
+          OperationDefinition.Operation.SUBSCRIPTION, "Subscription");
+
+  private static final SchemaPrinter TYPE_PRINTER =
+      new SchemaPrinter(SchemaPrinter.Options.defaultOptions()
+          .includeDirectives(false));
+
+  private SchemaMerger() {}
+
+  // Merges wrapped schemas, routing every root field (query, mutation or subscription) to the delegating data
+  // fetcher of the schema it originates from
+  public static GraphQLSchema merge(@NonNull List<GraphQLSchema> schemas) {
+    return merge(schemas, Collections.nCopies(schemas.size(), List.of()));
+  }
+
+  static GraphQLSchema merge(List<GraphQLSchema> schemas, List<List<TypeMergeConfig>> typeMergeConfigs) {
+    if (schemas.isEmpty()) {
+      throw new StitchException("Merger must contain at least 1 schema.");
+    }
+
+    var keyFieldNames = getKeyFieldNames(typeMergeConfigs);
+    var selectionPruners = schemas.stream()
+        .map(schema -> new SelectionPruner(schema, keyFieldNames))
+        .collect(toList());
+    var entityLoaders = new HashMap<String, List<EntityLoader>>();
+
+    for (var index = 0; index < schemas.size(); index++) {
+      for (var typeMergeConfig : typeMergeConfigs.get(index)) {
+        entityLoaders.computeIfAbsent(typeMergeConfig.getTypeName(), typeName -> new ArrayList<>())
+            .add(new EntityLoader(schemas.get(index), typeMergeConfig, selectionPruners.get(index)));
+      }
+    }
+
+    var rootTypeBuilders = new EnumMap<OperationDefinition.Operation, GraphQLObjectType.Builder>(
+        OperationDefinition.Operation.class);
+    var codeRegistryBuilder = GraphQLCodeRegistry.newCodeRegistry();
+    var rootFieldOwners = new HashMap<String, Integer>();
+    var additionalTypes = new LinkedHashMap<String, GraphQLNamedType>();
+    var typeOwners = new HashMap<String, Integer>();
+    var typeDefinitions = new HashMap<String, String>();
+    var mergedTypes = new LinkedHashMap<String, List<GraphQLNamedType>>();
+    var additionalDirectives = new LinkedHashMap<String, GraphQLDirective>();
+
+    for (var index = 0; index < schemas.size(); index++) {
+      var schema = schemas.get(index);
+      var rootTypes = new HashSet<GraphQLNamedType>();
+
+      for (var operation : OperationDefinition.Operation.values()) {
+        var rootType = TransformUtils.getRootType(schema, operation);
+
+        if (rootType == null) {
+          continue;
+        }
+
+        rootTypes.add(rootType);
+
+        var rootTypeName = ROOT_TYPE_NAMES.get(operation);
+        var rootTypeBuilder = rootTypeBuilders.computeIfAbsent(operation, key -> GraphQLObjectType.newObject()
+            .name(rootTypeName));
+
+        for (var fieldDefinition : rootType.getFieldDefinitions()) {
+          var owner = rootFieldOwners.putIfAbsent(rootTypeName + "." + fieldDefinition.getName(), index);
+
+          if (owner != null) {
+            throw new StitchException(String.format("Root field '%s' is provided by both schema %d and schema %d.",
+                fieldDefinition.getName(), owner, index));
+          }
+
+          var dataFetcher = schema.getCodeRegistry()
+              .getDataFetcher(rootType, fieldDefinition);
+
+          rootTypeBuilder.field(detachField(fieldDefinition));
+          codeRegistryBuilder.dataFetcher(FieldCoordinates.coordinates(rootTypeName, fieldDefinition.getName()),
+              keyFieldNames.isEmpty() ? dataFetcher
+                  : pruneSelection(dataFetcher, selectionPruners.get(index), GraphQLTypeUtil
+                      .unwrapAll(fieldDefinition.getType())
+                      .getName()));
+        }
+      }
+
+      for (var type : schema.getAllTypesAsList()) {
+        if (rootTypes.contains(type) || isBuiltInType(type)) {
+          continue;
+        }
+
+        if (keyFieldNames.containsKey(type.getName())) {
+          mergedTypes.computeIfAbsent(type.getName(), typeName -> new ArrayList<>())
+              .add(type);
+          continue;
+        }
+
+        // Types with identical definitions are shared, others need to be renamed (e.g. using RenameTypes)
+        var typeDefinition = TYPE_PRINTER.print(type);
+        var owner = typeOwners.putIfAbsent(type.getName(), index);
+
+        if (owner == null) {
+          typeDefinitions.put(type.getName(), typeDefinition);
+          additionalTypes.put(type.getName(), detachType(type));
+        } else if (!typeDefinitions.get(type.getName())
+            .equals(typeDefinition)) {
+          throw new StitchException(String.format("Type '%s' is defined differently by schema %d and schema %d, "
+              + "rename one of them to resolve the conflict.", type.getName(), owner, index));
+        }
+      }
+
+      schema.getDirectives()
+          .stream()
+          .filter(directive -> !DirectiveInfo.isGraphqlSpecifiedDirective(directive))
+          .forEach(directive -> additionalDirectives.putIfAbsent(directive.getName(), directive));
+
+      codeRegistryBuilder.typeResolvers(schema.getCodeRegistry());
+    }
+
+    mergedTypes.forEach((typeName, types) -> additionalTypes.put(typeName, mergeObjectTypes(typeName, types,
+        entityLoaders.getOrDefault(typeName, List.of()), codeRegistryBuilder)));
+
+    return GraphQLSchema.newSchema()
+        .query(rootTypeBuilders.get(OperationDefinition.Operation.QUERY)
+            .build())
+        .mutation(buildRootType(rootTypeBuilders.get(OperationDefinition.Operation.MUTATION)))
+        .subscription(buildRootType(rootTypeBuilders.get(OperationDefinition.Operation.SUBSCRIPTION)))
+        .additionalTypes(new HashSet<>(additionalTypes.values()))
+        .additionalDirectives(new HashSet<>(additionalDirectives.values()))
+        .codeRegistry(codeRegistryBuilder.build())
+        .build();
+  }
+
+  // Wraps and merges subschemas, merging the types configured for type merging across subschemas
+  public static GraphQLSchema mergeSubschemas(@NonNull List<Subschema> subschemas) {
+    var schemas = subschemas.stream()
+        .map(SchemaWrapper::wrap)
+        .collect(toList());
+
+    return merge(schemas, subschemas.stream()
+        .map(Subschema::getTypeMergeConfigs)
+        .collect(toList()));
+  }
+
+  private static GraphQLObjectType buildRootType(GraphQLObjectType.Builder rootTypeBuilder) {
+    return rootTypeBuilder != null ? rootTypeBuilder.build() : null;
+  }
+
+  private static Map<String, String> getKeyFieldNames(List<List<TypeMergeConfig>> typeMergeConfigs) {
+    var keyFieldNames = new HashMap<String, String>();
+
+    typeMergeConfigs.stream()
+        .flatMap(List::stream)
+        .forEach(typeMergeConfig -> {
+          var keyFieldName = keyFieldNames.putIfAbsent(typeMergeConfig.getTypeName(),
+              typeMergeConfig.getKeyFieldName());
+
+          if (keyFieldName != null && !keyFieldName.equals(typeMergeConfig.getKeyFieldName())) {
+            throw new StitchException(
+                String.format("Merged type '%s' has conflicting key fields.", typeMergeConfig.getTypeName()));
+          }
+        });
+
+    return keyFieldNames;
+  }
+
+  private static GraphQLObjectType mergeObjectTypes(String typeName, List<GraphQLNamedType> types,
+      List<EntityLoader> entityLoaders, GraphQLCodeRegistry.Builder codeRegistryBuilder) {
+    var fieldDefinitions = new LinkedHashMap<String, GraphQLFieldDefinition>();
+    var fieldOccurrences = new HashMap<String, Integer>();
+    var interfaces = new LinkedHashMap<String, GraphQLTypeReference>();
+
+    for (var type : types) {
+      if (!(type instanceof GraphQLObjectType)) {
+        throw new StitchException(String.format("Merged type '%s' must be an object type.", typeName));
+      }
+
+      var objectType = (GraphQLObjectType) type;
+
+      for (var fieldDefinition : objectType.getFieldDefinitions()) {
+        var existingFieldDefinition = fieldDefinitions.putIfAbsent(fieldDefinition.getName(), fieldDefinition);
+
+        if (existingFieldDefinition != null && !GraphQLTypeUtil.simplePrint(existingFieldDefinition.getType())
+            .equals(GraphQLTypeUtil.simplePrint(fieldDefinition.getType()))) {
+          throw new StitchException(String.format("Field '%s.%s' has conflicting types in merged schemas.", typeName,
+              fieldDefinition.getName()));
+        }
+
+        fieldOccurrences.merge(fieldDefinition.getName(), 1, Integer::sum);
+      }
+
+      objectType.getInterfaces()
+          .forEach(interfaceType -> interfaces.putIfAbsent(interfaceType.getName(),
+              GraphQLTypeReference.typeRef(interfaceType.getName())));
+    }
+
+    // Fields missing from some schemas are looked up by key, using a schema which provides them
+    fieldOccurrences.forEach((fieldName, occurrences) -> {
+      if (occurrences < types.size()) {
+        var entityLoader = entityLoaders.stream()
+            .filter(candidate -> candidate.providesField(fieldName))
+            .findFirst()
+            .orElse(null);
+
+        codeRegistryBuilder.dataFetcher(FieldCoordinates.coordinates(typeName, fieldName),
+            new MergedFieldDataFetcher(entityLoader));
+      }
+    });
+
+    return ((GraphQLObjectType) types.get(0)).transform(builder -> builder
+        .replaceFields(detachFields(new ArrayList<>(fieldDefinitions.values())))
+        .replaceInterfaces(new ArrayList<>(interfaces.values())));
+  }
+
+  // Delegates a root field without the selections its schema does not know, which are resolved by type merging
+  private static DataFetcher<?> pruneSelection(DataFetcher<?> dataFetcher, SelectionPruner selectionPruner,
+      String typeName) {
+    return environment -> {
+      var field = environment.getField();
+
+      if (field.getSelectionSet() == null) {
+        return dataFetcher.get(environment);
+      }
+
+      // Named fragments may select fields of other subschemas, so these are inlined before pruning
+      var selectionSet = TransformUtils.inlineFragments(field.getSelectionSet(), environment.getFragmentsByName());
+      var prunedField = field.transform(builder -> builder.selectionSet(selectionPruner.prune(selectionSet, typeName)));
+
+      return dataFetcher.get(new DelegatingDataFetchingEnvironment(environment) {
+        @Override
+        public Field getField() {
+          return prunedField;
+        }
+
+        @Override
+        public MergedField getMergedField() {
+          return MergedField.newMergedField(prunedField)
+              .build();
+        }
+      });
+    };
+  }
+
+  private static boolean isBuiltInType(GraphQLNamedType type) {
+    return type.getName()
+        .startsWith("__") || (type instanceof GraphQLScalarType
+            && ScalarInfo.isGraphqlSpecifiedScalar((GraphQLScalarType) type));
+  }
+
+  // Types of different schemas refer to each other by name, so shared types are resolved to a single instance
+  private static GraphQLNamedType detachType(GraphQLNamedType type) {
+    if (type instanceof GraphQLObjectType) {
+      var objectType = (GraphQLObjectType) type;
+
+      return objectType.transform(builder -> builder.replaceFields(detachFields(objectType.getFieldDefinitions()))
+          .replaceInterfaces(detachTypes(objectType.getInterfaces())));
+    }
+
+    if (type instanceof GraphQLInterfaceType) {
+      var interfaceType = (GraphQLInterfaceType) type;
+
+      return interfaceType.transform(builder -> builder.replaceFields(detachFields(interfaceType.getFieldDefinitions()))
+          .replaceInterfacesOrReferences(detachTypes(interfaceType.getInterfaces())));
+    }
+
+    if (type instanceof GraphQLUnionType) {
+      var unionType = (GraphQLUnionType) type;
+
+      return unionType.transform(builder -> builder.replacePossibleTypes(detachTypes(unionType.getTypes())));
+    }
+
+    if (type instanceof GraphQLInputObjectType) {
+      var inputObjectType = (GraphQLInputObjectType) type;
+
+      return inputObjectType.transform(builder -> builder.replaceFields(inputObjectType.getFieldDefinitions()
+          .stream()
+          .map(SchemaMerger::detachInputField)
+          .collect(toList())));
+    }
+
+    return type;
+  }
+
+  private static List<GraphQLFieldDefinition> detachFields(List<GraphQLFieldDefinition> fieldDefinitions) {
+    return fieldDefinitions.stream()
+        .map(SchemaMerger::detachField)
+        .collect(toList());
+  }
+
+  private static GraphQLFieldDefinition detachField(GraphQLFieldDefinition fieldDefinition) {
+    return fieldDefinition.transform(builder -> builder.type((GraphQLOutputType) detachTypeUsage(fieldDefinition
+        .getType()))
+        .replaceArguments(fieldDefinition.getArguments()
+            .stream()
+            .map(SchemaMerger::detachArgument)
+            .collect(toList())));
+  }
+
+  private static GraphQLArgument detachArgument(GraphQLArgument argument) {
+    return argument.transform(builder -> builder.type((GraphQLInputType) detachTypeUsage(argument.getType())));
+  }
+
+  private static GraphQLInputObjectField detachInputField(GraphQLInputObjectField inputField) {
+    return inputField.transform(builder -> builder.type((GraphQLInputType) detachTypeUsage(inputField.getType())));
+  }
+
+  private static List<GraphQLTypeReference> detachTypes(List<? extends GraphQLNamedType> types) {
+    return types.stream()
+        .map(type -> GraphQLTypeReference.typeRef(type.getName()))
+        .collect(toList());
+  }
+
+  private static GraphQLType detachTypeUsage(GraphQLType type) {
+    if (type instanceof GraphQLNonNull) {
+      return GraphQLNonNull.nonNull(detachTypeUsage(((GraphQLNonNull) type).getWrappedType()));
+    }
+
+    if (type instanceof GraphQLList) {
+      return GraphQLList.list(detachTypeUsage(((GraphQLList) type).getWrappedType()));
+    }
+
+    var namedType = (GraphQLNamedType) type;
+
+    if (namedType instanceof GraphQLTypeReference || isBuiltInType(namedType)) {
+      return namedType;
+    }
+
+    return GraphQLTypeReference.typeRef(namedType.getName());
+  }
+
+}
@@ -0,0 +1,119 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import graphql.schema.GraphQLSchema;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.wrap.SchemaWrapper;
+
+@Builder(builderMethodName = "newStitcher")
+public class SchemaStitcher {
+
+  @NonNull
+  @Singular
+  private final List<SubschemaSource> sources;
+
+  // Maximum number of subschemas being loaded (e.g. introspected) at the same time
+  @Builder.Default
+  private final int maxConcurrentLoads = 8;
+
+  @NonNull
+  @Builder.Default
+  private final Duration loadTimeout = Duration.ofSeconds(30);
+
+  // Pool for wrapping loaded subschemas, which compiles their (CPU-bound) transforms
+  @NonNull
+  @Builder.Default
+  private final ForkJoinPool wrapPool = ForkJoinPool.commonPool();
+
+  public CompletableFuture<GraphQLSchema> stitch() {
+    if (sources.isEmpty()) {
+      return CompletableFuture.failedFuture(new StitchException("Stitcher must contain at least 1 subschema source."));
+    }
+
+    if (maxConcurrentLoads < 1) {
+      return CompletableFuture.failedFuture(new StitchException("Maximum concurrent loads must be at least 1."));
+    }
+
+    var loadedSubschemas = loadSubschemas();
+
+    // Subschemas are wrapped as soon as they are loaded, so startup time is bound by the slowest upstream
+    var wrappedSchemas = loadedSubschemas.stream()
+        .map(loadedSubschema -> loadedSubschema.thenApplyAsync(SchemaWrapper::wrap, wrapPool))
+        .collect(Collectors.toList());
+
+    return CompletableFuture.allOf(wrappedSchemas.toArray(CompletableFuture[]::new))
+        .thenApply(nothing -> SchemaMerger.merge(wrappedSchemas.stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList()), loadedSubschemas.stream()
+                .map(CompletableFuture::join)
+                .map(Subschema::getTypeMergeConfigs)
+                .collect(Collectors.toList())));
+  }
+
+  private List<CompletableFuture<Subschema>> loadSubschemas() {
+    var loadedSubschemas = new ArrayList<CompletableFuture<Subschema>>(sources.size());
+
+    for (var index = 0; index < sources.size(); index++) {
+      loadedSubschemas.add(new CompletableFuture<>());
+    }
+
+    var nextIndex = new AtomicInteger();
+
+    // Every load that completes starts the next pending one, which bounds the number of loads in flight
+    for (var slot = 0; slot < Math.min(maxConcurrentLoads, sources.size()); slot++) {
+      loadNext(nextIndex, loadedSubschemas);
+    }
+
+    return loadedSubschemas;
+  }
+
+  private void loadNext(AtomicInteger nextIndex, List<CompletableFuture<Subschema>> loadedSubschemas) {
+    var index = nextIndex.getAndIncrement();
+
+    if (index >= sources.size()) {
+      return;
+    }
+
+    loadSubschema(sources.get(index)).whenComplete((subschema, throwable) -> {
+      if (throwable != null) {
+        loadedSubschemas.get(index)
+            .completeExceptionally(new StitchException(String.format("Loading subschema source %d failed.", index),
+                unwrap(throwable)));
+      } else {
+        loadedSubschemas.get(index)
+            .complete(subschema);
+      }
+
+      loadNext(nextIndex, loadedSubschemas);
+    });
+  }
+
+  // Loads are not cancelled on timeout, since cancelling a future does not reach the work behind it (e.g. the
+  // introspection request). Timed out loads therefore keep running, but no longer count towards the concurrent loads.
+  private CompletableFuture<Subschema> loadSubschema(SubschemaSource source) {
+    try {
+      // Copy prevents the timeout from completing a future which may be shared by the source
+      return source.load()
+          .copy()
+          .orTimeout(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause()
+        : throwable;
+  }
+}
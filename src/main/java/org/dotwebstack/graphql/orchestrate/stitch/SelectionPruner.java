@@ -0,0 +1,118 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import graphql.introspection.Introspection;
+import graphql.language.Field;
+import graphql.language.InlineFragment;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class SelectionPruner {
+
+  private final GraphQLSchema schema;
+
+  private final Map<String, String> keyFieldNames;
+
+  SelectionPruner(GraphQLSchema schema, Map<String, String> keyFieldNames) {
+    this.schema = schema;
+    this.keyFieldNames = keyFieldNames;
+  }
+
+  // Drops selections unknown to the schema and selects the keys of merged types, so missing fields can be looked up
+  SelectionSet prune(SelectionSet selectionSet, String typeName) {
+    if (selectionSet == null) {
+      return null;
+    }
+
+    var selections = new ArrayList<Selection<?>>(selectionSet.getSelections()
+        .size() + 1);
+
+    for (var selection : selectionSet.getSelections()) {
+      if (selection instanceof Field) {
+        var field = pruneField((Field) selection, typeName);
+
+        if (field != null) {
+          selections.add(field);
+        }
+      } else if (selection instanceof InlineFragment) {
+        var inlineFragment = pruneInlineFragment((InlineFragment) selection, typeName);
+
+        if (inlineFragment != null) {
+          selections.add(inlineFragment);
+        }
+      } else {
+        selections.add(selection);
+      }
+    }
+
+    var keyFieldName = keyFieldNames.get(typeName);
+
+    if (keyFieldName != null && !containsField(selections, keyFieldName)) {
+      selections.add(new Field(keyFieldName));
+    }
+
+    // Selection sets must not be empty, even if none of the selected fields are known
+    if (selections.isEmpty()) {
+      selections.add(new Field(Introspection.TypeNameMetaFieldDef.getName()));
+    }
+
+    return selectionSet.transform(builder -> builder.selections(selections));
+  }
+
+  private Field pruneField(Field field, String typeName) {
+    if (Introspection.TypeNameMetaFieldDef.getName()
+        .equals(field.getName())) {
+      return field;
+    }
+
+    var type = schema.getType(typeName);
+
+    if (!(type instanceof GraphQLFieldsContainer)) {
+      return null;
+    }
+
+    var fieldDefinition = ((GraphQLFieldsContainer) type).getFieldDefinition(field.getName());
+
+    if (fieldDefinition == null) {
+      return null;
+    }
+
+    if (field.getSelectionSet() == null) {
+      return field;
+    }
+
+    var fieldTypeName = GraphQLTypeUtil.unwrapAll(fieldDefinition.getType())
+        .getName();
+
+    return field.transform(builder -> builder.selectionSet(prune(field.getSelectionSet(), fieldTypeName)));
+  }
+
+  private InlineFragment pruneInlineFragment(InlineFragment inlineFragment, String typeName) {
+    if (inlineFragment.getTypeCondition() == null) {
+      return inlineFragment.transform(builder -> builder.selectionSet(prune(inlineFragment.getSelectionSet(),
+          typeName)));
+    }
+
+    var conditionTypeName = inlineFragment.getTypeCondition()
+        .getName();
+
+    if (schema.getType(conditionTypeName) == null) {
+      return null;
+    }
+
+    return inlineFragment.transform(builder -> builder.selectionSet(prune(inlineFragment.getSelectionSet(),
+        conditionTypeName)));
+  }
+
+  private static boolean containsField(List<Selection<?>> selections, String fieldName) {
+    return selections.stream()
+        .filter(Field.class::isInstance)
+        .map(Field.class::cast)
+        .anyMatch(field -> field.getAlias() == null && fieldName.equals(field.getName()));
+  }
+}
@@ -0,0 +1,12 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+public class StitchException extends RuntimeException {
+
+  public StitchException(String message) {
+    super(message);
+  }
+
+  public StitchException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
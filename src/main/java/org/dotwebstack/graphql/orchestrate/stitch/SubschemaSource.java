@@ -0,0 +1,49 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.schema.Executor;
+import org.dotwebstack.graphql.orchestrate.schema.IntrospectionCache;
+import org.dotwebstack.graphql.orchestrate.schema.SchemaIntrospector;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+
+@FunctionalInterface
+public interface SubschemaSource {
+
+  CompletableFuture<Subschema> load();
+
+  static SubschemaSource of(@NonNull Subschema subschema) {
+    return () -> CompletableFuture.completedFuture(subschema);
+  }
+
+  static SubschemaSource introspect(@NonNull Executor executor) {
+    return introspect(executor, builder -> {});
+  }
+
+  static SubschemaSource introspect(@NonNull Executor executor,
+      @NonNull Consumer<Subschema.SubschemaBuilder> builderConsumer) {
+    return () -> SchemaIntrospector.introspectSchema(executor)
+        .thenApply(typeDefinitionRegistry -> createSubschema(typeDefinitionRegistry, executor, builderConsumer));
+  }
+
+  static SubschemaSource introspect(@NonNull IntrospectionCache introspectionCache, @NonNull String key,
+      @NonNull Executor executor, @NonNull Consumer<Subschema.SubschemaBuilder> builderConsumer) {
+    return () -> introspectionCache.introspectSchema(key, executor)
+        .thenApply(typeDefinitionRegistry -> createSubschema(typeDefinitionRegistry, executor, builderConsumer));
+  }
+
+  private static Subschema createSubschema(TypeDefinitionRegistry typeDefinitionRegistry, Executor executor,
+      Consumer<Subschema.SubschemaBuilder> builderConsumer) {
+    // Introspected schemas are only used for wrapping, all fields are resolved by the executor
+    var builder = Subschema.newSubschema()
+        .schema(UnExecutableSchemaGenerator.makeUnExecutableSchema(typeDefinitionRegistry))
+        .executor(executor);
+
+    builderConsumer.accept(builder);
+
+    return builder.build();
+  }
+}
@@ -2,40 +2,95 @@ package org.dotwebstack.graphql.orchestrate.transform;
 
 import graphql.schema.GraphQLSchema;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import lombok.NonNull;
 import org.dotwebstack.graphql.orchestrate.Request;
 import org.dotwebstack.graphql.orchestrate.Result;
 
+// Subclasses either implement compile, or override the single schema methods below (which are adapted when compiled)
 public abstract class AbstractTransform implements Transform {
 
+  private final boolean compilable = isCompilable(getClass());
+
+  // Backs the single schema methods of compilable transforms, the delegators only use compiled transforms
+  private final AtomicReference<SchemaState> schemaState = new AtomicReference<>();
+
   @Override
   public Transform pipe(@NonNull Transform nextTransform) {
-    var outerTransform = this;
-
-    return new AbstractTransform() {
-      @Override
-      public GraphQLSchema transformSchema(GraphQLSchema originalSchema, TransformContext context) {
-        return nextTransform.transformSchema(outerTransform.transformSchema(originalSchema, context), context);
-      }
-
-      @Override
-      public CompletableFuture<Result> transform(Request originalRequest,
-          Function<Request, CompletableFuture<Result>> next) {
-        return nextTransform.transform(originalRequest,
-            transformedRequest -> outerTransform.transform(transformedRequest, next));
-      }
-    };
+    return TransformPipeline.of(this, nextTransform);
   }
 
   @Override
   public GraphQLSchema transformSchema(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
-    return originalSchema;
+    if (!compilable) {
+      return originalSchema;
+    }
+
+    var compiledTransform = compile(originalSchema, context);
+
+    // Requests carry no schema, so these can no longer be transformed once the transform served different schemas
+    schemaState.accumulateAndGet(new SchemaState(originalSchema, compiledTransform),
+        (previousState, nextState) -> previousState == null || previousState.originalSchema == originalSchema
+            ? nextState
+            : SchemaState.AMBIGUOUS);
+
+    return compiledTransform.getTransformedSchema();
+  }
+
+  @Override
+  public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+    if (!compilable) {
+      return Transform.super.transformRequest(originalRequest);
+    }
+
+    var state = schemaState.get();
+
+    if (state == null) {
+      throw new TransformException("Schema must be transformed before transforming requests.");
+    }
+
+    if (state == SchemaState.AMBIGUOUS) {
+      throw new TransformException("Transform was applied to multiple schemas, requests must be transformed by the "
+          + "compiled transform of their schema.");
+    }
+
+    return state.compiledTransform.transformRequest(originalRequest);
   }
 
   @Override
   public CompletableFuture<Result> transform(@NonNull Request originalRequest,
       @NonNull Function<Request, CompletableFuture<Result>> next) {
-    return next.apply(originalRequest);
+    if (!compilable) {
+      return next.apply(originalRequest);
+    }
+
+    var transformedRequest = transformRequest(originalRequest);
+
+    return next.apply(transformedRequest.getRequest())
+        .thenCompose(transformedRequest::mapResult);
+  }
+
+  private static boolean isCompilable(Class<?> transformClass) {
+    try {
+      return transformClass.getMethod("compile", GraphQLSchema.class, TransformContext.class)
+          .getDeclaringClass() != Transform.class;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class SchemaState {
+
+    private static final SchemaState AMBIGUOUS = new SchemaState(null, null);
+
+    private final GraphQLSchema originalSchema;
+
+    private final CompiledTransform compiledTransform;
+
+    private SchemaState(GraphQLSchema originalSchema, CompiledTransform compiledTransform) {
+      this.originalSchema = originalSchema;
+      this.compiledTransform = compiledTransform;
+    }
   }
 }
@@ -0,0 +1,71 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import graphql.schema.GraphQLSchema;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+
+// Compiled form of a transform which only implements the continuation style transform method. The transform is run
+// once per request: the rewritten request is captured from the continuation, which is completed with the result later
+// on. Transformed requests which map results are therefore bound to their request and never shared by plans.
+final class AdaptedTransform implements CompiledTransform {
+
+  private final Transform transform;
+
+  private final GraphQLSchema transformedSchema;
+
+  AdaptedTransform(Transform transform, GraphQLSchema transformedSchema) {
+    this.transform = transform;
+    this.transformedSchema = transformedSchema;
+  }
+
+  @Override
+  public GraphQLSchema getTransformedSchema() {
+    return transformedSchema;
+  }
+
+  @Override
+  public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+    return adaptRequest(transform, originalRequest);
+  }
+
+  static TransformedRequest adaptRequest(Transform transform, Request originalRequest) {
+    var capturedRequest = new AtomicReference<Request>();
+    var pendingResult = new CompletableFuture<Result>();
+
+    var transformedResult = transform.transform(originalRequest, request -> {
+      capturedRequest.set(request);
+      return pendingResult;
+    });
+
+    if (capturedRequest.get() == null) {
+      throw new TransformException(String.format("Transform %s must pass the request on before returning.",
+          transform.getClass()
+              .getName()));
+    }
+
+    // Transforms returning the result of the continuation as is leave results untouched
+    if (transformedResult == pendingResult) {
+      return TransformedRequest.of(capturedRequest.get());
+    }
+
+    // Only the first result completes the continuation, further results (e.g. subscription events) of the same
+    // request run the transform again
+    var continued = new AtomicBoolean();
+
+    return TransformedRequest.newTransformedRequest()
+        .request(capturedRequest.get())
+        .asyncResultMapper(result -> {
+          if (continued.compareAndSet(false, true)) {
+            pendingResult.complete(result);
+            return transformedResult;
+          }
+
+          return transform.transform(originalRequest, request -> CompletableFuture.completedFuture(result));
+        })
+        .build();
+  }
+}
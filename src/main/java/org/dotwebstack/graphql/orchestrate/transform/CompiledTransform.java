@@ -0,0 +1,27 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import graphql.schema.GraphQLSchema;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
+
+// Immutable outcome of applying a transform to one schema, which is safe to share between concurrent requests
+public interface CompiledTransform {
+
+  GraphQLSchema getTransformedSchema();
+
+  TransformedRequest transformRequest(Request originalRequest);
+
+  static CompiledTransform identity(@NonNull GraphQLSchema schema) {
+    return new CompiledTransform() {
+      @Override
+      public GraphQLSchema getTransformedSchema() {
+        return schema;
+      }
+
+      @Override
+      public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+        return TransformedRequest.of(originalRequest);
+      }
+    };
+  }
+}
@@ -0,0 +1,116 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+
+public final class FieldPath {
+
+  private final List<String> fieldKeys;
+
+  private final String[] keys;
+
+  private FieldPath(List<String> fieldKeys) {
+    this.fieldKeys = unmodifiableList(new ArrayList<>(fieldKeys));
+    this.keys = fieldKeys.toArray(new String[0]);
+  }
+
+  public static FieldPath of(@NonNull List<String> fieldKeys) {
+    if (fieldKeys.isEmpty()) {
+      throw new IllegalArgumentException("Field path must contain at least 1 field.");
+    }
+
+    return new FieldPath(fieldKeys);
+  }
+
+  public List<String> getFieldKeys() {
+    return fieldKeys;
+  }
+
+  public int size() {
+    return keys.length;
+  }
+
+  // Absent values resolve to null, or are left out when the path passes through a list
+  public Object getValue(Object data) {
+    return getValue(data, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object getValue(Object data, int fromIndex) {
+    var value = data;
+
+    for (var index = fromIndex; index < keys.length; index++) {
+      if (value == null) {
+        return null;
+      }
+
+      if (value instanceof Map) {
+        value = ((Map<String, Object>) value).get(keys[index]);
+      } else if (value instanceof List) {
+        // The remaining path is walked for every item, collecting the present values in one pass
+        return getListValue((List<Object>) value, index);
+      } else {
+        throw new TransformException("Unsupported field type.");
+      }
+    }
+
+    return value;
+  }
+
+  private List<Object> getListValue(List<Object> items, int fromIndex) {
+    var size = items.size();
+    var values = new ArrayList<>(size);
+
+    for (var index = 0; index < size; index++) {
+      var value = getValue(items.get(index), fromIndex);
+
+      if (value != null) {
+        values.add(value);
+      }
+    }
+
+    return values;
+  }
+
+  // Maps a result path starting with this field path to the path of a field holding its value, or returns null if the
+  // path does not start with this field path. Positions within a list are lost, since absent values are left out.
+  public List<Object> mapPath(@NonNull String fieldKey, @NonNull List<Object> path) {
+    if (path.isEmpty() || !keys[0].equals(path.get(0))) {
+      return null;
+    }
+
+    var keyIndex = 1;
+    var pathIndex = 1;
+    var isList = false;
+
+    while (keyIndex < keys.length && pathIndex < path.size()) {
+      var segment = path.get(pathIndex);
+
+      if (!(segment instanceof String)) {
+        isList = true;
+        pathIndex++;
+        continue;
+      }
+
+      if (!keys[keyIndex].equals(segment)) {
+        break;
+      }
+
+      keyIndex++;
+      pathIndex++;
+    }
+
+    var mappedPath = new ArrayList<>();
+    mappedPath.add(fieldKey);
+
+    if (keyIndex == keys.length && !isList) {
+      mappedPath.addAll(path.subList(pathIndex, path.size()));
+    }
+
+    return mappedPath;
+  }
+}
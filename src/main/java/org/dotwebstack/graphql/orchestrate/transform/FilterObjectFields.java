@@ -6,6 +6,7 @@ import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapSc
 import graphql.schema.GraphQLSchema;
 import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
 
 public class FilterObjectFields extends AbstractTransform {
 
@@ -16,8 +17,8 @@ public class FilterObjectFields extends AbstractTransform {
   }
 
   @Override
-  public GraphQLSchema transformSchema(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
-    return mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
+  public CompiledTransform compile(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
+    var transformedSchema = mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
         .objectType(((objectType, traverserContext) -> {
           var fieldDefinitions = objectType.getFieldDefinitions()
               .stream()
@@ -31,5 +32,27 @@ public class FilterObjectFields extends AbstractTransform {
           return changeNode(traverserContext, objectType.transform(builder -> builder.replaceFields(fieldDefinitions)));
         }))
         .build());
+
+    return new CompiledFilterObjectFields(transformedSchema);
+  }
+
+  // Requests only select fields which are present in the transformed schema, so they pass unchanged
+  private static final class CompiledFilterObjectFields implements FusibleCompiledTransform {
+
+    private final GraphQLSchema transformedSchema;
+
+    private CompiledFilterObjectFields(GraphQLSchema transformedSchema) {
+      this.transformedSchema = transformedSchema;
+    }
+
+    @Override
+    public GraphQLSchema getTransformedSchema() {
+      return transformedSchema;
+    }
+
+    @Override
+    public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+      return TransformedRequest.of(originalRequest);
+    }
   }
 }
@@ -0,0 +1,182 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.InlineFragment;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.TypeName;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.dotwebstack.graphql.orchestrate.Request;
+
+final class FusedFieldMapper {
+
+  private final GraphQLSchema schema;
+
+  private final List<FusibleCompiledTransform> transforms;
+
+  // Transforms must be ordered in request direction, so the transform which was applied last to the schema comes first
+  FusedFieldMapper(GraphQLSchema schema, List<FusibleCompiledTransform> transforms) {
+    this.schema = schema;
+    this.transforms = transforms;
+  }
+
+  Request mapRequest(Request request) {
+    var selectionSet = mapSelectionSet(request.getSelectionSet(),
+        TransformUtils.getRootType(schema, request.getOperation()));
+    var fragmentDefinitions = mapFragmentDefinitions(request.getFragmentDefinitions());
+
+    if (selectionSet == request.getSelectionSet() && fragmentDefinitions == request.getFragmentDefinitions()) {
+      return request;
+    }
+
+    return request.transform(builder -> builder.selectionSet(selectionSet)
+        .fragmentDefinitions(fragmentDefinitions));
+  }
+
+  // Named fragments are kept (instead of being inlined), since the mapping of a field does not depend on its position
+  private Map<String, FragmentDefinition> mapFragmentDefinitions(Map<String, FragmentDefinition> fragmentDefinitions) {
+    if (fragmentDefinitions.isEmpty()) {
+      return fragmentDefinitions;
+    }
+
+    var newFragmentDefinitions = new LinkedHashMap<String, FragmentDefinition>();
+    var changed = false;
+
+    for (var fragmentDefinition : fragmentDefinitions.values()) {
+      var newFragmentDefinition = mapFragmentDefinition(fragmentDefinition);
+      changed |= newFragmentDefinition != fragmentDefinition;
+      newFragmentDefinitions.put(fragmentDefinition.getName(), newFragmentDefinition);
+    }
+
+    if (!changed) {
+      return fragmentDefinitions;
+    }
+
+    return Collections.unmodifiableMap(newFragmentDefinitions);
+  }
+
+  private FragmentDefinition mapFragmentDefinition(FragmentDefinition fragmentDefinition) {
+    var typeCondition = fragmentDefinition.getTypeCondition();
+    var fragmentType = schema.getType(typeCondition.getName());
+
+    var selectionSet = mapSelectionSet(fragmentDefinition.getSelectionSet(),
+        fragmentType instanceof GraphQLCompositeType ? (GraphQLCompositeType) fragmentType : null);
+    var newTypeCondition = mapTypeCondition(typeCondition);
+
+    if (selectionSet == fragmentDefinition.getSelectionSet() && newTypeCondition == typeCondition) {
+      return fragmentDefinition;
+    }
+
+    return fragmentDefinition.transform(builder -> builder.selectionSet(selectionSet)
+        .typeCondition(newTypeCondition));
+  }
+
+  @SuppressWarnings("rawtypes")
+  private SelectionSet mapSelectionSet(SelectionSet selectionSet, GraphQLCompositeType parentType) {
+    if (selectionSet == null || parentType == null) {
+      return selectionSet;
+    }
+
+    var selections = selectionSet.getSelections();
+    List<Selection> newSelections = new ArrayList<>(selections.size());
+    var changed = false;
+
+    for (var selection : selections) {
+      var newSelection = mapSelection(selection, parentType);
+      changed |= newSelection != selection;
+      newSelections.add(newSelection);
+    }
+
+    if (!changed) {
+      return selectionSet;
+    }
+
+    return selectionSet.transform(builder -> builder.selections(newSelections));
+  }
+
+  private Selection<?> mapSelection(Selection<?> selection, GraphQLCompositeType parentType) {
+    if (selection instanceof Field) {
+      return mapField((Field) selection, parentType);
+    }
+
+    if (selection instanceof InlineFragment) {
+      return mapInlineFragment((InlineFragment) selection, parentType);
+    }
+
+    return selection;
+  }
+
+  private Field mapField(Field field, GraphQLCompositeType parentType) {
+    // Nested selections are mapped first, since field types are resolved using the original field name
+    var selectionSet = mapSelectionSet(field.getSelectionSet(), getFieldType(parentType, field.getName()));
+    var newField = selectionSet == field.getSelectionSet() ? field
+        : field.transform(builder -> builder.selectionSet(selectionSet));
+    var typeName = parentType.getName();
+
+    for (var transform : transforms) {
+      newField = transform.mapField(typeName, newField);
+      typeName = transform.mapTypeName(typeName);
+    }
+
+    return newField;
+  }
+
+  private InlineFragment mapInlineFragment(InlineFragment inlineFragment, GraphQLCompositeType parentType) {
+    var typeCondition = inlineFragment.getTypeCondition();
+    var fragmentType = parentType;
+
+    if (typeCondition != null && schema.getType(typeCondition.getName()) instanceof GraphQLCompositeType) {
+      fragmentType = (GraphQLCompositeType) schema.getType(typeCondition.getName());
+    }
+
+    var selectionSet = mapSelectionSet(inlineFragment.getSelectionSet(), fragmentType);
+    var newTypeCondition = typeCondition != null ? mapTypeCondition(typeCondition) : null;
+
+    if (selectionSet == inlineFragment.getSelectionSet() && newTypeCondition == typeCondition) {
+      return inlineFragment;
+    }
+
+    return inlineFragment.transform(builder -> builder.selectionSet(selectionSet)
+        .typeCondition(newTypeCondition));
+  }
+
+  private TypeName mapTypeCondition(TypeName typeCondition) {
+    var typeName = typeCondition.getName();
+
+    for (var transform : transforms) {
+      typeName = transform.mapTypeName(typeName);
+    }
+
+    if (typeName.equals(typeCondition.getName())) {
+      return typeCondition;
+    }
+
+    return TypeName.newTypeName(typeName)
+        .build();
+  }
+
+  private static GraphQLCompositeType getFieldType(GraphQLCompositeType parentType, String fieldName) {
+    if (!(parentType instanceof GraphQLFieldsContainer)) {
+      return null;
+    }
+
+    var fieldDefinition = ((GraphQLFieldsContainer) parentType).getFieldDefinition(fieldName);
+
+    if (fieldDefinition == null) {
+      return null;
+    }
+
+    var fieldType = GraphQLTypeUtil.unwrapAll(fieldDefinition.getType());
+
+    return fieldType instanceof GraphQLCompositeType ? (GraphQLCompositeType) fieldType : null;
+  }
+}
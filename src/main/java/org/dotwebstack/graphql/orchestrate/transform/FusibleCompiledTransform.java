@@ -0,0 +1,16 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import graphql.language.Field;
+
+// Compiled transforms which only rewrite requests field by field (without looking at siblings or parents), so a
+// pipeline can apply a sequence of them in a single traversal of the selection set
+public interface FusibleCompiledTransform extends CompiledTransform {
+
+  default Field mapField(String typeName, Field field) {
+    return field;
+  }
+
+  default String mapTypeName(String typeName) {
+    return typeName;
+  }
+}
@@ -2,16 +2,14 @@ package org.dotwebstack.graphql.orchestrate.transform;
 
 import static graphql.util.TraversalControl.CONTINUE;
 import static graphql.util.TreeTransformerUtil.changeNode;
-import static java.util.Collections.unmodifiableList;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.excludeField;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.getFieldSelectionSet;
-import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.getFieldValue;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.getResultPath;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.includeFieldPath;
+import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.inlineFragments;
+import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapErrorPaths;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapRequest;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapSchema;
-import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapTransform;
-import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.putMapValue;
 
 import graphql.analysis.QueryVisitorFieldEnvironment;
 import graphql.language.SelectionSet;
@@ -23,13 +21,9 @@ import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLTypeUtil;
 import graphql.util.TraversalControl;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
-import lombok.Getter;
 import lombok.NonNull;
 import org.dotwebstack.graphql.orchestrate.Request;
 import org.dotwebstack.graphql.orchestrate.Result;
@@ -40,11 +34,7 @@ public class HoistField extends AbstractTransform {
 
   private final String targetFieldName;
 
-  private final List<String> sourceFieldPath;
-
-  private GraphQLSchema transformedSchema;
-
-  private boolean targetFieldList = false;
+  private final FieldPath sourceFieldPath;
 
   public HoistField(String typeName, String targetFieldName, List<String> sourceFieldPath) {
     if (sourceFieldPath.size() <= 1) {
@@ -53,11 +43,11 @@ public class HoistField extends AbstractTransform {
 
     this.typeName = typeName;
     this.targetFieldName = targetFieldName;
-    this.sourceFieldPath = unmodifiableList(sourceFieldPath);
+    this.sourceFieldPath = FieldPath.of(sourceFieldPath);
   }
 
   @Override
-  public GraphQLSchema transformSchema(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
+  public CompiledTransform compile(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
     if (originalSchema.getObjectType(typeName) == null) {
       throw new TransformException(String.format("Object type '%s' not found.", typeName));
     }
@@ -68,25 +58,18 @@ public class HoistField extends AbstractTransform {
             return CONTINUE;
           }
 
-          var sourceField = findSourceField(objectType, sourceFieldPath, false);
-          var hoistedField = sourceField.transform(builder -> builder.name(targetFieldName)
-              .type(wrapListType(sourceField.getType())));
+          var hoistedField = findSourceField(objectType, sourceFieldPath.getFieldKeys(), false, false)
+              .transform(builder -> builder.name(targetFieldName));
 
           return changeNode(traverserContext, objectType.transform(builder -> builder.field(hoistedField)));
         })
         .build();
 
-    transformedSchema = mapSchema(originalSchema, schemaMapping);
-
-    return transformedSchema;
-  }
-
-  private GraphQLOutputType wrapListType(GraphQLOutputType type) {
-    return targetFieldList ? GraphQLNonNull.nonNull(GraphQLList.list(type)) : type;
+    return new CompiledHoistField(mapSchema(originalSchema, schemaMapping));
   }
 
   private GraphQLFieldDefinition findSourceField(GraphQLObjectType objectType, List<String> fieldPath,
-      boolean isNullable) {
+      boolean isNullable, boolean isList) {
     var fieldName = fieldPath.get(0);
     var fieldPathSize = fieldPath.size();
 
@@ -98,20 +81,19 @@ public class HoistField extends AbstractTransform {
     }
 
     if (fieldPathSize == 1) {
-      if (isNullable) {
-        return field
-            .transform(builder -> builder.type((GraphQLOutputType) GraphQLTypeUtil.unwrapNonNull(field.getType()))
-                .build());
-      }
-      return field;
+      var fieldType = isNullable ? (GraphQLOutputType) GraphQLTypeUtil.unwrapNonNull(field.getType())
+          : field.getType();
+      var hoistedType = isList ? GraphQLNonNull.nonNull(GraphQLList.list(fieldType)) : fieldType;
+
+      return field.transform(builder -> builder.type(hoistedType));
     }
 
     if (GraphQLTypeUtil.unwrapNonNull(field.getType()) instanceof GraphQLList) {
-      if (targetFieldList) {
+      if (isList) {
         throw new TransformException("Source field path contains more than one list field.");
       }
 
-      targetFieldList = true;
+      isList = true;
     }
 
     var fieldType = GraphQLTypeUtil.unwrapAll(field.getType());
@@ -120,13 +102,11 @@ public class HoistField extends AbstractTransform {
       throw new TransformException("Non-leaf path segments must represent object types.");
     }
 
-    return findSourceField((GraphQLObjectType) fieldType, fieldPath.subList(1, fieldPathSize), isNullable);
+    return findSourceField((GraphQLObjectType) fieldType, fieldPath.subList(1, fieldPathSize), isNullable, isList);
   }
 
-  @Override
-  public CompletableFuture<Result> transform(@NonNull Request originalRequest,
-      @NonNull Function<Request, CompletableFuture<Result>> next) {
-    var hoistedFields = new ArrayList<HoistedField>();
+  private TransformedRequest hoistFields(Request originalRequest, GraphQLSchema transformedSchema) {
+    var resultRewriter = new ResultRewriter();
 
     var mapping = RequestMapping.newRequestMapping()
         .field(environment -> {
@@ -137,18 +117,35 @@ public class HoistField extends AbstractTransform {
           var targetKey = environment.getField()
               .getResultKey();
 
+          var basePath = getResultPath(environment.getTraverserContext());
+
           // Keep track of all hoisted fields in the selection tree
-          hoistedFields.add(new HoistedField(getResultPath(environment.getTraverserContext()), targetKey));
+          resultRewriter.addField(basePath, targetKey, sourceFieldPath::getValue,
+              path -> sourceFieldPath.mapPath(targetKey, path));
 
           return hoistField(environment);
         })
         .build();
 
-    return next.apply(mapRequest(originalRequest, transformedSchema, mapping))
-        .thenApply(result -> dehoistFields(result, unmodifiableList(hoistedFields)));
+    // Result paths are derived from the position of a field, which is unknown within named fragments
+    var transformedRequest = mapRequest(inlineFragments(originalRequest), transformedSchema, mapping);
+
+    if (resultRewriter.isEmpty()) {
+      return TransformedRequest.of(transformedRequest);
+    }
+
+    return TransformedRequest.newTransformedRequest()
+        .request(transformedRequest)
+        .resultMapper(result -> dehoistFields(result, resultRewriter))
+        .build();
   }
 
   private boolean isFieldMatching(QueryVisitorFieldEnvironment environment) {
+    // Introspection fields like __typename have no fields container
+    if (environment.isTypeNameIntrospectionField()) {
+      return false;
+    }
+
     var fieldsContainer = environment.getFieldsContainer();
     var fieldDefinition = environment.getFieldDefinition();
 
@@ -165,32 +162,39 @@ public class HoistField extends AbstractTransform {
 
   private SelectionSet transformSelectionSet(SelectionSet selectionSet) {
     SelectionSet hoistedSelectionSet = getFieldSelectionSet(selectionSet, targetFieldName);
-    return includeFieldPath(excludeField(selectionSet, targetFieldName), hoistedSelectionSet, sourceFieldPath);
+    return includeFieldPath(excludeField(selectionSet, targetFieldName), hoistedSelectionSet,
+        sourceFieldPath.getFieldKeys());
   }
 
   @SuppressWarnings("unchecked")
-  private Result dehoistFields(Result result, List<HoistedField> hoistedFields) {
-    Map<String, Object> data = (Map<String, Object>) hoistedFields.stream()
-        .reduce(result.getData(), this::dehoistField, TransformUtils::noopCombiner);
+  private Result dehoistFields(Result result, ResultRewriter resultRewriter) {
+    var data = (Map<String, Object>) resultRewriter.rewrite(result.getData(), result.isDataOwned());
+    var errors = mapErrorPaths(result.getErrors(), resultRewriter::rewritePath);
 
-    return result.transform(builder -> builder.data(data));
-  }
+    if (data == result.getData() && errors == result.getErrors()) {
+      return result;
+    }
 
-  private Object dehoistField(Object data, HoistedField hoistedField) {
-    return mapTransform(data, hoistedField.getBasePath(), fieldContainer -> putMapValue(fieldContainer,
-        hoistedField.getTargetKey(), getFieldValue(fieldContainer, sourceFieldPath)));
+    return result.transform(builder -> builder.data(data)
+        .errors(errors));
   }
 
-  @Getter
-  private static class HoistedField {
+  private final class CompiledHoistField implements CompiledTransform {
 
-    private final List<String> basePath;
+    private final GraphQLSchema transformedSchema;
 
-    private final String targetKey;
+    private CompiledHoistField(GraphQLSchema transformedSchema) {
+      this.transformedSchema = transformedSchema;
+    }
+
+    @Override
+    public GraphQLSchema getTransformedSchema() {
+      return transformedSchema;
+    }
 
-    public HoistedField(List<String> basePath, String targetKey) {
-      this.basePath = basePath;
-      this.targetKey = targetKey;
+    @Override
+    public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+      return hoistFields(originalRequest, transformedSchema);
     }
   }
 }
@@ -1,88 +1,98 @@
 package org.dotwebstack.graphql.orchestrate.transform;
 
 import static graphql.util.TreeTransformerUtil.changeNode;
-import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapRequest;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapSchema;
 
 import graphql.language.Field;
 import graphql.schema.GraphQLFieldDefinition;
-import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
-import graphql.util.TraversalControl;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.dotwebstack.graphql.orchestrate.Request;
-import org.dotwebstack.graphql.orchestrate.Result;
 
 public class RenameObjectFields extends AbstractTransform {
 
   private final ObjectFieldRenamer renamer;
 
-  private final Map<String, Map<String, String>> nameMapping = new HashMap<>();
-
-  private GraphQLSchema transformedSchema;
-
   public RenameObjectFields(@NonNull ObjectFieldRenamer renamer) {
     this.renamer = renamer;
   }
 
   @Override
-  public GraphQLSchema transformSchema(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
-    transformedSchema = mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
+  public CompiledTransform compile(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
+    var nameMapping = new HashMap<String, Map<String, String>>();
+
+    var transformedSchema = mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
         .objectType((objectType, traverserContext) -> {
           var fieldDefinitions = objectType.getFieldDefinitions()
               .stream()
-              .map(fieldDefinition -> transformField(objectType, fieldDefinition))
+              .map(fieldDefinition -> transformField(objectType, fieldDefinition, nameMapping))
               .collect(Collectors.toList());
 
           return changeNode(traverserContext, objectType.transform(builder -> builder.replaceFields(fieldDefinitions)));
         })
         .build());
 
-    return transformedSchema;
-  }
+    var immutableNameMapping = nameMapping.entrySet()
+        .stream()
+        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Map.copyOf(entry.getValue())));
 
-  @Override
-  public CompletableFuture<Result> transform(@NonNull Request originalRequest,
-      @NonNull Function<Request, CompletableFuture<Result>> next) {
-    var transformedRequest = mapRequest(originalRequest, transformedSchema, RequestMapping.newRequestMapping()
-        .field(environment -> {
-          var field = environment.getField();
-          var fieldsContainer = environment.getFieldsContainer();
-
-          return findMappedName(fieldsContainer, field)
-              .map(fieldName -> changeNode(environment.getTraverserContext(),
-                  field.transform(builder -> builder.name(fieldName)
-                      .alias(field.getName()))))
-              .orElse(TraversalControl.CONTINUE);
-        })
-        .build());
-
-    return next.apply(transformedRequest);
-  }
-
-  private Optional<String> findMappedName(GraphQLFieldsContainer fieldsContainer, Field field) {
-    return Optional.ofNullable(nameMapping.get(fieldsContainer.getName()))
-        .flatMap(typeMapping -> Optional.ofNullable(typeMapping.get(field.getName())));
+    return new CompiledRenameObjectFields(transformedSchema, immutableNameMapping);
   }
 
-  private GraphQLFieldDefinition transformField(GraphQLObjectType objectType, GraphQLFieldDefinition fieldDefinition) {
+  private GraphQLFieldDefinition transformField(GraphQLObjectType objectType, GraphQLFieldDefinition fieldDefinition,
+      Map<String, Map<String, String>> nameMapping) {
     var newName = renamer.apply(objectType.getName(), fieldDefinition.getName(), fieldDefinition);
 
     if (newName.equals(fieldDefinition.getName())) {
       return fieldDefinition;
     }
 
-    nameMapping.putIfAbsent(objectType.getName(), new HashMap<>());
-    nameMapping.get(objectType.getName())
+    nameMapping.computeIfAbsent(objectType.getName(), typeName -> new HashMap<>())
         .put(newName, fieldDefinition.getName());
 
     return fieldDefinition.transform(builder -> builder.name(newName));
   }
+
+  private static final class CompiledRenameObjectFields implements FusibleCompiledTransform {
+
+    private final GraphQLSchema transformedSchema;
+
+    private final Map<String, Map<String, String>> nameMapping;
+
+    private CompiledRenameObjectFields(GraphQLSchema transformedSchema, Map<String, Map<String, String>> nameMapping) {
+      this.transformedSchema = transformedSchema;
+      this.nameMapping = nameMapping;
+    }
+
+    @Override
+    public GraphQLSchema getTransformedSchema() {
+      return transformedSchema;
+    }
+
+    @Override
+    public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+      return TransformedRequest.of(new FusedFieldMapper(transformedSchema, List.of(this)).mapRequest(originalRequest));
+    }
+
+    @Override
+    public Field mapField(String typeName, Field field) {
+      var typeMapping = nameMapping.get(typeName);
+      var fieldName = typeMapping != null ? typeMapping.get(field.getName()) : null;
+
+      if (fieldName == null) {
+        return field;
+      }
+
+      // Keep the result key, which may already be an alias set by the client or an outer transform
+      var resultKey = field.getResultKey();
+
+      return field.transform(builder -> builder.name(fieldName)
+          .alias(resultKey));
+    }
+  }
 }
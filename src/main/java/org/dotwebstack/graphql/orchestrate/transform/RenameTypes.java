@@ -1,74 +1,39 @@
 package org.dotwebstack.graphql.orchestrate.transform;
 
 import static graphql.util.TreeTransformerUtil.changeNode;
-import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapRequest;
 import static org.dotwebstack.graphql.orchestrate.transform.TransformUtils.mapSchema;
 
-import graphql.language.InlineFragment;
-import graphql.language.Selection;
-import graphql.language.SelectionSet;
-import graphql.language.TypeName;
-import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLSchema;
-import graphql.util.TraversalControl;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.dotwebstack.graphql.orchestrate.Request;
-import org.dotwebstack.graphql.orchestrate.Result;
 
 public class RenameTypes extends AbstractTransform {
 
   private final TypeRenamer renamer;
 
-  private final Map<String, String> nameMapping = new HashMap<>();
-
-  private GraphQLSchema originalSchema;
-
   public RenameTypes(@NonNull TypeRenamer renamer) {
     this.renamer = renamer;
   }
 
   @Override
-  public GraphQLSchema transformSchema(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
-    this.originalSchema = originalSchema;
+  public CompiledTransform compile(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
+    var nameMapping = new HashMap<String, String>();
 
-    return mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
+    var transformedSchema = mapSchema(originalSchema, SchemaMapping.newSchemaMapping()
         .objectType((objectType, traverserContext) -> changeNode(traverserContext,
-            objectType.transform(builder -> builder.name(renameType(objectType)))))
+            objectType.transform(builder -> builder.name(renameType(objectType, nameMapping)))))
         .interfaceType((interfaceType, traverserContext) -> changeNode(traverserContext,
-            interfaceType.transform(builder -> builder.name(renameType(interfaceType)))))
-        .build());
-  }
-
-  @Override
-  public CompletableFuture<Result> transform(@NonNull Request originalRequest,
-      @NonNull Function<Request, CompletableFuture<Result>> next) {
-    var transformedRequest = mapRequest(originalRequest, originalSchema, RequestMapping.newRequestMapping()
-        .field(environment -> {
-          var field = environment.getField();
-          var fieldType = environment.getFieldDefinition()
-              .getType();
-
-          if (fieldType instanceof GraphQLFieldsContainer) {
-            var newSelectionSet = transformSelectionSet(field.getSelectionSet());
-
-            return changeNode(environment.getTraverserContext(),
-                field.transform(builder -> builder.selectionSet(newSelectionSet)));
-          }
-
-          return TraversalControl.CONTINUE;
-        })
+            interfaceType.transform(builder -> builder.name(renameType(interfaceType, nameMapping)))))
         .build());
 
-    return next.apply(transformedRequest);
+    return new CompiledRenameTypes(transformedSchema, Map.copyOf(nameMapping));
   }
 
-  private String renameType(GraphQLNamedType type) {
+  private String renameType(GraphQLNamedType type, Map<String, String> nameMapping) {
     var newName = renamer.apply(type.getName(), type);
 
     if (newName.equals(type.getName())) {
@@ -80,32 +45,30 @@ public class RenameTypes extends AbstractTransform {
     return newName;
   }
 
-  private SelectionSet transformSelectionSet(SelectionSet selectionSet) {
-    var newSelections = selectionSet.getSelections()
-        .stream()
-        .map(this::transformSelection)
-        .collect(Collectors.toList());
+  private static final class CompiledRenameTypes implements FusibleCompiledTransform {
 
-    return selectionSet.transform(builder -> builder.selections(newSelections));
-  }
+    private final GraphQLSchema transformedSchema;
 
-  private Selection<?> transformSelection(Selection<?> selection) {
-    if (selection instanceof InlineFragment) {
-      return transformInlineFragment((InlineFragment) selection);
-    }
+    private final Map<String, String> nameMapping;
 
-    return selection;
-  }
+    private CompiledRenameTypes(GraphQLSchema transformedSchema, Map<String, String> nameMapping) {
+      this.transformedSchema = transformedSchema;
+      this.nameMapping = nameMapping;
+    }
 
-  private InlineFragment transformInlineFragment(InlineFragment inlineFragment) {
-    var typeName = inlineFragment.getTypeCondition()
-        .getName();
+    @Override
+    public GraphQLSchema getTransformedSchema() {
+      return transformedSchema;
+    }
 
-    if (!nameMapping.containsKey(typeName)) {
-      return inlineFragment;
+    @Override
+    public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+      return TransformedRequest.of(new FusedFieldMapper(transformedSchema, List.of(this)).mapRequest(originalRequest));
     }
 
-    return inlineFragment.transform(builder -> builder.typeCondition(TypeName.newTypeName(nameMapping.get(typeName))
-        .build()));
+    @Override
+    public String mapTypeName(String typeName) {
+      return nameMapping.getOrDefault(typeName, typeName);
+    }
   }
 }
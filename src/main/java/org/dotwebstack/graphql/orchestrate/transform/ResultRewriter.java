@@ -0,0 +1,158 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Rewrites result trees in a single pass for any number of field paths. Owned trees are rewritten in place. Otherwise
+// only containers on a rewritten path are copied (each at most once) and all other values are shared.
+final class ResultRewriter {
+
+  private final Map<String, ResultRewriter> children = new HashMap<>();
+
+  private final List<String> fieldKeys = new ArrayList<>();
+
+  private final List<Function<Map<String, Object>, Object>> fieldValues = new ArrayList<>();
+
+  private final List<UnaryOperator<List<Object>>> fieldPathMappers = new ArrayList<>();
+
+  void addField(List<String> basePath, String fieldKey, Function<Map<String, Object>, Object> fieldValue) {
+    addField(basePath, fieldKey, fieldValue, path -> null);
+  }
+
+  // Path mappers receive error paths relative to the containing object, returning null if the path does not apply
+  void addField(List<String> basePath, String fieldKey, Function<Map<String, Object>, Object> fieldValue,
+      UnaryOperator<List<Object>> fieldPathMapper) {
+    var node = this;
+
+    for (var pathKey : basePath) {
+      node = node.children.computeIfAbsent(pathKey, key -> new ResultRewriter());
+    }
+
+    node.fieldKeys.add(fieldKey);
+    node.fieldValues.add(fieldValue);
+    node.fieldPathMappers.add(fieldPathMapper);
+  }
+
+  boolean isEmpty() {
+    return children.isEmpty() && fieldKeys.isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  Object rewrite(Object data, boolean owned) {
+    if (data == null) {
+      return null;
+    }
+
+    if (data instanceof List) {
+      return rewriteList((List<Object>) data, owned);
+    }
+
+    if (data instanceof Map) {
+      return rewriteMap((Map<String, Object>) data, owned);
+    }
+
+    throw new TransformException("Unsupported field type.");
+  }
+
+  // Relocates a path of the original result tree to the corresponding path of the rewritten tree
+  List<Object> rewritePath(List<Object> path) {
+    var node = this;
+    var size = path.size();
+
+    for (var index = 0; index < size; index++) {
+      var segment = path.get(index);
+
+      // List indices do not change the position within the rewriter tree
+      if (!(segment instanceof String)) {
+        continue;
+      }
+
+      var relativePath = path.subList(index, size);
+
+      for (var fieldPathMapper : node.fieldPathMappers) {
+        var fieldPath = fieldPathMapper.apply(relativePath);
+
+        if (fieldPath != null) {
+          var newPath = new ArrayList<>(path.subList(0, index));
+          newPath.addAll(fieldPath);
+          return newPath;
+        }
+      }
+
+      node = node.children.get(segment);
+
+      if (node == null) {
+        return path;
+      }
+    }
+
+    return path;
+  }
+
+  private List<Object> rewriteList(List<Object> data, boolean owned) {
+    // Only collections known to be mutable are changed in place, since owned trees may contain immutable ones
+    var newData = owned && data instanceof ArrayList ? data : null;
+    var size = data.size();
+
+    for (var index = 0; index < size; index++) {
+      var item = data.get(index);
+      var newItem = rewrite(item, owned);
+
+      if (newItem != item) {
+        if (newData == null) {
+          newData = new ArrayList<>(data);
+        }
+
+        newData.set(index, newItem);
+      }
+    }
+
+    return newData != null ? newData : data;
+  }
+
+  private Map<String, Object> rewriteMap(Map<String, Object> data, boolean owned) {
+    var newData = owned && data instanceof HashMap ? data : null;
+
+    for (var child : children.entrySet()) {
+      var value = data.get(child.getKey());
+      var newValue = child.getValue()
+          .rewrite(value, owned);
+
+      if (newValue != value) {
+        if (newData == null) {
+          newData = copyMap(data);
+        }
+
+        newData.put(child.getKey(), newValue);
+      }
+    }
+
+    if (fieldKeys.isEmpty()) {
+      return newData != null ? newData : data;
+    }
+
+    if (newData == null) {
+      newData = copyMap(data);
+    }
+
+    // Copies are owned by this rewriter, so fields are always added in place
+    for (var index = 0; index < fieldKeys.size(); index++) {
+      newData.put(fieldKeys.get(index), fieldValues.get(index)
+          .apply(newData));
+    }
+
+    return newData;
+  }
+
+  // Copies keep the field order of the original, which follows the order of the selections
+  private Map<String, Object> copyMap(Map<String, Object> data) {
+    var newData = new LinkedHashMap<String, Object>((int) ((data.size() + fieldKeys.size()) / 0.75f) + 1);
+    newData.putAll(data);
+    return newData;
+  }
+}
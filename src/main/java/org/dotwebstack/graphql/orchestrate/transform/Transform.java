@@ -13,4 +13,13 @@ public interface Transform {
   GraphQLSchema transformSchema(GraphQLSchema originalSchema, TransformContext context);
 
   CompletableFuture<Result> transform(Request originalRequest, Function<Request, CompletableFuture<Result>> next);
+
+  // Transforms which only implement the methods above are adapted, so these are applied by the delegators unchanged
+  default CompiledTransform compile(GraphQLSchema originalSchema, TransformContext context) {
+    return new AdaptedTransform(this, transformSchema(originalSchema, context));
+  }
+
+  default TransformedRequest transformRequest(Request originalRequest) {
+    return AdaptedTransform.adaptRequest(this, originalRequest);
+  }
 }
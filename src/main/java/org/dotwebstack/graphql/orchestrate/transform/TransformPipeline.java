@@ -0,0 +1,204 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import graphql.schema.GraphQLSchema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Instrumentation;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Phase;
+
+public class TransformPipeline extends AbstractTransform {
+
+  private final List<Transform> transforms;
+
+  public TransformPipeline(@NonNull List<Transform> transforms) {
+    var flattenedTransforms = new ArrayList<Transform>(transforms.size());
+
+    transforms.forEach(transform -> {
+      if (transform instanceof TransformPipeline) {
+        flattenedTransforms.addAll(((TransformPipeline) transform).transforms);
+      } else {
+        flattenedTransforms.add(transform);
+      }
+    });
+
+    if (flattenedTransforms.isEmpty()) {
+      throw new IllegalArgumentException("Pipeline must contain at least 1 transform.");
+    }
+
+    this.transforms = Collections.unmodifiableList(flattenedTransforms);
+  }
+
+  public static TransformPipeline of(@NonNull Transform... transforms) {
+    return new TransformPipeline(List.of(transforms));
+  }
+
+  public List<Transform> getTransforms() {
+    return transforms;
+  }
+
+  @Override
+  public Transform pipe(@NonNull Transform nextTransform) {
+    var nextTransforms = new ArrayList<>(transforms);
+    nextTransforms.add(nextTransform);
+
+    return new TransformPipeline(nextTransforms);
+  }
+
+  @Override
+  public CompiledTransform compile(@NonNull GraphQLSchema originalSchema, @NonNull TransformContext context) {
+    var compiledTransforms = new ArrayList<CompiledTransform>(transforms.size());
+    var schema = originalSchema;
+
+    for (var transform : transforms) {
+      var compiledTransform = transform.compile(schema, context);
+      compiledTransforms.add(compiledTransform);
+      schema = compiledTransform.getTransformedSchema();
+    }
+
+    var transformNames = transforms.stream()
+        .map(transform -> transform.getClass()
+            .getSimpleName())
+        .collect(Collectors.toList());
+
+    return new CompiledPipeline(List.copyOf(compiledTransforms), transformNames, context.getSubschema()
+        .getInstrumentation());
+  }
+
+  private static final class CompiledPipeline implements CompiledTransform {
+
+    private final List<CompiledTransform> compiledTransforms;
+
+    private final List<String> transformNames;
+
+    private final Instrumentation instrumentation;
+
+    private CompiledPipeline(List<CompiledTransform> compiledTransforms, List<String> transformNames,
+        Instrumentation instrumentation) {
+      this.compiledTransforms = compiledTransforms;
+      this.transformNames = transformNames;
+      this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public GraphQLSchema getTransformedSchema() {
+      return compiledTransforms.get(compiledTransforms.size() - 1)
+          .getTransformedSchema();
+    }
+
+    @Override
+    public TransformedRequest transformRequest(@NonNull Request originalRequest) {
+      var request = originalRequest;
+      var mappingRequests = new ArrayList<TransformedRequest>();
+      var index = compiledTransforms.size() - 1;
+
+      // Requests pass the transforms in reverse order, fusing consecutive field-level transforms into one traversal
+      while (index >= 0) {
+        if (compiledTransforms.get(index) instanceof FusibleCompiledTransform) {
+          var schema = compiledTransforms.get(index)
+              .getTransformedSchema();
+          var fusedTransforms = new ArrayList<FusibleCompiledTransform>();
+          var fusedNames = new ArrayList<String>();
+
+          while (index >= 0 && compiledTransforms.get(index) instanceof FusibleCompiledTransform) {
+            fusedTransforms.add((FusibleCompiledTransform) compiledTransforms.get(index));
+            fusedNames.add(transformNames.get(index));
+            index--;
+          }
+
+          // Fused transforms share a single traversal, so these can only be timed together
+          var fusedRequest = request;
+          request = instrumentation.instrument(Phase.REQUEST_TRANSFORM, String.join("+", fusedNames),
+              () -> new FusedFieldMapper(schema, fusedTransforms).mapRequest(fusedRequest));
+        } else {
+          var compiledTransform = compiledTransforms.get(index);
+          var transformName = transformNames.get(index);
+          var currentRequest = request;
+          var transformedRequest = instrumentation.instrument(Phase.REQUEST_TRANSFORM, transformName,
+              () -> compiledTransform.transformRequest(currentRequest));
+
+          request = transformedRequest.getRequest();
+
+          if (!transformedRequest.isShareable()
+              || transformedRequest.getResultMapper() != UnaryOperator.<Result>identity()) {
+            mappingRequests.add(instrumentResultMapper(transformedRequest, transformName));
+          }
+
+          index--;
+        }
+      }
+
+      if (mappingRequests.isEmpty()) {
+        return TransformedRequest.of(request);
+      }
+
+      // Results are only mapped asynchronously when some transform requires so
+      if (mappingRequests.stream()
+          .allMatch(TransformedRequest::isShareable)) {
+        var resultMappers = mappingRequests.stream()
+            .map(TransformedRequest::getResultMapper)
+            .collect(Collectors.toList());
+
+        return TransformedRequest.newTransformedRequest()
+            .request(request)
+            .resultMapper(result -> mapResult(result, resultMappers))
+            .build();
+      }
+
+      return TransformedRequest.newTransformedRequest()
+          .request(request)
+          .asyncResultMapper(result -> mapResultAsync(result, mappingRequests))
+          .build();
+    }
+
+    private TransformedRequest instrumentResultMapper(TransformedRequest transformedRequest, String transformName) {
+      if (instrumentation == Instrumentation.NOOP) {
+        return transformedRequest;
+      }
+
+      if (!transformedRequest.isShareable()) {
+        return TransformedRequest.newTransformedRequest()
+            .request(transformedRequest.getRequest())
+            .asyncResultMapper(result -> instrumentation.instrumentAsync(Phase.RESULT_TRANSFORM, transformName,
+                () -> transformedRequest.mapResult(result)))
+            .build();
+      }
+
+      var resultMapper = transformedRequest.getResultMapper();
+
+      return TransformedRequest.newTransformedRequest()
+          .request(transformedRequest.getRequest())
+          .resultMapper(result -> instrumentation.instrument(Phase.RESULT_TRANSFORM, transformName,
+              () -> resultMapper.apply(result)))
+          .build();
+    }
+
+    private static Result mapResult(Result result, List<UnaryOperator<Result>> resultMappers) {
+      var mappedResult = result;
+
+      // Results pass the transforms in schema order, which is the reverse of the request order
+      for (var index = resultMappers.size() - 1; index >= 0; index--) {
+        mappedResult = resultMappers.get(index)
+            .apply(mappedResult);
+      }
+
+      return mappedResult;
+    }
+
+    private static CompletableFuture<Result> mapResultAsync(Result result, List<TransformedRequest> mappingRequests) {
+      var mappedResult = CompletableFuture.completedFuture(result);
+
+      for (var index = mappingRequests.size() - 1; index >= 0; index--) {
+        mappedResult = mappedResult.thenCompose(mappingRequests.get(index)::mapResult);
+      }
+
+      return mappedResult;
+    }
+  }
+}
@@ -2,15 +2,23 @@ package org.dotwebstack.graphql.orchestrate.transform;
 
 import static graphql.analysis.QueryTransformer.newQueryTransformer;
 import static graphql.schema.SchemaTransformer.transformSchema;
-import static java.util.Collections.unmodifiableMap;
 
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.QueryTransformer;
 import graphql.analysis.QueryVisitorFieldEnvironment;
 import graphql.analysis.QueryVisitorStub;
 import graphql.com.google.common.collect.Lists;
 import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
 import graphql.language.Node;
+import graphql.language.OperationDefinition;
 import graphql.language.Selection;
 import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.schema.GraphQLCompositeType;
 import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
@@ -18,10 +26,11 @@ import graphql.schema.GraphQLSchemaElement;
 import graphql.schema.GraphQLTypeVisitorStub;
 import graphql.util.TraversalControl;
 import graphql.util.TraverserContext;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -52,13 +61,6 @@ public class TransformUtils {
   }
 
   public static Request mapRequest(Request request, GraphQLSchema schema, RequestMapping mapping) {
-    var queryTransformer = newQueryTransformer().schema(schema)
-        .root(request.getSelectionSet())
-        .rootParentType(schema.getQueryType())
-        .fragmentsByName(Map.of())
-        .variables(Map.of())
-        .build();
-
     var queryVisitor = new QueryVisitorStub() {
       @Override
       public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment environment) {
@@ -67,12 +69,49 @@ public class TransformUtils {
       }
     };
 
-    var newSelectionSet = (SelectionSet) queryTransformer.transform(queryVisitor);
+    var newSelectionSet = (SelectionSet) createQueryTransformer(request, schema, request.getSelectionSet(),
+        getRootType(schema, request.getOperation())).transform(queryVisitor);
+
+    // Fragment spreads are not followed by the traversal, so named fragments are mapped on their own
+    var newFragmentDefinitions = new LinkedHashMap<String, FragmentDefinition>();
+
+    request.getFragmentDefinitions()
+        .forEach((fragmentName, fragmentDefinition) -> {
+          var typeCondition = schema.getType(fragmentDefinition.getTypeCondition()
+              .getName());
+
+          newFragmentDefinitions.put(fragmentName, typeCondition instanceof GraphQLCompositeType
+              ? (FragmentDefinition) createQueryTransformer(request, schema, fragmentDefinition,
+                  (GraphQLCompositeType) typeCondition).transform(queryVisitor)
+              : fragmentDefinition);
+        });
 
     return request.transform(builder -> builder.selectionSet(newSelectionSet)
+        .fragmentDefinitions(Collections.unmodifiableMap(newFragmentDefinitions))
         .build());
   }
 
+  private static QueryTransformer createQueryTransformer(Request request, GraphQLSchema schema, Node<?> root,
+      GraphQLCompositeType rootParentType) {
+    return newQueryTransformer().schema(schema)
+        .root(root)
+        .rootParentType(rootParentType)
+        .fragmentsByName(request.getFragmentDefinitions())
+        .variables(request.getVariables())
+        .build();
+  }
+
+  public static GraphQLObjectType getRootType(GraphQLSchema schema, OperationDefinition.Operation operation) {
+    switch (operation) {
+      case MUTATION:
+        return schema.getMutationType();
+      case SUBSCRIPTION:
+        return schema.getSubscriptionType();
+      default:
+        return schema.getQueryType();
+    }
+  }
+
   public static <T> List<T> listAppend(List<T> list, T element) {
     return Stream.concat(list.stream(), Stream.of(element))
         .collect(Collectors.toList());
@@ -149,6 +188,99 @@ public class TransformUtils {
     return selectionSet.transform(builder -> builder.selections(selections));
   }
 
+  // Collects the named fragments spread within the selection set, including those spread by other fragments
+  public static Map<String, FragmentDefinition> collectFragmentDefinitions(SelectionSet selectionSet,
+      Map<String, FragmentDefinition> fragmentDefinitions) {
+    var usedFragmentDefinitions = new LinkedHashMap<String, FragmentDefinition>();
+    collectFragmentDefinitions(selectionSet, fragmentDefinitions, usedFragmentDefinitions);
+    return Collections.unmodifiableMap(usedFragmentDefinitions);
+  }
+
+  private static void collectFragmentDefinitions(SelectionSet selectionSet,
+      Map<String, FragmentDefinition> fragmentDefinitions, Map<String, FragmentDefinition> usedFragmentDefinitions) {
+    if (selectionSet == null) {
+      return;
+    }
+
+    for (Selection<?> selection : selectionSet.getSelections()) {
+      if (selection instanceof Field) {
+        collectFragmentDefinitions(((Field) selection).getSelectionSet(), fragmentDefinitions,
+            usedFragmentDefinitions);
+      } else if (selection instanceof InlineFragment) {
+        collectFragmentDefinitions(((InlineFragment) selection).getSelectionSet(), fragmentDefinitions,
+            usedFragmentDefinitions);
+      } else if (selection instanceof FragmentSpread) {
+        var fragmentName = ((FragmentSpread) selection).getName();
+        var fragmentDefinition = fragmentDefinitions.get(fragmentName);
+
+        if (fragmentDefinition != null && !usedFragmentDefinitions.containsKey(fragmentName)) {
+          usedFragmentDefinitions.put(fragmentName, fragmentDefinition);
+          collectFragmentDefinitions(fragmentDefinition.getSelectionSet(), fragmentDefinitions,
+              usedFragmentDefinitions);
+        }
+      }
+    }
+  }
+
+  // Replaces named fragment spreads by inline fragments, for transforms which depend on the position of a field
+  public static Request inlineFragments(Request request) {
+    if (request.getFragmentDefinitions()
+        .isEmpty()) {
+      return request;
+    }
+
+    return request.transform(builder -> builder
+        .selectionSet(inlineFragments(request.getSelectionSet(), request.getFragmentDefinitions()))
+        .fragmentDefinitions(Map.of()));
+  }
+
+  @SuppressWarnings("rawtypes")
+  public static SelectionSet inlineFragments(SelectionSet selectionSet,
+      Map<String, FragmentDefinition> fragmentDefinitions) {
+    if (selectionSet == null || fragmentDefinitions.isEmpty()) {
+      return selectionSet;
+    }
+
+    List<Selection> selections = selectionSet.getSelections()
+        .stream()
+        .map(selection -> inlineFragments(selection, fragmentDefinitions))
+        .collect(Collectors.toList());
+
+    return selectionSet.transform(builder -> builder.selections(selections));
+  }
+
+  private static Selection<?> inlineFragments(Selection<?> selection,
+      Map<String, FragmentDefinition> fragmentDefinitions) {
+    if (selection instanceof Field) {
+      var field = (Field) selection;
+      return field.transform(builder -> builder.selectionSet(inlineFragments(field.getSelectionSet(),
+          fragmentDefinitions)));
+    }
+
+    if (selection instanceof InlineFragment) {
+      var inlineFragment = (InlineFragment) selection;
+      return inlineFragment.transform(builder -> builder.selectionSet(inlineFragments(inlineFragment
+          .getSelectionSet(), fragmentDefinitions)));
+    }
+
+    if (selection instanceof FragmentSpread) {
+      var fragmentSpread = (FragmentSpread) selection;
+      var fragmentDefinition = fragmentDefinitions.get(fragmentSpread.getName());
+
+      if (fragmentDefinition == null) {
+        throw new TransformException(String.format("Fragment '%s' not found.", fragmentSpread.getName()));
+      }
+
+      return InlineFragment.newInlineFragment()
+          .typeCondition(fragmentDefinition.getTypeCondition())
+          .directives(fragmentSpread.getDirectives())
+          .selectionSet(inlineFragments(fragmentDefinition.getSelectionSet(), fragmentDefinitions))
+          .build();
+    }
+
+    return selection;
+  }
+
   @SuppressWarnings("rawtypes")
   public static List<String> getResultPath(TraverserContext<Node> traverserContext) {
     return Lists.reverse(traverserContext.getParentNodes())
@@ -159,65 +291,75 @@ public class TransformUtils {
         .collect(Collectors.toList());
   }
 
-  public static Object getFieldValue(Object data, List<String> fieldPath) {
-    var fieldPathSize = fieldPath.size();
-    var fieldValue = getFieldValue(data, fieldPath.get(0));
-
-    // Field (or parent) is absent or target field has been reached
-    if (fieldValue == null || fieldPathSize == 1) {
-      return fieldValue;
+  public static List<GraphQLError> mapErrorPaths(List<GraphQLError> errors, UnaryOperator<List<Object>> pathMapper) {
+    if (errors.isEmpty()) {
+      return errors;
     }
 
-    return getFieldValue(fieldValue, fieldPath.subList(1, fieldPathSize));
-  }
+    return errors.stream()
+        .map(error -> {
+          if (error.getPath() == null) {
+            return error;
+          }
 
-  @SuppressWarnings("unchecked")
-  public static Object getFieldValue(Object data, String fieldKey) {
-    if (data == null) {
-      return null;
-    }
+          var path = pathMapper.apply(error.getPath());
+          return path.equals(error.getPath()) ? error : relocateError(error, path, error.getLocations());
+        })
+        .collect(Collectors.toList());
+  }
 
-    if (data instanceof List) {
-      return (((List<Object>) data).stream()).map(item -> getFieldValue(item, fieldKey))
-          .filter(Objects::nonNull)
-          .collect(Collectors.toList());
-    }
+  public static GraphQLError relocateError(GraphQLError error, List<Object> path, List<SourceLocation> locations) {
+    return GraphqlErrorBuilder.newError()
+        .message(error.getMessage())
+        .path(path)
+        .locations(locations)
+        .errorType(error.getErrorType())
+        .extensions(error.getExtensions())
+        .build();
+  }
 
-    if (data instanceof Map) {
-      return ((Map<String, Object>) data).get(fieldKey);
-    }
+  // Superseded by FieldPath, which compiles the path once instead of walking it recursively for every call
+  @Deprecated
+  public static Object getFieldValue(Object data, List<String> fieldPath) {
+    return FieldPath.of(fieldPath)
+        .getValue(data);
+  }
 
-    throw new TransformException("Unsupported field type.");
+  @Deprecated
+  public static Object getFieldValue(Object data, String fieldKey) {
+    return FieldPath.of(List.of(fieldKey))
+        .getValue(data);
   }
 
+  @Deprecated
   public static Map<String, Object> putMapValue(Map<String, Object> inputMap, String key, Object value) {
     var dataMap = new HashMap<>(inputMap);
     dataMap.put(key, value);
-    return unmodifiableMap(dataMap);
+    return Collections.unmodifiableMap(dataMap);
   }
 
+  // Superseded by ResultRewriter, which applies any number of paths in one pass and only copies rewritten containers
+  @Deprecated
   public static Object mapTransform(Object data, List<String> fieldPath, UnaryOperator<Map<String, Object>> mapper) {
     return mapApply(data, dataMap -> mapTransform(dataMap, fieldPath, mapper));
   }
 
+  @Deprecated
+  @SuppressWarnings("unchecked")
   public static Map<String, Object> mapTransform(Map<String, Object> data, List<String> fieldPath,
       UnaryOperator<Map<String, Object>> mapper) {
-    var fieldPathSize = fieldPath.size();
-    var fieldKey = fieldPath.get(0);
-    var fieldValue = data.get(fieldKey);
-
-    if (fieldValue == null) {
-      return putMapValue(data, fieldKey, null);
-    }
+    var fieldKey = fieldPath.get(fieldPath.size() - 1);
+    var resultRewriter = new ResultRewriter();
 
-    // Recursively transform nested values, if final field has not been reached yet
-    if (fieldPathSize > 1) {
-      return putMapValue(data, fieldKey, mapTransform(fieldValue, fieldPath.subList(1, fieldPathSize), mapper));
-    }
+    resultRewriter.addField(fieldPath.subList(0, fieldPath.size() - 1), fieldKey, container -> {
+      var fieldValue = container.get(fieldKey);
+      return fieldValue != null ? mapApply(fieldValue, mapper) : null;
+    });
 
-    return putMapValue(data, fieldKey, mapApply(fieldValue, mapper));
+    return (Map<String, Object>) resultRewriter.rewrite(data, false);
   }
 
+  @Deprecated
   @SuppressWarnings("unchecked")
   public static Object mapApply(Object data, UnaryOperator<Map<String, Object>> mapper) {
     if (data instanceof List) {
@@ -233,6 +375,7 @@ public class TransformUtils {
     throw new TransformException("Unsupported field type.");
   }
 
+  @Deprecated
   public static <T> T noopCombiner(T o1, T o2) {
     throw new TransformException("Combining should never happen, since streams must be processed sequentially.");
   }
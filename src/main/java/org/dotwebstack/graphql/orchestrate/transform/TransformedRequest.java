@@ -0,0 +1,61 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+
+@Getter
+@Builder(builderMethodName = "newTransformedRequest")
+public final class TransformedRequest {
+
+  @NonNull
+  private final Request request;
+
+  @NonNull
+  @Builder.Default
+  private final UnaryOperator<Result> resultMapper = UnaryOperator.identity();
+
+  // Replaces the result mapper for transforms which map results asynchronously (e.g. transforms in continuation
+  // style). These mappers are bound to the request they were created for, so these must not be shared.
+  private final Function<Result, CompletableFuture<Result>> asyncResultMapper;
+
+  public static TransformedRequest of(@NonNull Request request) {
+    return newTransformedRequest().request(request)
+        .build();
+  }
+
+  // Requests without an asynchronous result mapper can be shared by requests with identical selections
+  public boolean isShareable() {
+    return asyncResultMapper == null;
+  }
+
+  public CompletableFuture<Result> mapResult(@NonNull Result result) {
+    try {
+      return asyncResultMapper != null ? asyncResultMapper.apply(result)
+          : CompletableFuture.completedFuture(resultMapper.apply(result));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  public TransformedRequest andThen(@NonNull TransformedRequest innerRequest) {
+    if (!isShareable() || !innerRequest.isShareable()) {
+      return newTransformedRequest().request(innerRequest.getRequest())
+          .asyncResultMapper(result -> innerRequest.mapResult(result)
+              .thenCompose(this::mapResult))
+          .build();
+    }
+
+    var outerMapper = resultMapper;
+    var innerMapper = innerRequest.getResultMapper();
+
+    return newTransformedRequest().request(innerRequest.getRequest())
+        .resultMapper(result -> outerMapper.apply(innerMapper.apply(result)))
+        .build();
+  }
+}
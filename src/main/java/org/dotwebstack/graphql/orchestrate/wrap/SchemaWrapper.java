@@ -3,10 +3,19 @@ package org.dotwebstack.graphql.orchestrate.wrap;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.NonNull;
+import org.dotwebstack.graphql.orchestrate.delegate.BatchingDelegator;
+import org.dotwebstack.graphql.orchestrate.delegate.Delegator;
 import org.dotwebstack.graphql.orchestrate.delegate.SimpleDelegator;
+import org.dotwebstack.graphql.orchestrate.delegate.SubscriptionDelegator;
 import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
 import org.dotwebstack.graphql.orchestrate.transform.TransformContext;
 
 public class SchemaWrapper {
@@ -16,38 +25,76 @@ public class SchemaWrapper {
   public static GraphQLSchema wrap(@NonNull Subschema subschema) {
     var originalSchema = subschema.getSchema();
 
+    var transformContext = TransformContext.newContext()
+        .subschema(subschema)
+        .build();
+
+    // Transforms are compiled per subschema, so a single transform instance can be shared by many subschemas
+    var compiledTransform = Optional.ofNullable(subschema.getTransform())
+        .map(transform -> transform.compile(originalSchema, transformContext))
+        .orElseGet(() -> CompiledTransform.identity(originalSchema));
+
+    var transformedSchema = compiledTransform.getTransformedSchema();
+
     // Wrapped schema gets it own fresh code registry
     var codeRegistryBuilder = GraphQLCodeRegistry.newCodeRegistry();
 
-    // Attach delegate fetchers for all root fields
-    originalSchema.getQueryType()
-        .getFieldDefinitions()
-        .forEach(fieldDefinition -> codeRegistryBuilder.dataFetcher(originalSchema.getQueryType(), fieldDefinition,
-            createDataFetcher(subschema, fieldDefinition)));
+    // All query root fields of a single wrapped subschema share the same batch
+    var dataLoaderKey = SchemaWrapper.class.getName() + ":" + UUID.randomUUID();
 
-    var transformContext = TransformContext.newContext()
-        .subschema(subschema)
-        .build();
+    // Attach delegate fetchers for all (transformed) root fields
+    Stream.of(transformedSchema.getQueryType(), transformedSchema.getMutationType(),
+        transformedSchema.getSubscriptionType())
+        .filter(Objects::nonNull)
+        .forEach(rootType -> rootType.getFieldDefinitions()
+            .forEach(fieldDefinition -> codeRegistryBuilder.dataFetcher(rootType, fieldDefinition,
+                createDataFetcher(subschema, compiledTransform, rootType, fieldDefinition, dataLoaderKey))));
 
-    // Create new schema with fresh code registry
-    var wrappedSchema = originalSchema.transform(builder -> builder.codeRegistry(codeRegistryBuilder.build()));
+    return transformedSchema.transform(builder -> builder.codeRegistry(codeRegistryBuilder.build()));
+  }
 
-    if (subschema.getTransform() != null) {
-      wrappedSchema = subschema.getTransform()
-          .transformSchema(wrappedSchema, transformContext);
-    }
+  private static DataFetcher<Object> createDataFetcher(Subschema subschema, CompiledTransform compiledTransform,
+      GraphQLObjectType rootType, GraphQLFieldDefinition fieldDefinition, String dataLoaderKey) {
+    var delegator = createDelegator(subschema, compiledTransform, rootType, fieldDefinition, dataLoaderKey);
 
-    return wrappedSchema;
+    return delegator::delegate;
   }
 
-  private static DataFetcher<Object> createDataFetcher(Subschema subschema, GraphQLFieldDefinition fieldDefinition) {
-    var delegator = SimpleDelegator.newDelegator()
+  private static Delegator createDelegator(Subschema subschema, CompiledTransform compiledTransform,
+      GraphQLObjectType rootType, GraphQLFieldDefinition fieldDefinition, String dataLoaderKey) {
+    var schema = compiledTransform.getTransformedSchema();
+
+    if (rootType == schema.getSubscriptionType()) {
+      return SubscriptionDelegator.newDelegator()
+          .subschema(subschema)
+          .fieldName(fieldDefinition.getName())
+          .planCache(subschema.getPlanCache())
+          .compiledTransform(compiledTransform)
+          .argsFromEnv(environment -> environment.getField()
+              .getArguments())
+          .build();
+    }
+
+    // Mutation fields are never batched, since each of them must be executed after the previous one completed
+    if (subschema.isBatching() && rootType == schema.getQueryType()) {
+      return BatchingDelegator.newDelegator()
+          .subschema(subschema)
+          .fieldName(fieldDefinition.getName())
+          .planCache(subschema.getPlanCache())
+          .compiledTransform(compiledTransform)
+          .argsFromEnv(environment -> environment.getField()
+              .getArguments())
+          .dataLoaderKey(dataLoaderKey)
+          .build();
+    }
+
+    return SimpleDelegator.newDelegator()
         .subschema(subschema)
         .fieldName(fieldDefinition.getName())
+        .planCache(subschema.getPlanCache())
+        .compiledTransform(compiledTransform)
         .argsFromEnv(environment -> environment.getField()
             .getArguments())
         .build();
-
-    return delegator::delegate;
   }
 }
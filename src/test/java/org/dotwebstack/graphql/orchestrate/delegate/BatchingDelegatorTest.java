@@ -0,0 +1,162 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.rethrowFutureException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.MergedField;
+import graphql.execution.ResultPath;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoaderRegistry;
+import org.dotwebstack.graphql.orchestrate.schema.Executor;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.wrap.SchemaWrapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingDelegatorTest {
+
+  @Mock
+  private Executor executor;
+
+  @Captor
+  private ArgumentCaptor<ExecutionInput> inputCaptor;
+
+  @Test
+  void delegate_mergesRootFields_intoSingleOperation() {
+    when(executor.execute(inputCaptor.capture()))
+        .thenReturn(CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+            .data(Map.of("_0_brewery", Map.of("name", "foo"), "_1_brewery", Map.of("name", "bar")))
+            .build()));
+
+    var result = createGraphql().execute(ExecutionInput.newExecutionInput()
+        .query("{a: brewery(identifier:\"1\") {name} b: brewery(identifier:\"2\") {name}}")
+        .dataLoaderRegistry(new DataLoaderRegistry())
+        .build());
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("a", Map.of("name", "foo"), "b", Map.of("name", "bar"))));
+    verify(executor, times(1)).execute(any());
+    assertThat(inputCaptor.getValue()
+        .getQuery(),
+        equalTo("{\n  _0_brewery: brewery(identifier: \"1\") {\n    name\n  }\n"
+            + "  _1_brewery: brewery(identifier: \"2\") {\n    name\n  }\n}"));
+  }
+
+  @Test
+  void delegate_failsOnlyAffectedField_whenErrorHasPath() {
+    var error = GraphqlErrorBuilder.newError()
+        .message("Something went wrong.")
+        .path(ResultPath.parse("/_1_brewery/name"))
+        .build();
+
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("_0_brewery", Map.of("name", "foo")))
+        .addError(error)
+        .build()));
+
+    var result = createGraphql().execute(ExecutionInput.newExecutionInput()
+        .query("{a: brewery(identifier:\"1\") {name} b: brewery(identifier:\"2\") {name}}")
+        .dataLoaderRegistry(new DataLoaderRegistry())
+        .build());
+
+    Map<String, Object> data = result.getData();
+    assertThat(data.get("a"), equalTo(Map.of("name", "foo")));
+    assertThat(data.get("b"), is((Object) null));
+    assertThat(result.getErrors()
+        .size(), is(1));
+    assertThat(result.getErrors()
+        .get(0)
+        .getPath(), equalTo(List.of("b", "name")));
+  }
+
+  @Test
+  void delegate_executesDirectly_withoutDataLoaderRegistry() throws Exception {
+    when(executor.execute(inputCaptor.capture()))
+        .thenReturn(CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+            .data(Map.of("_0_brewery", Map.of("name", "foo")))
+            .build()));
+
+    var result = createDelegator().delegate(createEnvironment());
+
+    assertThat(result.get(), equalTo(Map.of("name", "foo")));
+    assertThat(inputCaptor.getValue()
+        .getQuery(), equalTo("{\n  _0_brewery: brewery {\n    name\n  }\n}"));
+  }
+
+  @Test
+  void delegate_throwsException_whenErrorWithoutPath() {
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+        .addError(GraphqlErrorBuilder.newError()
+            .message("Something went wrong.")
+            .build())
+        .build()));
+
+    var result = createDelegator().delegate(createEnvironment());
+
+    assertThrows(DelegateException.class, () -> rethrowFutureException(result));
+  }
+
+  private GraphQL createGraphql() {
+    var subschema = Subschema.newSubschema()
+        .schema(loadSchema("dbeerpedia"))
+        .executor(executor)
+        .batching(true)
+        .build();
+
+    return GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build();
+  }
+
+  private BatchingDelegator createDelegator() {
+    return BatchingDelegator.newDelegator()
+        .subschema(Subschema.newSubschema()
+            .schema(loadSchema("dbeerpedia"))
+            .executor(executor)
+            .build())
+        .fieldName("brewery")
+        .dataLoaderKey("brewery")
+        .build();
+  }
+
+  private DataFetchingEnvironment createEnvironment() {
+    var field = Field.newField("brewery")
+        .selectionSet(SelectionSet.newSelectionSet()
+            .selection(new Field("name"))
+            .build())
+        .build();
+
+    return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+        .operationDefinition(OperationDefinition.newOperationDefinition()
+            .operation(OperationDefinition.Operation.QUERY)
+            .build())
+        .mergedField(MergedField.newMergedField()
+            .addField(field)
+            .build())
+        .build();
+  }
+}
@@ -0,0 +1,148 @@
+package org.dotwebstack.graphql.orchestrate.delegate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import graphql.language.Argument;
+import graphql.language.Field;
+import graphql.language.SelectionSet;
+import graphql.language.StringValue;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.junit.jupiter.api.Test;
+
+class DelegationPlanCacheTest {
+
+  @Test
+  void constructor_throwsException_forNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class, () -> new DelegationPlanCache(0));
+  }
+
+  @Test
+  void getPlan_returnsCachedPlan_forStructurallyEqualField() {
+    var cache = new DelegationPlanCache(10);
+    var plan = createPlan("{foo}");
+
+    var plan1 = cache.getPlan(new DelegationPlanKey(createField("foo"), List.of()), () -> plan);
+    var plan2 = cache.getPlan(new DelegationPlanKey(createField("foo"), List.of()), () -> createPlan("{bar}"));
+
+    assertThat(plan1, sameInstance(plan));
+    assertThat(plan2, sameInstance(plan));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.size(), is(1));
+  }
+
+  @Test
+  void getPlan_doesNotCachePlan_boundToPlannedRequest() {
+    var cache = new DelegationPlanCache(10);
+    var plan = DelegationPlan.newPlan()
+        .request(Request.newRequest()
+            .selectionSet(new SelectionSet(List.of()))
+            .build())
+        .query("{foo}")
+        .asyncResultMapper(CompletableFuture::completedFuture)
+        .build();
+
+    var plan1 = cache.getPlan(new DelegationPlanKey(createField("foo"), List.of()), () -> plan);
+    var plan2 = cache.getPlan(new DelegationPlanKey(createField("foo"), List.of()), () -> createPlan("{bar}"));
+
+    assertThat(plan1, sameInstance(plan));
+    assertThat(plan2.getQuery(), equalTo("{bar}"));
+    assertThat(cache.getHitCount(), is(0L));
+    assertThat(cache.getMissCount(), is(2L));
+  }
+
+  @Test
+  void getPlan_computesNewPlan_forDifferentVariableDefinitions() {
+    var cache = new DelegationPlanCache(10);
+    var field = createField("foo");
+    var variableDefinitions = List.of(new VariableDefinition("identifier", new TypeName("String")));
+
+    cache.getPlan(new DelegationPlanKey(field, List.of()), () -> createPlan("{foo}"));
+    var plan = cache.getPlan(new DelegationPlanKey(field, variableDefinitions), () -> createPlan("query {foo}"));
+
+    assertThat(plan.getQuery(), equalTo("query {foo}"));
+    assertThat(cache.getMissCount(), is(2L));
+  }
+
+  @Test
+  void getPlan_evictsEntries_whenMaximumSizeExceeded() {
+    var cache = new DelegationPlanCache(2);
+
+    cache.getPlan(new DelegationPlanKey(createField("foo"), List.of()), () -> createPlan("{foo}"));
+    cache.getPlan(new DelegationPlanKey(createField("bar"), List.of()), () -> createPlan("{bar}"));
+    cache.getPlan(new DelegationPlanKey(createField("baz"), List.of()), () -> createPlan("{baz}"));
+
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictionCount(), is(1L));
+  }
+
+  @Test
+  void getPlan_keepsHotEntries_whileColdEntriesFillCache() {
+    var cache = new DelegationPlanCache(8);
+    var hotKeys = List.of("hot1", "hot2", "hot3", "hot4");
+
+    hotKeys.forEach(hotKey -> cache.getPlan(new DelegationPlanKey(createField(hotKey), List.of()),
+        () -> createPlan("{hot}")));
+
+    for (var index = 0; index < 1000; index++) {
+      cache.getPlan(new DelegationPlanKey(createField("cold" + index), List.of()), () -> createPlan("{cold}"));
+      hotKeys.forEach(hotKey -> cache.getPlan(new DelegationPlanKey(createField(hotKey), List.of()),
+          () -> createPlan("{evicted}")));
+    }
+
+    assertThat(cache.getMissCount(), is(1004L));
+    assertThat(cache.getHitCount(), is(4000L));
+    assertThat(cache.size(), is(8));
+  }
+
+  @Test
+  void keyEquals_distinguishesArgumentValues() {
+    var key1 = new DelegationPlanKey(createField("val1"), List.of());
+    var key2 = new DelegationPlanKey(createField("val2"), List.of());
+    var key3 = new DelegationPlanKey(createField("val1"), List.of());
+
+    assertThat(key1.equals(key2), is(false));
+    assertThat(key1.equals(key3), is(true));
+    assertThat(key1.hashCode(), is(key3.hashCode()));
+  }
+
+  @Test
+  void keyEquals_distinguishesVariableReferences() {
+    var key1 = new DelegationPlanKey(createField(new VariableReference("foo")), List.of());
+    var key2 = new DelegationPlanKey(createField(new VariableReference("bar")), List.of());
+
+    assertThat(key1.equals(key2), is(false));
+  }
+
+  private static Field createField(String argumentValue) {
+    return createField(StringValue.of(argumentValue));
+  }
+
+  private static Field createField(Value<?> argumentValue) {
+    return Field.newField("brewery")
+        .arguments(List.of(new Argument("identifier", argumentValue)))
+        .selectionSet(SelectionSet.newSelectionSet()
+            .selection(new Field("name"))
+            .build())
+        .build();
+  }
+
+  private static DelegationPlan createPlan(String query) {
+    return DelegationPlan.newPlan()
+        .request(Request.newRequest()
+            .selectionSet(new SelectionSet(List.of()))
+            .build())
+        .query(query)
+        .build();
+  }
+}
@@ -4,6 +4,8 @@ import static org.dotwebstack.graphql.orchestrate.test.TestUtils.rethrowFutureEx
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import graphql.ExecutionInput;
@@ -11,6 +13,7 @@ import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.execution.MergedField;
 import graphql.language.Argument;
+import graphql.language.Directive;
 import graphql.language.Field;
 import graphql.language.OperationDefinition;
 import graphql.language.SelectionSet;
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import org.dotwebstack.graphql.orchestrate.instrumentation.Instrumentation;
 import org.dotwebstack.graphql.orchestrate.schema.Subschema;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -104,6 +108,27 @@ class SimpleDelegatorTest {
         "query ($identifier: String) {\n" + "  foo(identifier: $identifier) {\n" + "    name\n" + "  }\n" + "}"));
   }
 
+  @Test
+  void delegate_prunesVars_whenNotReferenced() throws Exception {
+    var arguments = List.of(new Argument("identifier", new VariableReference("identifier")));
+    var variableDefinitions = List.of(new VariableDefinition("identifier", new TypeName("String")),
+        new VariableDefinition("input", new TypeName("BreweryInput")));
+    Map<String, Object> variables = Map.of("identifier", "foo", "input", Map.of("name", "bar"));
+    var environment = createEnvironment(createField(arguments), null, variableDefinitions, variables);
+
+    ArgsFromEnvFunction argsFromEnv = env -> env.getField()
+        .getArguments();
+
+    var delegator = createDelegator(argsFromEnv);
+    delegator.delegate(environment)
+        .get();
+
+    var executionInput = queryCaptor.getValue();
+    assertThat(executionInput.getVariables(), equalTo(Map.of("identifier", "foo")));
+    assertThat(executionInput.getQuery(), equalTo(
+        "query ($identifier: String) {\n" + "  foo(identifier: $identifier) {\n" + "    name\n" + "  }\n" + "}"));
+  }
+
   @Test
   void delegate_throwsException_whenExecutionResultContainsErrors() {
     var environment = createEnvironment(createField(List.of()), null, List.of(), Map.of());
@@ -116,18 +141,95 @@ class SimpleDelegatorTest {
     assertThrows(DelegateException.class, () -> rethrowFutureException(result));
   }
 
+  @Test
+  void delegate_reusesPlan_whenFieldShapeCached() throws Exception {
+    var planCache = new DelegationPlanCache(10);
+    var delegator = createDelegator(null, planCache);
+
+    var result1 = delegator.delegate(createEnvironment(createField(List.of()), null, List.of(), Map.of()));
+    var result2 = delegator.delegate(createEnvironment(createField(List.of()), null, List.of(), Map.of()));
+
+    assertThat(result1.get(), equalTo("bar"));
+    assertThat(result2.get(), equalTo("bar"));
+    assertThat(planCache.getMissCount(), equalTo(1L));
+    assertThat(planCache.getHitCount(), equalTo(1L));
+    verify(subschema, times(1)).getTransform();
+
+    var executionInputs = queryCaptor.getAllValues();
+    assertThat(executionInputs.get(1)
+        .getQuery(), equalTo("{\n  foo {\n    name\n  }\n}"));
+  }
+
+  @Test
+  void delegate_createsNewPlan_whenArgumentsDiffer() throws Exception {
+    var planCache = new DelegationPlanCache(10);
+
+    ArgsFromEnvFunction argsFromEnv = env -> {
+      Map<String, String> source = env.getSource();
+      return List.of(new Argument("arg1", StringValue.of(source.get("key1"))));
+    };
+
+    var delegator = createDelegator(argsFromEnv, planCache);
+
+    delegator.delegate(createEnvironment(createField(List.of()), Map.of("key1", "val1"), List.of(), Map.of()));
+    delegator.delegate(createEnvironment(createField(List.of()), Map.of("key1", "val2"), List.of(), Map.of()));
+
+    assertThat(planCache.getMissCount(), equalTo(2L));
+    assertThat(planCache.getHitCount(), equalTo(0L));
+    assertThat(queryCaptor.getAllValues()
+        .get(1)
+        .getQuery(), equalTo("{\n  foo(arg1: \"val2\") {\n    name\n  }\n}"));
+  }
+
+  @Test
+  void delegate_createsNewPlan_whenSkipConditionDiffers() {
+    var planCache = new DelegationPlanCache(10);
+    var delegator = createDelegator(null, planCache);
+
+    var field = Field.newField("brewery")
+        .selectionSet(SelectionSet.newSelectionSet()
+            .selection(Field.newField("name")
+                .directives(List.of(Directive.newDirective()
+                    .name("skip")
+                    .argument(new Argument("if", new VariableReference("skipName")))
+                    .build()))
+                .build())
+            .build())
+        .build();
+
+    delegator.delegate(createEnvironment(field, null, List.of(), Map.of("skipName", true)));
+    delegator.delegate(createEnvironment(field, null, List.of(), Map.of("skipName", false)));
+    delegator.delegate(createEnvironment(field, null, List.of(), Map.of("skipName", false)));
+
+    assertThat(planCache.getMissCount(), equalTo(2L));
+    assertThat(planCache.getHitCount(), equalTo(1L));
+  }
+
   private SimpleDelegator createDelegator(ArgsFromEnvFunction argsFromEnv) {
     return createDelegator(argsFromEnv, ExecutionResultImpl.newExecutionResult()
         .data(Map.of("foo", "bar"))
         .build());
   }
 
+  private SimpleDelegator createDelegator(ArgsFromEnvFunction argsFromEnv, DelegationPlanCache planCache) {
+    return createDelegator(argsFromEnv, ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("foo", "bar"))
+        .build(), planCache);
+  }
+
   private SimpleDelegator createDelegator(ArgsFromEnvFunction argsFromEnv, ExecutionResult executionResult) {
+    return createDelegator(argsFromEnv, executionResult, null);
+  }
+
+  private SimpleDelegator createDelegator(ArgsFromEnvFunction argsFromEnv, ExecutionResult executionResult,
+      DelegationPlanCache planCache) {
     when(subschema.execute(queryCaptor.capture())).thenReturn(CompletableFuture.completedFuture(executionResult));
+    when(subschema.getInstrumentation()).thenReturn(Instrumentation.NOOP);
 
     var delegatorBuilder = SimpleDelegator.newDelegator()
         .subschema(subschema)
-        .fieldName("foo");
+        .fieldName("foo")
+        .planCache(planCache);
 
     if (argsFromEnv != null) {
       delegatorBuilder.argsFromEnv(argsFromEnv);
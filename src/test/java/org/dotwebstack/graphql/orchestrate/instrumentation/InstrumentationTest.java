@@ -0,0 +1,90 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationTest {
+
+  private final List<Phase> beginnings = new ArrayList<>();
+
+  private final List<Throwable> endings = new ArrayList<>();
+
+  private final List<Duration> durations = new ArrayList<>();
+
+  private final Instrumentation instrumentation = (phase, name) -> {
+    beginnings.add(phase);
+
+    return (duration, throwable) -> {
+      durations.add(duration);
+      endings.add(throwable);
+    };
+  };
+
+  @Test
+  void instrument_endsPhase_withDuration() {
+    var value = instrumentation.instrument(Phase.QUERY_PRINTING, "foo", () -> "bar");
+
+    assertThat(value, is("bar"));
+    assertThat(beginnings, is(List.of(Phase.QUERY_PRINTING)));
+    assertThat(durations.get(0), notNullValue());
+    assertThat(endings.get(0), nullValue());
+  }
+
+  @Test
+  void instrument_endsPhase_withThrownException() {
+    assertThrows(IllegalStateException.class, () -> instrumentation.instrument(Phase.REQUEST_TRANSFORM, "foo", () -> {
+      throw new IllegalStateException();
+    }));
+
+    assertThat(endings.get(0), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void instrumentAsync_endsPhase_onceFutureCompletes() {
+    var future = new CompletableFuture<String>();
+
+    instrumentation.instrumentAsync(Phase.EXECUTION, "foo", () -> future);
+
+    assertThat(beginnings, is(List.of(Phase.EXECUTION)));
+    assertThat(endings.isEmpty(), is(true));
+
+    future.completeExceptionally(new IllegalStateException());
+
+    assertThat(endings.get(0), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void instrumentAsync_endsPhase_withThrownException() {
+    assertThrows(IllegalStateException.class, () -> instrumentation.instrumentAsync(Phase.EXECUTION, "foo", () -> {
+      throw new IllegalStateException();
+    }));
+
+    assertThat(endings.size(), is(1));
+    assertThat(endings.get(0), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void chain_reportsPhases_toAllInstrumentations() {
+    var otherBeginnings = new ArrayList<String>();
+
+    Instrumentation.chain(instrumentation, (phase, name) -> {
+      otherBeginnings.add(name);
+      return InstrumentationContext.NOOP;
+    })
+        .instrument(Phase.RESULT_TRANSFORM, "foo", () -> "bar");
+
+    assertThat(beginnings, is(List.of(Phase.RESULT_TRANSFORM)));
+    assertThat(endings.size(), is(1));
+    assertThat(otherBeginnings, is(List.of("foo")));
+  }
+}
@@ -0,0 +1,48 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MicrometerInstrumentationTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final MicrometerInstrumentation instrumentation = MicrometerInstrumentation.newInstrumentation()
+      .meterRegistry(meterRegistry)
+      .build();
+
+  @Test
+  void begin_recordsTimer_taggedWithPhaseNameAndOutcome() {
+    instrumentation.begin(Phase.RESULT_TRANSFORM, "HoistField")
+        .end(Duration.ofMillis(5), null);
+    instrumentation.begin(Phase.RESULT_TRANSFORM, "HoistField")
+        .end(Duration.ofMillis(15), null);
+
+    var timer = meterRegistry.get("graphql.orchestrate.phase")
+        .tag("phase", "result_transform")
+        .tag("name", "HoistField")
+        .tag("outcome", "success")
+        .timer();
+
+    assertThat(timer.count(), is(2L));
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS), is(20.0));
+  }
+
+  @Test
+  void begin_recordsTimer_withErrorOutcome() {
+    instrumentation.begin(Phase.EXECUTION, "breweries")
+        .end(Duration.ofMillis(5), new IllegalStateException());
+
+    var timer = meterRegistry.get("graphql.orchestrate.phase")
+        .tag("phase", "execution")
+        .tag("outcome", "error")
+        .timer();
+
+    assertThat(timer.count(), is(1L));
+  }
+}
@@ -0,0 +1,57 @@
+package org.dotwebstack.graphql.orchestrate.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetryInstrumentationTest {
+
+  private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+
+  private final OpenTelemetryInstrumentation instrumentation = OpenTelemetryInstrumentation.newInstrumentation()
+      .tracer(SdkTracerProvider.builder()
+          .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+          .build()
+          .get("graphql-orchestrate"))
+      .build();
+
+  @Test
+  void begin_startsSpan_endedByContext() {
+    var context = instrumentation.begin(Phase.REQUEST_TRANSFORM, "RenameTypes");
+
+    assertThat(spanExporter.getFinishedSpanItems()
+        .isEmpty(), is(true));
+
+    context.end(Duration.ofMillis(5), null);
+
+    var span = spanExporter.getFinishedSpanItems()
+        .get(0);
+
+    assertThat(span.getName(), is("graphql.orchestrate.request_transform"));
+    assertThat(span.getAttributes()
+        .get(OpenTelemetryInstrumentation.NAME), is("RenameTypes"));
+    assertThat(span.getStatus()
+        .getStatusCode(), is(StatusCode.UNSET));
+  }
+
+  @Test
+  void begin_startsSpan_withErrorStatusOnFailure() {
+    instrumentation.begin(Phase.EXECUTION, "breweries")
+        .end(Duration.ofMillis(5), new IllegalStateException("Upstream failed."));
+
+    var span = spanExporter.getFinishedSpanItems()
+        .get(0);
+
+    assertThat(span.getStatus()
+        .getStatusCode(), is(StatusCode.ERROR));
+    assertThat(span.getEvents()
+        .get(0)
+        .getName(), is("exception"));
+  }
+}
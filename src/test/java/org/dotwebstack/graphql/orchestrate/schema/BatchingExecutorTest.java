@@ -0,0 +1,203 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class BatchingExecutorTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private MockWebServer mockWebServer;
+
+  private RemoteExecutor remoteExecutor;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+
+    remoteExecutor = RemoteExecutor.newExecutor()
+        .endpoint(URI.create(String.format("http://%s:%d", mockWebServer.getHostName(), mockWebServer.getPort())))
+        .webClient(WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector())
+            .build())
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void execute_sendsOperationsOfWindow_asSingleArrayRequest() throws Exception {
+    var executor = createExecutor();
+
+    enqueue(List.of(Map.of("data", Map.of("foo", 1)), Map.of("data", Map.of("bar", 2))));
+
+    var result1 = executor.execute(createInput("{foo}"));
+    var result2 = executor.execute(createInput("{bar}"));
+
+    assertThat(result1.get()
+        .getData(), equalTo(Map.of("foo", 1)));
+    assertThat(result2.get()
+        .getData(), equalTo(Map.of("bar", 2)));
+
+    var requestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(requestBody, instanceOf(List.class));
+    assertThat(((List<?>) requestBody).size(), is(2));
+    assertThat(((Map<?, ?>) ((List<?>) requestBody).get(0)).get("query"), equalTo("{foo}"));
+    assertThat(mockWebServer.getRequestCount(), is(1));
+  }
+
+  @Test
+  void execute_sendsBatchRightAway_ifMaxBatchSizeReached() throws Exception {
+    var executor = BatchingExecutor.newExecutor()
+        .remoteExecutor(remoteExecutor)
+        .batchWindow(Duration.ofMinutes(1))
+        .maxBatchSize(2)
+        .build();
+
+    enqueue(List.of(Map.of("data", Map.of("foo", 1)), Map.of("data", Map.of("bar", 2))));
+
+    var result1 = executor.execute(createInput("{foo}"));
+    var result2 = executor.execute(createInput("{bar}"));
+
+    assertThat(result1.get(5, TimeUnit.SECONDS)
+        .getData(), equalTo(Map.of("foo", 1)));
+    assertThat(result2.get(5, TimeUnit.SECONDS)
+        .getData(), equalTo(Map.of("bar", 2)));
+  }
+
+  @Test
+  void execute_sendsSingleRequest_ifBatchContainsOneOperation() throws Exception {
+    var executor = createExecutor();
+
+    enqueue(Map.of("data", Map.of("foo", 1)));
+
+    var result = executor.execute(createInput("{foo}"));
+
+    assertThat(result.get()
+        .getData(), equalTo(Map.of("foo", 1)));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(Map.class));
+  }
+
+  @Test
+  void execute_fallsBackToSingleRequests_ifBatchIsRejected() throws Exception {
+    enqueue(Map.of("errors", List.of(Map.of("message", "Batching is not supported."))));
+    enqueue(Map.of("data", Map.of("foo", 1)));
+    enqueue(Map.of("data", Map.of("foo", 1)));
+
+    var executor = createExecutor();
+
+    var result1 = executor.execute(createInput("{foo}"));
+    var result2 = executor.execute(createInput("{foo}"));
+
+    assertThat(result1.get()
+        .getData(), equalTo(Map.of("foo", 1)));
+    assertThat(result2.get()
+        .getData(), equalTo(Map.of("foo", 1)));
+
+    enqueue(Map.of("data", Map.of("foo", 1)));
+
+    executor.execute(createInput("{foo}"))
+        .get();
+
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(List.class));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(Map.class));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(Map.class));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(Map.class));
+  }
+
+  @Test
+  void execute_failsBatch_ifEndpointFailsTransiently() throws Exception {
+    enqueue(503, Map.of("errors", List.of(Map.of("message", "Service unavailable."))));
+    enqueue(200, List.of(Map.of("data", Map.of("foo", 1)), Map.of("data", Map.of("bar", 2))));
+
+    var executor = createExecutor();
+
+    var result1 = executor.execute(createInput("{foo}"));
+    var result2 = executor.execute(createInput("{bar}"));
+
+    var exception = assertThrows(ExecutionException.class, result1::get);
+    assertThat(exception.getCause(), instanceOf(GraphqlJavaOrchestrateException.class));
+    assertThrows(ExecutionException.class, result2::get);
+
+    var result3 = executor.execute(createInput("{foo}"));
+    var result4 = executor.execute(createInput("{bar}"));
+
+    assertThat(result3.get()
+        .getData(), equalTo(Map.of("foo", 1)));
+    assertThat(result4.get()
+        .getData(), equalTo(Map.of("bar", 2)));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(List.class));
+    assertThat(getRequestBody(mockWebServer.takeRequest()), instanceOf(List.class));
+  }
+
+  @Test
+  void execute_neverResendsRejectedBatch_ifBatchContainsMutation() throws Exception {
+    enqueue(400, Map.of("errors", List.of(Map.of("message", "Batching is not supported."))));
+
+    var executor = createExecutor();
+
+    var result1 = executor.execute(createInput("{foo}"));
+    var result2 = executor.execute(createInput("mutation {bar}"));
+
+    assertThrows(ExecutionException.class, result1::get);
+    assertThrows(ExecutionException.class, result2::get);
+    assertThat(mockWebServer.getRequestCount(), is(1));
+  }
+
+  private BatchingExecutor createExecutor() {
+    return BatchingExecutor.newExecutor()
+        .remoteExecutor(remoteExecutor)
+        .batchWindow(Duration.ofMillis(100))
+        .build();
+  }
+
+  private void enqueue(Object body) throws IOException {
+    enqueue(200, body);
+  }
+
+  private void enqueue(int status, Object body) throws IOException {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(status)
+        .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(body)));
+  }
+
+  private static ExecutionInput createInput(String query) {
+    return ExecutionInput.newExecutionInput()
+        .query(query)
+        .build();
+  }
+
+  private static Object getRequestBody(RecordedRequest request) throws IOException {
+    return OBJECT_MAPPER.readValue(request.getBody()
+        .readUtf8(), new TypeReference<Object>() {});
+  }
+}
@@ -0,0 +1,232 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionInput;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExecutorTest {
+
+  private static final String QUERY = "query($a: Int) { foo }";
+
+  @Mock
+  private Executor executor;
+
+  @Mock
+  private Clock clock;
+
+  private CachingExecutor cachingExecutor;
+
+  @BeforeEach
+  void setUp() {
+    cachingExecutor = CachingExecutor.newExecutor()
+        .executor(executor)
+        .defaultMaxAge(Duration.ofSeconds(10))
+        .clock(clock)
+        .build();
+  }
+
+  @Test
+  void execute_returnsCachedResult_forIdenticalOperation() throws Exception {
+    when(clock.millis()).thenReturn(0L);
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    var result1 = cachingExecutor.execute(createExecutionInput(QUERY, Map.of("a", 1, "b", Map.of("c", 2, "d", 3))))
+        .get();
+    var result2 = cachingExecutor
+        .execute(createExecutionInput(QUERY, new LinkedHashMap<>(Map.of("b", Map.of("d", 3, "c", 2), "a", 1))))
+        .get();
+
+    assertThat(result2.getData(), equalTo(result1.getData()));
+    assertThat(result2.getData(), not(sameInstance(result1.getData())));
+    assertThat(cachingExecutor.getHitCount(), is(1L));
+    assertThat(cachingExecutor.getMissCount(), is(1L));
+    verify(executor, times(1)).execute(any());
+  }
+
+  @Test
+  void execute_executesAgain_ifEntryExpired() throws Exception {
+    when(clock.millis()).thenReturn(0L, 10_000L);
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_sharesUpstreamExecution_forConcurrentMisses() throws Exception {
+    var upstreamResult = new CompletableFuture<ExecutionResult>();
+    when(executor.execute(any())).thenReturn(upstreamResult);
+
+    var result1 = cachingExecutor.execute(createExecutionInput(QUERY, Map.of()));
+    var result2 = cachingExecutor.execute(createExecutionInput(QUERY, Map.of()));
+
+    upstreamResult.complete(createExecutionResult(Map.of(RemoteExecutor.CACHE_CONTROL_EXTENSION, Map.of("maxAge", 0))));
+
+    assertThat(result1.get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(result2.get()
+        .getData(), not(sameInstance(result1.get()
+            .getData())));
+    assertThat(cachingExecutor.size(), is(0));
+    verify(executor, times(1)).execute(any());
+  }
+
+  @Test
+  void execute_completesExecution_ifExecutorThrowsSynchronously() throws Exception {
+    when(clock.millis()).thenReturn(0L);
+    when(executor.execute(any())).thenThrow(new IllegalStateException())
+        .thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    var result1 = cachingExecutor.execute(createExecutionInput(QUERY, Map.of()));
+
+    assertThat(assertThrows(ExecutionException.class, result1::get).getCause(),
+        instanceOf(IllegalStateException.class));
+    assertThat(cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_usesShortestHintedMaxAge() throws Exception {
+    when(clock.millis()).thenReturn(0L, 5_000L);
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult(
+        Map.of(RemoteExecutor.CACHE_CONTROL_EXTENSION, Map.of("hints", List.of(Map.of("path", List.of("foo"),
+            "maxAge", 60), Map.of("path", List.of("bar"), "maxAge", 5)))))));
+
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_skipsCaching_ifHintScopeIsPrivate() throws Exception {
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult(
+        Map.of(RemoteExecutor.CACHE_CONTROL_EXTENSION, Map.of("hints", List.of(Map.of("maxAge", 60, "scope",
+            "PRIVATE")))))));
+
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_skipsCaching_ifResultHasErrors() throws Exception {
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(ExecutionResultImpl
+        .newExecutionResult()
+        .data(Map.of("foo", "bar"))
+        .addError(GraphqlErrorBuilder.newError()
+            .message("Something went wrong.")
+            .build())
+        .build()));
+
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+    cachingExecutor.execute(createExecutionInput(QUERY, Map.of()))
+        .get();
+
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_evictsEntries_ifMaximumWeightExceeded() throws Exception {
+    var smallExecutor = CachingExecutor.newExecutor()
+        .executor(executor)
+        .defaultMaxAge(Duration.ofSeconds(10))
+        .maximumWeight(300)
+        .clock(clock)
+        .build();
+
+    when(clock.millis()).thenReturn(0L);
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    smallExecutor.execute(createExecutionInput(QUERY, Map.of("id", 1)))
+        .get();
+    smallExecutor.execute(createExecutionInput(QUERY, Map.of("id", 2)))
+        .get();
+
+    assertThat(smallExecutor.size(), is(1));
+    assertThat(smallExecutor.getEvictionCount(), is(1L));
+  }
+
+  @Test
+  void execute_keepsHotEntry_whileColdEntriesFillCache() throws Exception {
+    var smallExecutor = CachingExecutor.newExecutor()
+        .executor(executor)
+        .defaultMaxAge(Duration.ofSeconds(10))
+        .maximumWeight(800)
+        .clock(clock)
+        .build();
+
+    when(clock.millis()).thenReturn(0L);
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    smallExecutor.execute(createExecutionInput(QUERY, Map.of("id", "hot")))
+        .get();
+
+    for (var index = 0; index < 100; index++) {
+      smallExecutor.execute(createExecutionInput(QUERY, Map.of("id", index)))
+          .get();
+      smallExecutor.execute(createExecutionInput(QUERY, Map.of("id", "hot")))
+          .get();
+    }
+
+    assertThat(smallExecutor.getHitCount(), is(100L));
+    verify(executor, times(101)).execute(any());
+  }
+
+  @Test
+  void execute_bypassesCache_forMutations() throws Exception {
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(createExecutionResult()));
+
+    var input = ExecutionInput.newExecutionInput()
+        .query("mutation { foo }")
+        .build();
+
+    cachingExecutor.execute(input)
+        .get();
+    cachingExecutor.execute(input)
+        .get();
+
+    assertThat(cachingExecutor.getMissCount(), is(0L));
+    verify(executor, times(2)).execute(any());
+  }
+}
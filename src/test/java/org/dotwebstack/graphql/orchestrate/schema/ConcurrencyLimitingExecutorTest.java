@@ -0,0 +1,162 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionInput;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import graphql.ExecutionResult;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitingExecutorTest {
+
+  private final List<CompletableFuture<ExecutionResult>> executions = new ArrayList<>();
+
+  private final Clock clock = mock(Clock.class);
+
+  private Instant now = Instant.EPOCH;
+
+  private ConcurrencyLimitingExecutor limitingExecutor;
+
+  @BeforeEach
+  void setUp() {
+    when(clock.instant()).thenAnswer(invocation -> now);
+
+    limitingExecutor = ConcurrencyLimitingExecutor.newExecutor()
+        .executor(input -> {
+          var execution = new CompletableFuture<ExecutionResult>();
+          executions.add(execution);
+          return execution;
+        })
+        .initialLimit(4)
+        .maxQueueSize(1)
+        .clock(clock)
+        .build();
+  }
+
+  @Test
+  void execute_queuesExecutions_beyondLimit() throws Exception {
+    var results = new ArrayList<CompletableFuture<ExecutionResult>>();
+
+    for (var i = 0; i < 5; i++) {
+      results.add(limitingExecutor.execute(createExecutionInput("{ foo }")));
+    }
+
+    assertThat(executions.size(), is(4));
+    assertThat(limitingExecutor.getInFlightCount(), is(4));
+    assertThat(limitingExecutor.getQueuedCount(), is(1));
+
+    executions.get(0)
+        .complete(createExecutionResult());
+
+    assertThat(results.get(0)
+        .get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(executions.size(), is(5));
+    assertThat(limitingExecutor.getQueuedCount(), is(0));
+  }
+
+  @Test
+  void execute_rejectsExecutions_ifQueueIsFull() {
+    for (var i = 0; i < 5; i++) {
+      limitingExecutor.execute(createExecutionInput("{ foo }"));
+    }
+
+    var result = limitingExecutor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(GraphqlJavaOrchestrateException.class));
+    assertThat(limitingExecutor.getRejectedCount(), is(1L));
+    assertThat(executions.size(), is(4));
+  }
+
+  @Test
+  void execute_rejectsQueuedExecution_ifQueueTimeExceeded() {
+    limitingExecutor = ConcurrencyLimitingExecutor.newExecutor()
+        .executor(input -> new CompletableFuture<>())
+        .initialLimit(1)
+        .maxQueueTime(Duration.ofMillis(10))
+        .build();
+
+    limitingExecutor.execute(createExecutionInput("{ foo }"));
+    var result = limitingExecutor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(GraphqlJavaOrchestrateException.class));
+    assertThat(limitingExecutor.getQueuedCount(), is(0));
+  }
+
+  @Test
+  void execute_adaptsLimit_toObservedLatency() {
+    for (var i = 0; i < 10; i++) {
+      executeRound(Duration.ofMillis(10));
+    }
+
+    var stableLimit = limitingExecutor.getLimit();
+    assertThat(stableLimit, greaterThan(4));
+
+    executeRound(Duration.ofMillis(100));
+
+    assertThat(limitingExecutor.getLimit(), lessThan(stableLimit));
+  }
+
+  @Test
+  void execute_decreasesLimit_ifExecutionFails() {
+    limitingExecutor.execute(createExecutionInput("{ foo }"));
+
+    executions.get(0)
+        .completeExceptionally(new IOException("Connection reset."));
+
+    assertThat(limitingExecutor.getLimit(), is(3));
+    assertThat(limitingExecutor.getInFlightCount(), is(0));
+  }
+
+  @Test
+  void execute_releasesSlot_ifExecutorThrowsSynchronously() {
+    limitingExecutor = ConcurrencyLimitingExecutor.newExecutor()
+        .executor(input -> {
+          throw new IllegalStateException("Executor shut down.");
+        })
+        .initialLimit(1)
+        .build();
+
+    var result = limitingExecutor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    assertThat(limitingExecutor.getInFlightCount(), is(0));
+  }
+
+  // Saturates the current limit with executions that take the given time
+  private void executeRound(Duration latency) {
+    var offset = executions.size();
+    var limit = limitingExecutor.getLimit();
+
+    for (var i = 0; i < limit; i++) {
+      limitingExecutor.execute(createExecutionInput("{ foo }"));
+    }
+
+    now = now.plus(latency);
+
+    List.copyOf(executions.subList(offset, executions.size()))
+        .forEach(execution -> execution.complete(createExecutionResult()));
+  }
+}
@@ -0,0 +1,159 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+class HttpClientOptionsTest {
+
+  private static final String HTTP2_STREAM_ID = "x-http2-stream-id";
+
+  private static final String RESPONSE_BODY = "{\"data\":{\"brewery\":{\"name\":\"foo\"}}}";
+
+  private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+
+  private final AtomicReference<String> contentEncoding = new AtomicReference<>();
+
+  private final AtomicReference<String> requestBody = new AtomicReference<>();
+
+  private final AtomicReference<String> protocol = new AtomicReference<>();
+
+  private DisposableServer server;
+
+  @AfterEach
+  void tearDown() {
+    server.disposeNow();
+  }
+
+  @Test
+  void createWebClient_requestsCompressedResponses_ifEnabled() throws Exception {
+    startServer(HttpServer.create()
+        .compress(true));
+
+    var result = execute(HttpClientOptions.newOptions()
+        .responseCompression(true)
+        .build());
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("name", "foo"))));
+    assertThat(acceptEncoding.get(), containsString("gzip"));
+  }
+
+  @Test
+  void createWebClient_compressesRequestBodies_ifEnabled() throws Exception {
+    startServer(HttpServer.create());
+
+    var result = execute(HttpClientOptions.newOptions()
+        .requestCompression(true)
+        .build());
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("name", "foo"))));
+    assertThat(contentEncoding.get(), is("gzip"));
+    assertThat(requestBody.get(), containsString("{brewery {name}}"));
+  }
+
+  @Test
+  void createWebClient_usesHttp2WithPriorKnowledge_ifH2cConfigured() throws Exception {
+    startServer(HttpServer.create()
+        .protocol(HttpProtocol.H2C));
+
+    var result = execute(HttpClientOptions.newOptions()
+        .protocol(HttpProtocol.H2C)
+        .build());
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("name", "foo"))));
+    assertThat(protocol.get(), is("HTTP/2.0"));
+  }
+
+  @Test
+  void createWebClient_reportsPoolMetrics_toListener() throws Exception {
+    startServer(HttpServer.create());
+
+    var poolMetrics = new AtomicReference<ConnectionPoolMetrics>();
+
+    execute(HttpClientOptions.newOptions()
+        .poolName("metrics-test")
+        .maxConnections(3)
+        .pendingAcquireMaxCount(7)
+        .poolMetricsListener((remoteAddress, metrics) -> poolMetrics.set(metrics))
+        .build());
+
+    assertThat(poolMetrics.get(), is(notNullValue()));
+    assertThat(poolMetrics.get()
+        .maxAllocatedSize(), is(3));
+    assertThat(poolMetrics.get()
+        .maxPendingAcquireSize(), is(7));
+    assertThat(poolMetrics.get()
+        .pendingAcquireSize(), is(0));
+  }
+
+  private void startServer(HttpServer httpServer) {
+    server = httpServer.host("localhost")
+        .port(0)
+        .handle((request, response) -> {
+          acceptEncoding.set(request.requestHeaders()
+              .get(HttpHeaders.ACCEPT_ENCODING));
+          contentEncoding.set(request.requestHeaders()
+              .get(HttpHeaders.CONTENT_ENCODING));
+          // HTTP/2 streams are converted to HTTP/1.1 messages, which carry the stream id as extension header
+          protocol.set(request.requestHeaders()
+              .contains(HTTP2_STREAM_ID) ? "HTTP/2.0"
+                  : request.version()
+                      .text());
+
+          return request.receive()
+              .aggregate()
+              .asByteArray()
+              .doOnNext(bytes -> requestBody.set(decode(bytes, contentEncoding.get() != null)))
+              .then(response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                  .sendString(Mono.just(RESPONSE_BODY))
+                  .then());
+        })
+        .bindNow();
+  }
+
+  private ExecutionResult execute(HttpClientOptions options) throws Exception {
+    var executor = RemoteExecutor.newExecutor()
+        .endpoint(URI.create(String.format("http://localhost:%d", server.port())))
+        .httpClientOptions(options)
+        .build();
+
+    return executor.execute(ExecutionInput.newExecutionInput()
+        .query("{brewery {name}}")
+        .build())
+        .get();
+  }
+
+  private static String decode(byte[] bytes, boolean compressed) {
+    if (!compressed) {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static graphql.introspection.IntrospectionQuery.INTROSPECTION_QUERY;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IntrospectionCacheTest {
+
+  private static final String KEY = "https://dbeerpedia.org/graphql";
+
+  private static ExecutionResult breweryIntrospection;
+
+  private static ExecutionResult beerIntrospection;
+
+  @TempDir
+  Path directory;
+
+  @BeforeAll
+  static void beforeAll() {
+    breweryIntrospection = introspect(loadSchema("dbeerpedia"));
+    beerIntrospection = introspect(UnExecutableSchemaGenerator
+        .makeUnExecutableSchema(new SchemaParser().parse("type Query { beer: String }")));
+  }
+
+  @Test
+  void introspectSchema_writesSnapshot_onColdStart() throws Exception {
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .build();
+
+    var typeDefinitionRegistry = cache.introspectSchema(KEY, input -> CompletableFuture.completedFuture(
+        breweryIntrospection))
+        .get();
+
+    assertThat(typeDefinitionRegistry.getType("Brewery")
+        .isPresent(), is(true));
+    assertThat(listSnapshots(), hasSize(1));
+    assertThat(cache.getTypeDefinitionRegistry(KEY)
+        .orElseThrow(), is(typeDefinitionRegistry));
+  }
+
+  @Test
+  void introspectSchema_succeeds_ifSnapshotCannotBeWritten() throws Exception {
+    // Snapshot directory cannot be created below a regular file
+    var file = Files.createFile(directory.resolve("file"));
+    var cache = IntrospectionCache.newCache()
+        .directory(file.resolve("snapshots"))
+        .build();
+
+    var typeDefinitionRegistry = cache.introspectSchema(KEY, input -> CompletableFuture.completedFuture(
+        breweryIntrospection))
+        .get();
+
+    assertThat(typeDefinitionRegistry.getType("Brewery")
+        .isPresent(), is(true));
+    assertThat(listSnapshots(), equalTo(List.of(file)));
+  }
+
+  @Test
+  void introspectSchema_discardsSnapshot_ifCorrupt() throws Exception {
+    warmUp();
+
+    var snapshotFile = listSnapshots().get(0);
+    var snapshot = Files.readString(snapshotFile);
+    Files.writeString(snapshotFile, snapshot.substring(0, snapshot.indexOf('{') + 1));
+
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .build();
+
+    var typeDefinitionRegistry = cache.introspectSchema(KEY, input -> CompletableFuture.completedFuture(
+        breweryIntrospection))
+        .get();
+
+    assertThat(typeDefinitionRegistry.getType("Brewery")
+        .isPresent(), is(true));
+    assertThat(Files.readString(snapshotFile), equalTo(snapshot));
+  }
+
+  @Test
+  void introspectSchema_returnsSnapshot_beforeIntrospectionCompletes() throws Exception {
+    warmUp();
+
+    var pendingResult = new CompletableFuture<ExecutionResult>();
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .build();
+
+    var typeDefinitionRegistry = cache.introspectSchema(KEY, input -> pendingResult);
+
+    assertThat(typeDefinitionRegistry.isDone(), is(true));
+    assertThat(typeDefinitionRegistry.get()
+        .getType("Brewery")
+        .isPresent(), is(true));
+  }
+
+  @Test
+  void revalidate_notifiesListener_ifSchemaChanged() throws Exception {
+    warmUp();
+
+    var changes = new ArrayList<TypeDefinitionRegistry>();
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .changeListener((key, typeDefinitionRegistry) -> changes.add(typeDefinitionRegistry))
+        .build();
+
+    cache.introspectSchema(KEY, input -> CompletableFuture.completedFuture(beerIntrospection))
+        .get();
+
+    assertThat(changes, hasSize(1));
+    assertThat(changes.get(0)
+        .getType("Brewery")
+        .isPresent(), is(false));
+    assertThat(cache.getTypeDefinitionRegistry(KEY)
+        .orElseThrow(), is(changes.get(0)));
+    assertThat(Files.readString(listSnapshots().get(0))
+        .contains("beer"), is(true));
+  }
+
+  @Test
+  void revalidate_skipsListener_ifSchemaUnchanged() throws Exception {
+    warmUp();
+
+    var changes = new ArrayList<TypeDefinitionRegistry>();
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .changeListener((key, typeDefinitionRegistry) -> changes.add(typeDefinitionRegistry))
+        .build();
+
+    var registry = cache.introspectSchema(KEY, input -> CompletableFuture.completedFuture(breweryIntrospection))
+        .get();
+
+    assertThat(cache.revalidate(KEY, input -> CompletableFuture.completedFuture(breweryIntrospection))
+        .get(), is(false));
+    assertThat(changes, hasSize(0));
+    assertThat(registry, is(notNullValue()));
+  }
+
+  @Test
+  void revalidate_keepsSnapshot_ifIntrospectionFails() throws Exception {
+    warmUp();
+
+    var snapshot = Files.readString(listSnapshots().get(0));
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .build();
+
+    var registry = cache.introspectSchema(KEY,
+        input -> CompletableFuture.failedFuture(new IllegalStateException("Upstream unavailable.")))
+        .get();
+
+    assertThat(cache.revalidate(KEY,
+        input -> CompletableFuture.failedFuture(new IllegalStateException("Upstream unavailable.")))
+        .get(), is(false));
+    assertThat(cache.getTypeDefinitionRegistry(KEY)
+        .orElseThrow(), is(registry));
+    assertThat(Files.readString(listSnapshots().get(0)), equalTo(snapshot));
+  }
+
+  @Test
+  void getTypeDefinitionRegistry_returnsEmpty_forUnknownKey() {
+    var cache = IntrospectionCache.newCache()
+        .directory(directory)
+        .build();
+
+    assertThat(cache.getTypeDefinitionRegistry(KEY)
+        .orElse(null), is(nullValue()));
+  }
+
+  private void warmUp() throws Exception {
+    IntrospectionCache.newCache()
+        .directory(directory)
+        .build()
+        .introspectSchema(KEY, input -> CompletableFuture.completedFuture(breweryIntrospection))
+        .get();
+  }
+
+  private List<Path> listSnapshots() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.collect(Collectors.toList());
+    }
+  }
+
+  private static ExecutionResult introspect(GraphQLSchema schema) {
+    return GraphQL.newGraphQL(schema)
+        .build()
+        .execute(INTROSPECTION_QUERY);
+  }
+}
@@ -0,0 +1,110 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+class JsonResponseDecoderTest {
+
+  private static final String BODY = "{\"data\":{\"breweries\":[{\"identifier\":\"foo\",\"name\":\"Bar \\\"Baz\\\"\","
+      + "\"founded\":1887,\"rating\":4.5,\"active\":true,\"cofounder\":null,\"tags\":[]}]},\"extensions\":{}}";
+
+  @Test
+  void decode_buildsResultTree_forChunkedBody() {
+    var brewery = new HashMap<String, Object>();
+    brewery.put("identifier", "foo");
+    brewery.put("name", "Bar \"Baz\"");
+    brewery.put("founded", 1887);
+    brewery.put("rating", 4.5);
+    brewery.put("active", true);
+    brewery.put("cofounder", null);
+    brewery.put("tags", List.of());
+
+    var result = new JsonResponseDecoder(-1).decode(toDataBuffers(BODY, 7))
+        .block();
+
+    assertThat(result, equalTo(Map.of("data", Map.of("breweries", List.of(brewery)), "extensions", Map.of())));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void decode_preservesKeyOrder_ofResponse() {
+    var result = new JsonResponseDecoder(-1).decode(toDataBuffers(BODY, 7))
+        .block();
+
+    var breweries = (List<Map<String, Object>>) ((Map<String, Object>) result.get("data")).get("breweries");
+
+    assertThat(List.copyOf(result.keySet()), equalTo(List.of("data", "extensions")));
+    assertThat(List.copyOf(breweries.get(0)
+        .keySet()), equalTo(List.of("identifier", "name", "founded", "rating", "active", "cofounder", "tags")));
+  }
+
+  @Test
+  void decode_returnsEmpty_forEmptyBody() {
+    var result = new JsonResponseDecoder(-1).decode(Flux.empty())
+        .block();
+
+    assertThat(result, nullValue());
+  }
+
+  @Test
+  void decode_throwsException_whenLimitExceeded() {
+    var decoder = new JsonResponseDecoder(64);
+    var result = decoder.decode(toDataBuffers(BODY, 16));
+
+    assertThrows(DataBufferLimitException.class, result::block);
+  }
+
+  @Test
+  void decode_throwsException_forTruncatedBody() {
+    var decoder = new JsonResponseDecoder(-1);
+    var result = decoder.decode(toDataBuffers(BODY.substring(0, 40), 16));
+
+    assertThrows(RuntimeException.class, result::block);
+  }
+
+  @Test
+  void decode_throwsException_forArrayBody() {
+    var decoder = new JsonResponseDecoder(-1);
+    var result = decoder.decode(toDataBuffers("[{\"data\":{}}]", 4));
+
+    assertThrows(RuntimeException.class, result::block);
+  }
+
+  @Test
+  void decodeObjectOrArray_buildsResultTrees_forArrayBody() {
+    var body = "[{\"data\":{\"foo\":1}},{\"data\":null}]";
+    var result = new JsonResponseDecoder(-1).decodeObjectOrArray(toDataBuffers(body, 5))
+        .block();
+
+    var secondResult = new HashMap<String, Object>();
+    secondResult.put("data", null);
+
+    assertThat(result, equalTo(List.of(Map.of("data", Map.of("foo", 1)), secondResult)));
+  }
+
+  private static Flux<DataBuffer> toDataBuffers(String body, int chunkSize) {
+    var bytes = body.getBytes(StandardCharsets.UTF_8);
+    var dataBuffers = new ArrayList<DataBuffer>();
+
+    for (var offset = 0; offset < bytes.length; offset += chunkSize) {
+      var chunk = Arrays.copyOfRange(bytes, offset, Math.min(offset + chunkSize, bytes.length));
+      dataBuffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+    }
+
+    return Flux.fromIterable(dataBuffers);
+  }
+}
@@ -0,0 +1,56 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import graphql.ExecutionInput;
+import org.junit.jupiter.api.Test;
+
+class OperationKeysTest {
+
+  @Test
+  void createKey_differs_forOperationsOfSameDocument() {
+    var query = "query GetBrewery { brewery { name } } query GetBeer { beer { name } }";
+
+    var breweryKey = OperationKeys.createKey(createInput(query, "GetBrewery"));
+
+    assertThat(OperationKeys.createKey(createInput(query, "GetBrewery")), is(breweryKey));
+    assertThat(OperationKeys.createKey(createInput(query, "GetBeer")), is(not(breweryKey)));
+    assertThat(OperationKeys.createKey(createInput(query, null)), is(not(breweryKey)));
+  }
+
+  @Test
+  void isMutation_returnsFalse_forQueries() {
+    assertThat(OperationKeys.isMutation(createInput("{ brewery { name } }", null)), is(false));
+    assertThat(OperationKeys.isMutation(createInput("query { mutations }", null)), is(false));
+  }
+
+  @Test
+  void isMutation_returnsTrue_forMutationAfterCommentOrFragment() {
+    assertThat(OperationKeys.isMutation(createInput("# comment\nmutation { addBrewery { name } }", null)), is(true));
+    assertThat(OperationKeys.isMutation(createInput("fragment F on Brewery { name } "
+        + "mutation { addBrewery { ...F } }", null)), is(true));
+  }
+
+  @Test
+  void isMutation_selectsOperation_byOperationName() {
+    var query = "query GetBrewery { brewery { name } } mutation AddBrewery { addBrewery { name } }";
+
+    assertThat(OperationKeys.isMutation(createInput(query, "GetBrewery")), is(false));
+    assertThat(OperationKeys.isMutation(createInput(query, "AddBrewery")), is(true));
+    assertThat(OperationKeys.isMutation(createInput(query, null)), is(true));
+  }
+
+  @Test
+  void isMutation_returnsTrue_forUnparsableDocument() {
+    assertThat(OperationKeys.isMutation(createInput("mutation { addBrewery {", null)), is(true));
+  }
+
+  private static ExecutionInput createInput(String query, String operationName) {
+    return ExecutionInput.newExecutionInput()
+        .query(query)
+        .operationName(operationName)
+        .build();
+  }
+}
@@ -10,8 +10,12 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -20,12 +24,14 @@ import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateExcep
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
 class RemoteExecutorTest {
 
@@ -81,6 +87,87 @@ class RemoteExecutorTest {
     assertThat(requestBody.get("variables"), equalTo(Map.of()));
   }
 
+  @Test
+  void execute_reportsResponseDecoding_ToInstrumentation() throws Exception {
+    var endpoint = URI.create(String.format("http://%s:%d", mockWebServer.getHostName(), mockWebServer.getPort()));
+    var phases = new ArrayList<String>();
+
+    var executor = RemoteExecutor.newExecutor()
+        .endpoint(endpoint)
+        .webClient(webClient)
+        .instrumentation((phase, name) -> (duration, throwable) -> phases.add(phase + ":" + name))
+        .build();
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", Map.of("brewery", Map.of("name", "bar"))))));
+
+    executor.execute(ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"foo\") {name}}")
+        .build())
+        .get();
+
+    mockWebServer.takeRequest();
+    assertThat(phases, equalTo(List.of("RESPONSE_DECODING:" + endpoint)));
+  }
+
+  @Test
+  void execute_addsCacheControlExtension_WhenCacheControlHeaderPresent() throws Exception {
+    var executor = getRemoteExecutor();
+
+    var input = ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"foo\") {name}}")
+        .build();
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .addHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=60, s-maxage=30")
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", Map.of("brewery", Map.of("name", "bar")),
+            "extensions", Map.of("cacheControl", Map.of("hints", List.of()))))));
+
+    var result = executor.execute(input)
+        .get();
+
+    assertThat(result.getExtensions(), equalTo(Map.of("cacheControl", Map.of("hints", List.of(), "maxAge", 30L))));
+
+    mockWebServer.takeRequest();
+  }
+
+  @Test
+  void execute_passesThroughErrors_WhenPartialDataPresent() throws Exception {
+    var data = new HashMap<String, Object>();
+    data.put("name", "bar");
+    data.put("founder", null);
+
+    var executor = getRemoteExecutor();
+
+    var input = ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"foo\") {name founder {name}}}")
+        .build();
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", Map.of("brewery", data), "errors",
+            List.of(Map.of("message", "Founder not available.", "path", List.of("brewery", "founder"), "locations",
+                List.of(Map.of("line", 1, "column", 35)), "extensions", Map.of("code", "NOT_FOUND")))))));
+
+    var result = executor.execute(input)
+        .get();
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", data)));
+    assertThat(result.getErrors()
+        .size(), is(1));
+
+    var error = result.getErrors()
+        .get(0);
+
+    assertThat(error.getMessage(), is("Founder not available."));
+    assertThat(error.getPath(), equalTo(List.of("brewery", "founder")));
+    assertThat(error.getLocations()
+        .get(0)
+        .getColumn(), is(35));
+    assertThat(error.getExtensions(), equalTo(Map.of("code", "NOT_FOUND")));
+
+    mockWebServer.takeRequest();
+  }
+
   @Test
   void execute_passesThroughVars_WhenVarsPresent() throws Exception {
     var executor = getRemoteExecutor();
@@ -184,13 +271,193 @@ class RemoteExecutorTest {
     mockWebServer.takeRequest();
   }
 
+  @Test
+  void execute_sendsQueryHashOnly_whenPersistedQueryRegistered() throws Exception {
+    var executor = getRemoteExecutor(true);
+
+    var query = "{brewery(identifier:\"foo\") {identifier name}}";
+
+    var input = ExecutionInput.newExecutionInput()
+        .query(query)
+        .build();
+
+    var resultData = Map.of("brewery", Map.of("identifier", "foo", "name", "bar"));
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", resultData))));
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", resultData))));
+
+    executor.execute(input)
+        .get();
+    var result = executor.execute(input)
+        .get();
+
+    assertThat(result.getData(), equalTo(resultData));
+
+    var queryHash = "ca42df8619dc86ef907366f201bd2992b85270f781b4cda800b9fd6f26b07eda";
+    var registerRequestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(registerRequestBody.get("query"), equalTo(query));
+    assertThat(getQueryHash(registerRequestBody), equalTo(queryHash));
+
+    var hashRequestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(hashRequestBody.containsKey("query"), is(false));
+    assertThat(getQueryHash(hashRequestBody), equalTo(queryHash));
+  }
+
+  @Test
+  void execute_sendsFullQuery_whenPersistedQueryHashForgotten() throws Exception {
+    var executor = RemoteExecutor.newExecutor()
+        .endpoint(URI.create(String.format("http://%s:%d", mockWebServer.getHostName(), mockWebServer.getPort())))
+        .webClient(webClient)
+        .persistedQueries(true)
+        .maxPersistedQueryHashes(1)
+        .build();
+
+    var fooInput = ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"foo\") {identifier}}")
+        .build();
+    var barInput = ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"bar\") {identifier}}")
+        .build();
+
+    for (var index = 0; index < 3; index++) {
+      mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+          .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", Map.of("brewery", Map.of())))));
+    }
+
+    executor.execute(fooInput)
+        .get();
+    executor.execute(barInput)
+        .get();
+    executor.execute(fooInput)
+        .get();
+
+    mockWebServer.takeRequest();
+    mockWebServer.takeRequest();
+
+    assertThat(getRequestBody(mockWebServer.takeRequest()).get("query"), equalTo(fooInput.getQuery()));
+  }
+
+  @Test
+  void execute_sendsFullQuery_whenPersistedQueryNotFound() throws Exception {
+    var resultData = Map.of("brewery", Map.of("identifier", "foo"));
+    var notFoundBody = Map.of("errors", List.of(Map.of("message", "PersistedQueryNotFound", "extensions",
+        Map.of("code", "PERSISTED_QUERY_NOT_FOUND"))));
+
+    // Registers the query, after which the endpoint "evicts" it
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", resultData))));
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(notFoundBody)));
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", resultData))));
+
+    var executor = getRemoteExecutor(true);
+    var query = "{brewery(identifier:\"foo\") {identifier}}";
+    var input = ExecutionInput.newExecutionInput()
+        .query(query)
+        .build();
+
+    executor.execute(input)
+        .get();
+    var result = executor.execute(input)
+        .get();
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(resultData));
+
+    mockWebServer.takeRequest();
+
+    var hashRequestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(hashRequestBody.containsKey("query"), is(false));
+
+    var retryRequestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(retryRequestBody.get("query"), equalTo(query));
+    assertThat(getQueryHash(retryRequestBody), equalTo(getQueryHash(hashRequestBody)));
+  }
+
+  @Test
+  void execute_disablesPersistedQueries_whenNotSupported() throws Exception {
+    var executor = getRemoteExecutor(true);
+
+    var query = "{brewery(identifier:\"bar\") {identifier}}";
+
+    var input = ExecutionInput.newExecutionInput()
+        .query(query)
+        .build();
+
+    var resultData = Map.of("brewery", Map.of("identifier", "bar"));
+    var notSupportedBody = Map.of("errors", List.of(Map.of("message", "PersistedQueryNotSupported")));
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(notSupportedBody)));
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .setBody(OBJECT_MAPPER.writeValueAsString(Map.of("data", resultData))));
+
+    var result = executor.execute(input)
+        .get();
+
+    assertThat(result.getData(), equalTo(resultData));
+
+    mockWebServer.takeRequest();
+
+    var retryRequestBody = getRequestBody(mockWebServer.takeRequest());
+    assertThat(retryRequestBody.get("query"), equalTo(query));
+    assertThat(retryRequestBody.containsKey("extensions"), is(false));
+  }
+
+  @Test
+  void subscribe_streamsServerSentEvents_untilComplete() throws Exception {
+    var executor = getRemoteExecutor();
+
+    var input = ExecutionInput.newExecutionInput()
+        .query("subscription {breweryAdded {name}}")
+        .build();
+
+    mockWebServer.enqueue(new MockResponse().addHeader(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+        .setBody("event: next\ndata: {\"data\":{\"breweryAdded\":{\"name\":\"foo\"}}}\n\n"
+            + "event: next\ndata: {\"data\":{\"breweryAdded\":{\"name\":\"bar\"}}}\n\n"
+            + "event: complete\ndata:\n\n"));
+
+    var result = executor.subscribe(input)
+        .get();
+
+    Publisher<ExecutionResult> events = result.getData();
+    var eventData = Flux.from(events)
+        .map(ExecutionResult::getData)
+        .collectList()
+        .block();
+
+    assertThat(eventData, equalTo(List.of(Map.of("breweryAdded", Map.of("name", "foo")),
+        Map.of("breweryAdded", Map.of("name", "bar")))));
+
+    var request = mockWebServer.takeRequest();
+
+    assertThat(request.getHeader(HttpHeaders.ACCEPT), equalTo(MediaType.TEXT_EVENT_STREAM_VALUE));
+    assertThat(getRequestBody(request).get("query"), equalTo("subscription {breweryAdded {name}}"));
+  }
+
   private static RemoteExecutor getRemoteExecutor() {
+    return getRemoteExecutor(false);
+  }
+
+  private static RemoteExecutor getRemoteExecutor(boolean persistedQueries) {
     return RemoteExecutor.newExecutor()
         .endpoint(URI.create(String.format("http://%s:%d", mockWebServer.getHostName(), mockWebServer.getPort())))
         .webClient(webClient)
+        .persistedQueries(persistedQueries)
         .build();
   }
 
+  @SuppressWarnings("unchecked")
+  private static Object getQueryHash(Map<String, Object> requestBody) {
+    var extensions = (Map<String, Object>) requestBody.get("extensions");
+    var persistedQuery = (Map<String, Object>) extensions.get("persistedQuery");
+    return persistedQuery.get("sha256Hash");
+  }
+
   private Map<String, Object> getRequestBody(RecordedRequest request) throws JsonProcessingException {
     var typeRef = new TypeReference<Map<String, Object>>() {};
     var bodyText = request.getBody()
@@ -0,0 +1,251 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionInput;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import graphql.ExceptionWhileDataFetching;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.ResultPath;
+import graphql.language.SourceLocation;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.dotwebstack.graphql.orchestrate.exception.GraphqlJavaOrchestrateException;
+import org.dotwebstack.graphql.orchestrate.test.TestUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class ResilientExecutorTest {
+
+  private final StubExecutor stubExecutor = new StubExecutor();
+
+  @Test
+  void execute_cancelsExecution_ifTimeoutExceeded() {
+    stubExecutor.respond(CompletableFuture.supplyAsync(TestUtils::createExecutionResult,
+        CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS)));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .timeout(Duration.ofMillis(20))
+        .maxRetries(0)
+        .build();
+
+    var result = executor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(TimeoutException.class));
+    assertThat(stubExecutor.executions.get(0)
+        .isCancelled(), is(true));
+    assertThat(executor.getTimeoutCount(), is(1L));
+    assertThat(executor.getActiveCount(), is(0));
+  }
+
+  @Test
+  void execute_retriesQuery_untilAttemptSucceeds() throws Exception {
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+    stubExecutor.respond(CompletableFuture.completedFuture(createServerErrorResult()));
+    stubExecutor.respond(CompletableFuture.completedFuture(createExecutionResult()));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .initialBackoff(Duration.ofMillis(1))
+        .build();
+
+    var result = executor.execute(createExecutionInput("{ foo }"))
+        .get();
+
+    assertThat(result.getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(stubExecutor.executions.size(), is(3));
+    assertThat(executor.getRetryCount(), is(2L));
+    assertThat(executor.getFailureCount(), is(2L));
+  }
+
+  @Test
+  void execute_returnsLastFailure_ifRetriesExhausted() {
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection refused.")));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .maxRetries(1)
+        .initialBackoff(Duration.ofMillis(1))
+        .build();
+
+    var result = executor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause()
+        .getMessage(), is("Connection refused."));
+    assertThat(stubExecutor.executions.size(), is(2));
+  }
+
+  @Test
+  void execute_releasesSlot_ifExecutorThrowsSynchronously() {
+    stubExecutor.throwException(new IllegalStateException("Executor shut down."));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .maxRetries(0)
+        .build();
+
+    var result = executor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    assertThat(executor.getFailureCount(), is(1L));
+    assertThat(executor.getActiveCount(), is(0));
+  }
+
+  @Test
+  void execute_releasesSlot_ifExecutorThrowsSynchronouslyOnRetry() {
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+    stubExecutor.throwException(new IllegalStateException("Executor shut down."));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .maxRetries(1)
+        .initialBackoff(Duration.ofMillis(1))
+        .build();
+
+    var result = executor.execute(createExecutionInput("{ foo }"));
+
+    var exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    assertThat(executor.getFailureCount(), is(2L));
+    assertThat(executor.getActiveCount(), is(0));
+  }
+
+  @Test
+  void execute_neverRetriesMutations() {
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .initialBackoff(Duration.ofMillis(1))
+        .build();
+
+    var result = executor.execute(createExecutionInput("mutation { foo }"));
+
+    assertThrows(ExecutionException.class, result::get);
+    assertThat(stubExecutor.executions.size(), is(1));
+    assertThat(executor.getRetryCount(), is(0L));
+  }
+
+  @Test
+  void execute_failsFast_whileCircuitIsOpen() throws Exception {
+    var clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L);
+
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+    stubExecutor.respond(CompletableFuture.failedFuture(new IOException("Connection reset.")));
+    stubExecutor.respond(CompletableFuture.completedFuture(createExecutionResult()));
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .maxRetries(0)
+        .failureThreshold(2)
+        .openDuration(Duration.ofSeconds(10))
+        .clock(clock)
+        .build();
+
+    assertThrows(ExecutionException.class, () -> executor.execute(createExecutionInput("{ foo }"))
+        .get());
+    assertThrows(ExecutionException.class, () -> executor.execute(createExecutionInput("{ foo }"))
+        .get());
+
+    var exception = assertThrows(ExecutionException.class, () -> executor.execute(createExecutionInput("{ foo }"))
+        .get());
+
+    assertThat(exception.getCause(), instanceOf(GraphqlJavaOrchestrateException.class));
+    assertThat(executor.getCircuitState(), is(ResilientExecutor.CircuitState.OPEN));
+    assertThat(executor.getShortCircuitCount(), is(1L));
+    assertThat(stubExecutor.executions.size(), is(2));
+
+    when(clock.millis()).thenReturn(10_000L);
+
+    assertThat(executor.getCircuitState(), is(ResilientExecutor.CircuitState.HALF_OPEN));
+    assertThat(executor.execute(createExecutionInput("{ foo }"))
+        .get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(executor.getCircuitState(), is(ResilientExecutor.CircuitState.CLOSED));
+  }
+
+  @Test
+  void execute_rejectsExecutions_beyondConcurrencyLimit() throws Exception {
+    var pendingResult = new CompletableFuture<ExecutionResult>();
+    stubExecutor.respond(pendingResult);
+
+    var executor = ResilientExecutor.newExecutor()
+        .executor(stubExecutor)
+        .maxConcurrentExecutions(1)
+        .build();
+
+    var result1 = executor.execute(createExecutionInput("{ foo }"));
+    var result2 = executor.execute(createExecutionInput("{ bar }"));
+
+    assertThat(result1.isDone(), is(false));
+
+    var exception = assertThrows(ExecutionException.class, result2::get);
+    assertThat(exception.getCause(), instanceOf(GraphqlJavaOrchestrateException.class));
+    assertThat(executor.getRejectedCount(), is(1L));
+
+    pendingResult.complete(createExecutionResult());
+
+    assertThat(result1.get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(executor.getActiveCount(), is(0));
+  }
+
+  private static ExecutionResult createServerErrorResult() {
+    return ExecutionResultImpl.newExecutionResult()
+        .addError(new ExceptionWhileDataFetching(ResultPath.rootPath(),
+            new GraphqlJavaOrchestrateException(HttpStatus.BAD_GATEWAY, "Bad gateway."), SourceLocation.EMPTY))
+        .build();
+  }
+
+  // Responds to consecutive executions with the given (possibly delayed or failed) results
+  private static final class StubExecutor implements Executor {
+
+    private final List<Supplier<CompletableFuture<ExecutionResult>>> responses = new ArrayList<>();
+
+    private final List<CompletableFuture<ExecutionResult>> executions = new ArrayList<>();
+
+    private final AtomicInteger executionCount = new AtomicInteger();
+
+    void respond(CompletableFuture<ExecutionResult> response) {
+      responses.add(() -> response);
+    }
+
+    void throwException(RuntimeException exception) {
+      responses.add(() -> {
+        throw exception;
+      });
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> execute(ExecutionInput input) {
+      var execution = responses.get(executionCount.getAndIncrement())
+          .get();
+      executions.add(execution);
+      return execution;
+    }
+  }
+}
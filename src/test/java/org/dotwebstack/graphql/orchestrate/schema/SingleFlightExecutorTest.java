@@ -0,0 +1,133 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionInput;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.createExecutionResult;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import graphql.ExecutionResult;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightExecutorTest {
+
+  @Mock
+  private Executor executor;
+
+  private SingleFlightExecutor singleFlightExecutor;
+
+  @BeforeEach
+  void setUp() {
+    singleFlightExecutor = SingleFlightExecutor.newExecutor()
+        .executor(executor)
+        .build();
+  }
+
+  @Test
+  void execute_sharesExecution_forIdenticalOperationsInFlight() throws Exception {
+    var upstreamResult = new CompletableFuture<ExecutionResult>();
+    when(executor.execute(any())).thenReturn(upstreamResult);
+
+    var result1 = singleFlightExecutor.execute(createExecutionInput("{ foo }", Map.of("a", 1, "b", 2)));
+    var result2 = singleFlightExecutor.execute(createExecutionInput("{ foo }", Map.of("b", 2, "a", 1)));
+
+    upstreamResult.complete(createExecutionResult());
+
+    assertThat(result1.get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(result2.get()
+        .getData(), equalTo(Map.of("foo", "bar")));
+    assertThat(result2.get()
+        .getData(), not(sameInstance(result1.get()
+            .getData())));
+    assertThat(singleFlightExecutor.getCoalescedCount(), is(1L));
+    assertThat(singleFlightExecutor.getPendingCount(), is(0));
+    verify(executor, times(1)).execute(any());
+  }
+
+  @Test
+  void execute_executesSeparately_forDifferentOperations() throws Exception {
+    when(executor.execute(any())).thenReturn(new CompletableFuture<>());
+
+    singleFlightExecutor.execute(createExecutionInput("{ foo }", Map.of("a", 1)));
+    singleFlightExecutor.execute(createExecutionInput("{ foo }", Map.of("a", 2)));
+    singleFlightExecutor.execute(createExecutionInput("{ bar }", Map.of("a", 1)));
+
+    assertThat(singleFlightExecutor.getCoalescedCount(), is(0L));
+    verify(executor, times(3)).execute(any());
+  }
+
+  @Test
+  void execute_executesAgain_afterCompletion() throws Exception {
+    var result = createExecutionResult();
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(result));
+
+    var result1 = singleFlightExecutor.execute(createExecutionInput("{ foo }"))
+        .get();
+    singleFlightExecutor.execute(createExecutionInput("{ foo }"))
+        .get();
+
+    assertThat(result1, is(sameInstance(result)));
+    assertThat(singleFlightExecutor.getCoalescedCount(), is(0L));
+    verify(executor, times(2)).execute(any());
+  }
+
+  @Test
+  void execute_propagatesFailure_toAllSharingExecutions() {
+    var upstreamResult = new CompletableFuture<ExecutionResult>();
+    when(executor.execute(any())).thenReturn(upstreamResult);
+
+    var result1 = singleFlightExecutor.execute(createExecutionInput("{ foo }"));
+    var result2 = singleFlightExecutor.execute(createExecutionInput("{ foo }"));
+
+    upstreamResult.completeExceptionally(new IllegalStateException());
+
+    assertThat(assertThrows(ExecutionException.class, result1::get).getCause(),
+        instanceOf(IllegalStateException.class));
+    assertThat(assertThrows(ExecutionException.class, result2::get).getCause(),
+        instanceOf(IllegalStateException.class));
+    assertThat(singleFlightExecutor.getPendingCount(), is(0));
+  }
+
+  @Test
+  void execute_completesExecution_ifExecutorThrowsSynchronously() throws Exception {
+    var result = createExecutionResult();
+    when(executor.execute(any())).thenThrow(new IllegalStateException())
+        .thenReturn(CompletableFuture.completedFuture(result));
+
+    var result1 = singleFlightExecutor.execute(createExecutionInput("{ foo }"));
+
+    assertThat(assertThrows(ExecutionException.class, result1::get).getCause(),
+        instanceOf(IllegalStateException.class));
+    assertThat(singleFlightExecutor.getPendingCount(), is(0));
+    assertThat(singleFlightExecutor.execute(createExecutionInput("{ foo }"))
+        .get(), is(sameInstance(result)));
+  }
+
+  @Test
+  void execute_neverSharesMutations() {
+    when(executor.execute(any())).thenReturn(new CompletableFuture<>());
+
+    singleFlightExecutor.execute(createExecutionInput("mutation { foo }"));
+    singleFlightExecutor.execute(createExecutionInput("mutation { foo }"));
+
+    assertThat(singleFlightExecutor.getCoalescedCount(), is(0L));
+    verify(executor, times(2)).execute(any());
+  }
+}
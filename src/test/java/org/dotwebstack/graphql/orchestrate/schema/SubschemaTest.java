@@ -0,0 +1,95 @@
+package org.dotwebstack.graphql.orchestrate.schema;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SubschemaTest {
+
+  private static GraphQLSchema schema;
+
+  @BeforeAll
+  static void beforeAll() {
+    DataFetcher<Object> breweryFetcher =
+        environment -> Map.of("identifier", environment.getArgument("identifier"), "name", "bar");
+
+    schema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher(FieldCoordinates.coordinates("Query", "brewery"), breweryFetcher)
+        .build());
+  }
+
+  @Test
+  void execute_executesLocally_whenNoExecutorGiven() throws Exception {
+    var subschema = Subschema.newSubschema()
+        .schema(schema)
+        .build();
+
+    var result = subschema.execute(createInput())
+        .get();
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("identifier", "foo", "name", "bar"))));
+  }
+
+  @Test
+  void execute_usesPreparsedDocumentProvider_acrossExecutions() throws Exception {
+    var provider = new CountingDocumentProvider();
+
+    var subschema = Subschema.newSubschema()
+        .schema(schema)
+        .preparsedDocumentProvider(provider)
+        .build();
+
+    subschema.execute(createInput())
+        .get();
+    var result = subschema.execute(createInput())
+        .get();
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("identifier", "foo", "name", "bar"))));
+    assertThat(provider.lookupCount.get(), is(2));
+    assertThat(provider.parseCount.get(), is(1));
+  }
+
+  private static ExecutionInput createInput() {
+    return ExecutionInput.newExecutionInput()
+        .query("{brewery(identifier:\"foo\") {identifier name}}")
+        .build();
+  }
+
+  private static class CountingDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Map<String, PreparsedDocumentEntry> documents = new ConcurrentHashMap<>();
+
+    private final AtomicInteger lookupCount = new AtomicInteger();
+
+    private final AtomicInteger parseCount = new AtomicInteger();
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+      lookupCount.incrementAndGet();
+
+      return CompletableFuture.completedFuture(documents.computeIfAbsent(executionInput.getQuery(), query -> {
+        parseCount.incrementAndGet();
+        return parseAndValidateFunction.apply(executionInput);
+      }));
+    }
+  }
+}
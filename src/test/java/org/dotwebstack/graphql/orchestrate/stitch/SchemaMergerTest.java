@@ -0,0 +1,424 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.dataloader.DataLoaderRegistry;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.schema.TypeMergeConfig;
+import org.dotwebstack.graphql.orchestrate.transform.RenameTypes;
+import org.dotwebstack.graphql.orchestrate.wrap.SchemaWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaMergerTest {
+
+  private static final List<List<String>> heightLookups = new CopyOnWriteArrayList<>();
+
+  private static GraphQLSchema brewerySchema;
+
+  private static GraphQLSchema addressSchema;
+
+  private static GraphQLSchema conflictingAddressSchema;
+
+  private static GraphQLSchema buildingSchema;
+
+  private static GraphQLSchema heightSchema;
+
+  @BeforeAll
+  static void beforeAll() {
+    DataFetcher<Object> breweryFetcher =
+        environment -> Map.of("identifier", environment.getArgument("identifier"), "name", "foo");
+
+    brewerySchema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher(FieldCoordinates.coordinates("Query", "brewery"), breweryFetcher)
+        .build());
+
+    DataFetcher<Object> addressFetcher =
+        environment -> Map.of("identifier", environment.getArgument("identifier"), "street", "bar");
+
+    addressSchema = createSchema("type Query { address(identifier: ID!): Address } "
+        + "type Address { identifier: ID! street: String! houseNumber: Int }", "address", addressFetcher);
+
+    conflictingAddressSchema = createSchema("type Query { location(identifier: ID!): Address } "
+        + "type Address { identifier: ID! street: String! }", "location", addressFetcher);
+
+    DataFetcher<Object> buildingsFetcher = environment -> List.of(Map.of("identifier", "1", "name", "foo"),
+        Map.of("identifier", "2", "name", "bar"), Map.of("identifier", "3", "name", "baz"));
+
+    buildingSchema = createSchema("type Query { buildings: [Building!]! } "
+        + "type Building { identifier: ID! name: String! }", "buildings", buildingsFetcher);
+
+    DataFetcher<Object> buildingsByIdsFetcher = environment -> {
+      List<String> ids = environment.getArgument("ids");
+      heightLookups.add(ids);
+
+      return ids.stream()
+          .map(id -> Map.of("identifier", id, "height", Integer.parseInt(id) * 10))
+          .collect(Collectors.toList());
+    };
+
+    heightSchema = createSchema("type Query { buildingsByIds(ids: [ID!]!): [Building]! } "
+        + "type Building { identifier: ID! height: Int }", "buildingsByIds", buildingsByIdsFetcher);
+  }
+
+  @BeforeEach
+  void setUp() {
+    heightLookups.clear();
+  }
+
+  @Test
+  void merge_routesRootFields_toOwningSubschema() {
+    var mergedSchema = SchemaMerger.merge(List.of(wrap(brewerySchema), wrap(addressSchema)));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute("{ brewery(identifier: \"123\") { name } address(identifier: \"456\") { street } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(),
+        equalTo(Map.of("brewery", Map.of("name", "foo"), "address", Map.of("street", "bar"))));
+  }
+
+  @Test
+  void merge_sharesType_ifDefinitionsAreIdentical() {
+    var mergedSchema = SchemaMerger.merge(List.of(wrap(brewerySchema), wrap(addressSchema)));
+
+    var addressType = mergedSchema.getObjectType("Address");
+    var personType = mergedSchema.getObjectType("Person");
+
+    assertThat(addressType, is(notNullValue()));
+    assertThat(personType.getFieldDefinition("address")
+        .getType(), is(sameInstance(addressType)));
+    assertThat(mergedSchema.getQueryType()
+        .getFieldDefinition("address")
+        .getType(), is(sameInstance(addressType)));
+  }
+
+  @Test
+  void merge_throwsException_ifTypeDefinitionsConflict() {
+    var schemas = List.of(wrap(brewerySchema), wrap(conflictingAddressSchema));
+
+    var exception = assertThrows(StitchException.class, () -> SchemaMerger.merge(schemas));
+
+    assertThat(exception.getMessage(), containsString("'Address'"));
+  }
+
+  @Test
+  void merge_resolvesConflict_ifTypeIsRenamed() {
+    var renamedSchema = SchemaWrapper.wrap(Subschema.newSubschema()
+        .schema(conflictingAddressSchema)
+        .transform(new RenameTypes((typeName, type) -> "Address".equals(typeName) ? "Location" : typeName))
+        .build());
+
+    var mergedSchema = SchemaMerger.merge(List.of(wrap(brewerySchema), renamedSchema));
+
+    var locationType = (GraphQLObjectType) mergedSchema.getQueryType()
+        .getFieldDefinition("location")
+        .getType();
+
+    assertThat(locationType.getName(), is("Location"));
+    assertThat(mergedSchema.getObjectType("Address")
+        .getFieldDefinition("houseNumber"), is(notNullValue()));
+  }
+
+  @Test
+  void merge_throwsException_ifRootFieldIsProvidedTwice() {
+    var schemas = List.of(wrap(addressSchema), wrap(addressSchema));
+
+    var exception = assertThrows(StitchException.class, () -> SchemaMerger.merge(schemas));
+
+    assertThat(exception.getMessage(), containsString("'address'"));
+  }
+
+  @Test
+  void merge_routesMutationFields_toOwningSubschema() {
+    DataFetcher<Object> addAddressFetcher =
+        environment -> Map.of("identifier", "1", "street", environment.getArgument("street"));
+
+    var mutationSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(
+        "type Query { addresses: [Address!]! } type Mutation { addAddress(street: String!): Address } "
+            + "type Address { identifier: ID! street: String! houseNumber: Int }"),
+        RuntimeWiring.newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Mutation", "addAddress"), addAddressFetcher))
+            .build());
+
+    var mergedSchema = SchemaMerger.merge(List.of(wrap(brewerySchema), wrap(mutationSchema)));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute("mutation { addAddress(street: \"foo\") { street } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("addAddress", Map.of("street", "foo"))));
+    assertThat(mergedSchema.getSubscriptionType(), is(nullValue()));
+  }
+
+  @Test
+  void mergeSubschemas_looksUpMergedFields_onceForAllObjectsOfLevel() {
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema), createHeightSubschema()));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute(ExecutionInput.newExecutionInput()
+            .query("{ buildings { name height } }")
+            .dataLoaderRegistry(new DataLoaderRegistry())
+            .build());
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(),
+        equalTo(Map.of("buildings", List.of(Map.of("name", "foo", "height", 10), Map.of("name", "bar", "height", 20),
+            Map.of("name", "baz", "height", 30)))));
+    assertThat(heightLookups, equalTo(List.of(List.of("1", "2", "3"))));
+  }
+
+  @Test
+  void mergeSubschemas_looksUpMergedFields_withoutDataLoaderRegistry() {
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema), createHeightSubschema()));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute("{ buildings { identifier height } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(),
+        equalTo(Map.of("buildings", List.of(Map.of("identifier", "1", "height", 10),
+            Map.of("identifier", "2", "height", 20), Map.of("identifier", "3", "height", 30)))));
+    assertThat(heightLookups.size(), is(3));
+  }
+
+  @Test
+  void mergeSubschemas_resolvesOtherEntities_ifLookupPartiallyFails() {
+    var expectedBuildings = new ArrayList<Map<String, Object>>();
+    expectedBuildings.add(Map.of("name", "foo", "height", 10));
+    expectedBuildings.add(new HashMap<>(Map.of("name", "bar")));
+    expectedBuildings.get(1)
+        .put("height", null);
+    expectedBuildings.add(new HashMap<>(Map.of("name", "baz")));
+    expectedBuildings.get(2)
+        .put("height", null);
+
+    DataFetcher<Object> buildingsByIdsFetcher = environment -> {
+      List<String> ids = environment.getArgument("ids");
+
+      return ids.stream()
+          .map(id -> "3".equals(id) ? null : Map.of("identifier", id))
+          .collect(Collectors.toList());
+    };
+
+    DataFetcher<Object> heightFetcher = environment -> {
+      Map<String, Object> source = environment.getSource();
+      var identifier = (String) source.get("identifier");
+
+      if ("2".equals(identifier)) {
+        throw new IllegalStateException("Height unknown.");
+      }
+
+      return Integer.parseInt(identifier) * 10;
+    };
+
+    var partialHeightSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(
+        "type Query { buildingsByIds(ids: [ID!]!): [Building]! } type Building { identifier: ID! height: Int }"),
+        RuntimeWiring.newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "buildingsByIds"), buildingsByIdsFetcher)
+                .dataFetcher(FieldCoordinates.coordinates("Building", "height"), heightFetcher))
+            .build());
+
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema),
+        createHeightSubschema(partialHeightSchema)));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute(ExecutionInput.newExecutionInput()
+            .query("{ buildings { name height } }")
+            .dataLoaderRegistry(new DataLoaderRegistry())
+            .build());
+
+    assertThat(result.getData(), equalTo(Map.of("buildings", expectedBuildings)));
+    assertThat(result.getErrors()
+        .size(), is(1));
+    assertThat(result.getErrors()
+        .get(0)
+        .getPath(), equalTo(List.of("buildings", 1, "height")));
+  }
+
+  @Test
+  void mergeSubschemas_reportsEntityAndBatchErrorsOnce() {
+    DataFetcher<Object> buildingsByIdsFetcher = environment -> {
+      List<String> ids = environment.getArgument("ids");
+
+      return DataFetcherResult.newResult()
+          .data(ids.stream()
+              .map(id -> Map.of("identifier", id, "height", 10, "floors", 2))
+              .collect(Collectors.toList()))
+          .error(GraphqlErrorBuilder.newError()
+              .message("Lookup degraded.")
+              .path(List.of("buildingsByIds"))
+              .build())
+          .error(GraphqlErrorBuilder.newError()
+              .message("Building outdated.")
+              .path(List.of("buildingsByIds", 1))
+              .build())
+          .build();
+    };
+
+    var floorsSchema = createSchema("type Query { buildingsByIds(ids: [ID!]!): [Building]! } "
+        + "type Building { identifier: ID! height: Int floors: Int }", "buildingsByIds", buildingsByIdsFetcher);
+
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema),
+        createHeightSubschema(floorsSchema)));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute(ExecutionInput.newExecutionInput()
+            .query("{ buildings { height floors } }")
+            .dataLoaderRegistry(new DataLoaderRegistry())
+            .build());
+
+    var errorPaths = result.getErrors()
+        .stream()
+        .map(GraphQLError::getPath)
+        .collect(Collectors.toList());
+
+    assertThat(errorPaths, equalTo(List.of(List.of("buildings", 0, "height"), List.of("buildings", 1, "height"))));
+    assertThat(result.getData(), equalTo(Map.of("buildings", List.of(Map.of("height", 10, "floors", 2),
+        Map.of("height", 10, "floors", 2), Map.of("height", 10, "floors", 2)))));
+  }
+
+  @Test
+  void mergeSubschemas_passesVariables_ofMergedFields() {
+    DataFetcher<Object> buildingsByIdsFetcher = environment -> {
+      List<String> ids = environment.getArgument("ids");
+
+      return ids.stream()
+          .map(id -> Map.of("identifier", id))
+          .collect(Collectors.toList());
+    };
+
+    DataFetcher<Object> heightFetcher = environment -> {
+      Map<String, Object> source = environment.getSource();
+      var height = Integer.parseInt((String) source.get("identifier")) * 10;
+
+      return "cm".equals(environment.getArgument("unit")) ? height * 100 : height;
+    };
+
+    var unitHeightSchema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(
+        "type Query { buildingsByIds(ids: [ID!]!): [Building]! } "
+            + "type Building { identifier: ID! height(unit: String): Int }"),
+        RuntimeWiring.newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "buildingsByIds"), buildingsByIdsFetcher)
+                .dataFetcher(FieldCoordinates.coordinates("Building", "height"), heightFetcher))
+            .build());
+
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema),
+        createHeightSubschema(unitHeightSchema)));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute(ExecutionInput.newExecutionInput()
+            .query("query($unit: String, $keys: Boolean!) { buildings { name "
+                + "height(unit: $unit) @include(if: $keys) } }")
+            .variables(Map.of("unit", "cm", "keys", true))
+            .dataLoaderRegistry(new DataLoaderRegistry())
+            .build());
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(),
+        equalTo(Map.of("buildings", List.of(Map.of("name", "foo", "height", 1000),
+            Map.of("name", "bar", "height", 2000), Map.of("name", "baz", "height", 3000)))));
+  }
+
+  @Test
+  void mergeSubschemas_skipsLookup_ifNoMergedFieldIsSelected() {
+    var mergedSchema = SchemaMerger.mergeSubschemas(List.of(createSubschema(buildingSchema), createHeightSubschema()));
+
+    var result = GraphQL.newGraphQL(mergedSchema)
+        .build()
+        .execute("{ buildings { name } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(heightLookups.isEmpty(), is(true));
+  }
+
+  @Test
+  void mergeSubschemas_throwsException_ifLookupFieldIsAbsent() {
+    var subschemas = List.of(createSubschema(buildingSchema), createSubschema(heightSchema).transform(builder -> builder
+        .typeMergeConfig(TypeMergeConfig.newTypeMergeConfig()
+            .typeName("Building")
+            .keyFieldName("identifier")
+            .fieldName("buildingsByKeys")
+            .argumentName("keys")
+            .build())));
+
+    assertThrows(StitchException.class, () -> SchemaMerger.mergeSubschemas(subschemas));
+  }
+
+  private static Subschema createSubschema(GraphQLSchema schema) {
+    return Subschema.newSubschema()
+        .schema(schema)
+        .build();
+  }
+
+  private static Subschema createHeightSubschema() {
+    return createHeightSubschema(heightSchema);
+  }
+
+  private static Subschema createHeightSubschema(GraphQLSchema schema) {
+    return createSubschema(schema).transform(builder -> builder.typeMergeConfig(TypeMergeConfig
+        .newTypeMergeConfig()
+        .typeName("Building")
+        .keyFieldName("identifier")
+        .fieldName("buildingsByIds")
+        .argumentName("ids")
+        .build()));
+  }
+
+  private static GraphQLSchema wrap(GraphQLSchema schema) {
+    return SchemaWrapper.wrap(Subschema.newSubschema()
+        .schema(schema)
+        .build());
+  }
+
+  private static GraphQLSchema createSchema(String sdl, String fieldName, DataFetcher<Object> dataFetcher) {
+    return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(sdl), RuntimeWiring.newRuntimeWiring()
+        .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+            .dataFetcher(FieldCoordinates.coordinates("Query", fieldName), dataFetcher))
+        .build());
+  }
+}
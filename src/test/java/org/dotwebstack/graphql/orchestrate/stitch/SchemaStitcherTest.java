@@ -0,0 +1,164 @@
+package org.dotwebstack.graphql.orchestrate.stitch;
+
+import static graphql.introspection.IntrospectionQuery.INTROSPECTION_QUERY;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SchemaStitcherTest {
+
+  private static GraphQLSchema brewerySchema;
+
+  private static GraphQLSchema beerSchema;
+
+  @BeforeAll
+  static void beforeAll() {
+    DataFetcher<Object> breweryFetcher =
+        environment -> Map.of("identifier", environment.getArgument("identifier"), "name", "foo");
+
+    brewerySchema = loadSchema("dbeerpedia", GraphQLCodeRegistry.newCodeRegistry()
+        .dataFetcher(FieldCoordinates.coordinates("Query", "brewery"), breweryFetcher)
+        .build());
+
+    DataFetcher<Object> beerFetcher = environment -> Map.of("name", "bar");
+
+    beerSchema = new SchemaGenerator().makeExecutableSchema(
+        new SchemaParser().parse("type Query { beer: Beer } type Beer { name: String! }"),
+        RuntimeWiring.newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Query", "beer"), beerFetcher))
+            .build());
+  }
+
+  @Test
+  void stitch_mergesRootFields_ofAllSubschemas() throws Exception {
+    var stitchedSchema = SchemaStitcher.newStitcher()
+        .source(SubschemaSource.of(Subschema.newSubschema()
+            .schema(brewerySchema)
+            .build()))
+        .source(SubschemaSource.of(Subschema.newSubschema()
+            .schema(beerSchema)
+            .build()))
+        .build()
+        .stitch()
+        .get();
+
+    var result = GraphQL.newGraphQL(stitchedSchema)
+        .build()
+        .execute("{ brewery(identifier: \"123\") { name } beer { name } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("name", "foo"), "beer",
+        Map.of("name", "bar"))));
+  }
+
+  @Test
+  void stitch_introspectsRemoteSubschemas() throws Exception {
+    var introspectionResult = GraphQL.newGraphQL(beerSchema)
+        .build()
+        .execute(INTROSPECTION_QUERY);
+
+    var stitchedSchema = SchemaStitcher.newStitcher()
+        .source(SubschemaSource.of(Subschema.newSubschema()
+            .schema(brewerySchema)
+            .build()))
+        .source(SubschemaSource.introspect(input -> CompletableFuture.completedFuture(introspectionResult)))
+        .build()
+        .stitch()
+        .get();
+
+    assertThat(stitchedSchema.getQueryType()
+        .getFieldDefinition("beer"), is(notNullValue()));
+    assertThat(stitchedSchema.getObjectType("Beer"), is(notNullValue()));
+  }
+
+  @Test
+  void stitch_boundsConcurrentLoads() throws Exception {
+    var pendingLoads = new CompletableFuture<Void>();
+    var loadsInFlight = new AtomicInteger();
+    var maxLoadsInFlight = new AtomicInteger();
+
+    SubschemaSource source = () -> {
+      maxLoadsInFlight.accumulateAndGet(loadsInFlight.incrementAndGet(), Math::max);
+
+      return pendingLoads.thenApply(nothing -> {
+        loadsInFlight.decrementAndGet();
+        return Subschema.newSubschema()
+            .schema(beerSchema)
+            .build();
+      });
+    };
+
+    var stitchedSchema = SchemaStitcher.newStitcher()
+        .source(source)
+        .source(source)
+        .source(source)
+        .maxConcurrentLoads(2)
+        .build()
+        .stitch();
+
+    assertThat(maxLoadsInFlight.get(), is(2));
+
+    pendingLoads.complete(null);
+
+    // Merging fails on the duplicate root fields, only the loading matters here
+    stitchedSchema.handle((schema, throwable) -> schema)
+        .get();
+
+    assertThat(loadsInFlight.get(), is(0));
+    assertThat(maxLoadsInFlight.get(), is(2));
+  }
+
+  @Test
+  void stitch_fails_ifSourceTimesOut() {
+    var stitchedSchema = SchemaStitcher.newStitcher()
+        .source(CompletableFuture::new)
+        .loadTimeout(Duration.ofMillis(10))
+        .build()
+        .stitch();
+
+    var exception = assertThrows(ExecutionException.class, stitchedSchema::get);
+    assertThat(exception.getCause(), instanceOf(StitchException.class));
+    assertThat(exception.getCause()
+        .getCause(), instanceOf(TimeoutException.class));
+  }
+
+  @Test
+  void stitch_fails_ifRootFieldIsProvidedTwice() {
+    var stitchedSchema = SchemaStitcher.newStitcher()
+        .source(SubschemaSource.of(Subschema.newSubschema()
+            .schema(beerSchema)
+            .build()))
+        .source(SubschemaSource.of(Subschema.newSubschema()
+            .schema(beerSchema)
+            .build()))
+        .build()
+        .stitch();
+
+    var exception = assertThrows(ExecutionException.class, stitchedSchema::get);
+    assertThat(exception.getCause(), instanceOf(StitchException.class));
+  }
+}
@@ -1,5 +1,9 @@
 package org.dotwebstack.graphql.orchestrate.test;
 
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
 import graphql.parser.Parser;
 import graphql.schema.GraphQLArgument;
@@ -13,10 +17,15 @@ import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.dotwebstack.graphql.orchestrate.Request;
 
 public class TestUtils {
@@ -24,15 +33,21 @@ public class TestUtils {
   private TestUtils() {}
 
   public static Request parseQuery(String query) {
-    var selectionSet = Parser.parse(query)
-        .getDefinitionsOfType(OperationDefinition.class)
+    var document = Parser.parse(query);
+    var selectionSet = document.getDefinitionsOfType(OperationDefinition.class)
         .stream()
         .findFirst()
         .orElseThrow()
         .getSelectionSet();
 
+    var fragmentDefinitions = document.getDefinitionsOfType(FragmentDefinition.class)
+        .stream()
+        .collect(Collectors.toMap(FragmentDefinition::getName, Function.identity(), (first, second) -> first,
+            LinkedHashMap::new));
+
     return Request.newRequest()
         .selectionSet(selectionSet)
+        .fragmentDefinitions(fragmentDefinitions)
         .build();
   }
 
@@ -87,6 +102,29 @@ public class TestUtils {
         .orElse(null);
   }
 
+  public static ExecutionInput createExecutionInput(String query) {
+    return createExecutionInput(query, Map.of());
+  }
+
+  public static ExecutionInput createExecutionInput(String query, Map<String, Object> variables) {
+    return ExecutionInput.newExecutionInput()
+        .query(query)
+        .variables(variables)
+        .build();
+  }
+
+  public static ExecutionResult createExecutionResult() {
+    return createExecutionResult(null);
+  }
+
+  // Results are mutable, like the results of graphql-java, so executors can be checked for handing out copies
+  public static ExecutionResult createExecutionResult(Map<Object, Object> extensions) {
+    return ExecutionResultImpl.newExecutionResult()
+        .data(new HashMap<>(Map.of("foo", "bar")))
+        .extensions(extensions)
+        .build();
+  }
+
   public static void rethrowFutureException(CompletableFuture<?> completableFuture) throws Throwable {
     try {
       completableFuture.get();
@@ -0,0 +1,222 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.parseQuery;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import graphql.language.AstPrinter;
+import graphql.schema.GraphQLSchema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledTransformTest {
+
+  private static final int THREAD_COUNT = 8;
+
+  private static final int ITERATION_COUNT = 200;
+
+  private final TransformContext context = TransformContext.newContext()
+      .subschema(Subschema.newSubschema()
+          .schema(originalSchema)
+          .build())
+      .build();
+
+  private static GraphQLSchema originalSchema;
+
+  private static GraphQLSchema otherSchema;
+
+  @BeforeAll
+  static void beforeAll() {
+    originalSchema = loadSchema("dbeerpedia");
+
+    // Same schema, except for the brewery name field, which results in different compiled mappings
+    otherSchema = new RenameObjectFields((typeName, fieldName, fieldDefinition) -> typeName.equals("Brewery")
+        && fieldName.equals("name") ? "title" : fieldName).transformSchema(originalSchema,
+            TransformContext.newContext()
+                .subschema(Subschema.newSubschema()
+                    .schema(originalSchema)
+                    .build())
+                .build());
+  }
+
+  @Test
+  void compile_returnsIndependentStates_ForDifferentSchemas() {
+    var transform = createTransform();
+
+    var compiledTransform = transform.compile(originalSchema, context);
+    var otherCompiledTransform = transform.compile(otherSchema, context);
+
+    assertThat(compiledTransform.getTransformedSchema()
+        .getObjectType("Company")
+        .getFieldDefinition("label"), is(notNullValue()));
+    assertThat(otherCompiledTransform.getTransformedSchema()
+        .getObjectType("Company")
+        .getFieldDefinition("label"), is(nullValue()));
+    assertThat(transformQuery(compiledTransform, "{brewery(identifier:\"foo\") {label founder {label}}}"),
+        equalTo("{brewery(identifier:\"foo\"){label:name founder{label:name}}}"));
+    assertThat(transformQuery(otherCompiledTransform, "{brewery(identifier:\"foo\") {title founder {label}}}"),
+        equalTo("{brewery(identifier:\"foo\"){title founder{label:name}}}"));
+  }
+
+  @Test
+  void compile_canBeRepeated_ForHoistField() {
+    var transform = new HoistField("Brewery", "ambassadorNames", List.of("ambassadors", "name"));
+
+    transform.compile(originalSchema, context);
+    var compiledTransform = transform.compile(originalSchema, context);
+
+    assertThat(compiledTransform.getTransformedSchema()
+        .getObjectType("Brewery")
+        .getFieldDefinition("ambassadorNames"), is(notNullValue()));
+  }
+
+  @Test
+  void compile_adaptsTransform_ThatOnlyOverridesTransformMethod() {
+    var transform = new AbstractTransform() {
+      @Override
+      public CompletableFuture<Result> transform(Request originalRequest,
+          Function<Request, CompletableFuture<Result>> next) {
+        return next.apply(parseQuery("{brewery(identifier:\"bar\") {name}}"))
+            .thenApply(result -> result.transform(builder -> builder.data(Map.of("count", result.getData()
+                .size()))));
+      }
+    };
+
+    var compiledTransform = transform.compile(originalSchema, context);
+    var transformedRequest = compiledTransform.transformRequest(parseQuery("{brewery(identifier:\"foo\") {name}}"));
+
+    assertThat(compiledTransform.getTransformedSchema(), is(originalSchema));
+    assertThat(transformedRequest.isShareable(), is(false));
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getRequest()
+        .getSelectionSet()), equalTo("{brewery(identifier:\"bar\"){name}}"));
+    assertThat(transformedRequest.mapResult(createResult(Map.of("foo", 1)))
+        .join()
+        .getData(), equalTo(Map.of("count", 1)));
+    assertThat(transformedRequest.mapResult(createResult(Map.of("foo", 1, "bar", 2)))
+        .join()
+        .getData(), equalTo(Map.of("count", 2)));
+  }
+
+  @Test
+  void compile_adaptsTransform_ThatMapsResultsWithTheOriginalRequest() {
+    var mappedResult = new CompletableFuture<Void>();
+    var transform = new AbstractTransform() {
+      @Override
+      public CompletableFuture<Result> transform(Request originalRequest,
+          Function<Request, CompletableFuture<Result>> next) {
+        var query = AstPrinter.printAstCompact(originalRequest.getSelectionSet());
+
+        return next.apply(originalRequest)
+            .thenCombine(mappedResult, (result, ignored) -> result
+                .transform(builder -> builder.data(Map.of("query", query))));
+      }
+    };
+
+    var compiledTransform = transform.compile(originalSchema, context);
+    var fooRequest = compiledTransform.transformRequest(parseQuery("{brewery(identifier:\"foo\") {name}}"));
+    var barRequest = compiledTransform.transformRequest(parseQuery("{brewery(identifier:\"bar\") {name}}"));
+
+    var barResult = barRequest.mapResult(createResult(Map.of()));
+    var fooResult = fooRequest.mapResult(createResult(Map.of()));
+
+    // Mapping completes along with the transform, rather than blocking until then
+    assertThat(fooResult.isDone(), is(false));
+
+    mappedResult.complete(null);
+
+    assertThat(barResult.join()
+        .getData(), equalTo(Map.of("query", "{brewery(identifier:\"bar\"){name}}")));
+    assertThat(fooResult.join()
+        .getData(), equalTo(Map.of("query", "{brewery(identifier:\"foo\"){name}}")));
+  }
+
+  @Test
+  void transformRequest_throwsException_IfSchemaTransformedForMultipleSchemas() {
+    var transform = createTransform();
+
+    transform.transformSchema(originalSchema, context);
+    transform.transformSchema(otherSchema, context);
+
+    assertThrows(TransformException.class,
+        () -> transform.transformRequest(parseQuery("{brewery(identifier:\"foo\") {label}}")));
+  }
+
+  @Test
+  void transformRequest_isConsistent_UnderConcurrentUse() throws Exception {
+    var transform = createTransform()
+        .pipe(new HoistField("Company", "founderName", List.of("founder", "label")));
+
+    var compiledTransforms = List.of(transform.compile(originalSchema, context),
+        transform.compile(otherSchema, context));
+    var queries = List.of("{brewery(identifier:\"foo\") {label founderName ...on Company {label}}}",
+        "{brewery(identifier:\"foo\") {title founderName ...on Company {title}}}");
+    var expectedQueries = List.of(
+        "{brewery(identifier:\"foo\"){label:name ...on Brewery{label:name}founder{label:name}}}",
+        "{brewery(identifier:\"foo\"){title ...on Brewery{title}founder{label:name}}}");
+
+    var executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+    var startLatch = new CountDownLatch(1);
+    var failures = Collections.synchronizedList(new ArrayList<String>());
+
+    for (var thread = 0; thread < THREAD_COUNT; thread++) {
+      executorService.execute(() -> {
+        try {
+          startLatch.await();
+
+          for (var iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+            var index = iteration % 2;
+            var query = transformQuery(compiledTransforms.get(index), queries.get(index));
+
+            if (!query.equals(expectedQueries.get(index))) {
+              failures.add(query);
+            }
+          }
+        } catch (Exception e) {
+          failures.add(e.toString());
+        }
+      });
+    }
+
+    startLatch.countDown();
+    executorService.shutdown();
+
+    assertThat(executorService.awaitTermination(1, TimeUnit.MINUTES), is(true));
+    assertThat(failures, is(empty()));
+  }
+
+  private static Transform createTransform() {
+    return new RenameTypes((typeName, type) -> typeName.equals("Brewery") ? "Company" : typeName)
+        .pipe(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name") ? "label"
+            : fieldName));
+  }
+
+  private static Result createResult(Map<String, Object> data) {
+    return Result.newResult()
+        .data(data)
+        .build();
+  }
+
+  private static String transformQuery(CompiledTransform compiledTransform, String query) {
+    return AstPrinter.printAstCompact(compiledTransform.transformRequest(parseQuery(query))
+        .getRequest()
+        .getSelectionSet());
+  }
+}
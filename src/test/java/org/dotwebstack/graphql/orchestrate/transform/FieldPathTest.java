@@ -0,0 +1,93 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FieldPathTest {
+
+  @Test
+  void of_throwsException_ForEmptyPath() {
+    var fieldKeys = List.<String>of();
+
+    assertThrows(IllegalArgumentException.class, () -> FieldPath.of(fieldKeys));
+  }
+
+  @Test
+  void getValue_returnsNestedValue_ForMaps() {
+    var fieldPath = FieldPath.of(List.of("founder", "address", "street"));
+
+    var data = Map.of("founder", Map.of("address", Map.of("street", "foo")));
+
+    assertThat(fieldPath.getValue(data), equalTo("foo"));
+  }
+
+  @Test
+  void getValue_returnsNull_IfParentIsAbsent() {
+    var fieldPath = FieldPath.of(List.of("founder", "address", "street"));
+
+    Map<String, Object> founder = new HashMap<>();
+    founder.put("address", null);
+
+    assertThat(fieldPath.getValue(Map.of("founder", founder)), is(nullValue()));
+    assertThat(fieldPath.getValue(Map.of()), is(nullValue()));
+  }
+
+  @Test
+  void getValue_collectsPresentValues_ForLists() {
+    var fieldPath = FieldPath.of(List.of("ambassadors", "address", "street"));
+
+    Map<String, Object> homeless = new HashMap<>();
+    homeless.put("address", null);
+
+    var data = Map.of("ambassadors", List.of(Map.of("address", Map.of("street", "foo")), homeless,
+        Map.of("address", Map.of("street", "bar"))));
+
+    assertThat(fieldPath.getValue(data), equalTo(List.of("foo", "bar")));
+  }
+
+  @Test
+  void getValue_keepsLeafLists_ForLists() {
+    var fieldPath = FieldPath.of(List.of("ambassadors", "hobbies"));
+
+    var data = Map.of("ambassadors", List.of(Map.of("hobbies", List.of("foo", "bar")), Map.of("hobbies",
+        List.of("baz"))));
+
+    assertThat(fieldPath.getValue(data), equalTo(List.of(List.of("foo", "bar"), List.of("baz"))));
+  }
+
+  @Test
+  void getValue_throwsException_ForUnsupportedType() {
+    var fieldPath = FieldPath.of(List.of("founder", "name"));
+
+    var data = Map.of("founder", "foo");
+
+    assertThrows(TransformException.class, () -> fieldPath.getValue(data));
+  }
+
+  @Test
+  void mapPath_replacesFieldPath_withFieldKey() {
+    var fieldPath = FieldPath.of(List.of("founder", "address", "street"));
+
+    assertThat(fieldPath.mapPath("street", List.of("founder", "address")), equalTo(List.of("street")));
+    assertThat(fieldPath.mapPath("street", List.of("founder", "address", "street")), equalTo(List.of("street")));
+    assertThat(fieldPath.mapPath("hobbies", List.of("founder", "address", "street", 1)),
+        equalTo(List.of("hobbies", 1)));
+    assertThat(fieldPath.mapPath("street", List.of("cofounder", "address")), is(nullValue()));
+  }
+
+  @Test
+  void mapPath_dropsRemainingPath_ForListItems() {
+    var fieldPath = FieldPath.of(List.of("ambassadors", "name"));
+
+    assertThat(fieldPath.mapPath("ambassadorNames", List.of("ambassadors", 2, "name")),
+        equalTo(List.of("ambassadorNames")));
+  }
+}
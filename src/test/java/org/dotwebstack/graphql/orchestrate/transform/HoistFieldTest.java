@@ -208,6 +208,57 @@ class HoistFieldTest {
         equalTo("{brewery(identifier:\"foo\"){identifier founder{name}}}"));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void transform_skipsIntrospectionFields_ifFieldRequested() throws Exception {
+    var transform = new HoistField("Brewery", "founderName", List.of("founder", "name"));
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{__typename brewery(identifier:\"foo\") {__typename founderName}}");
+
+    var proxyResult = Result.newResult()
+        .data(Map.of("__typename", "Query", "brewery", Map.of("__typename", "Brewery", "founder",
+            Map.of("name", "bar"))))
+        .build();
+
+    when(nextMock.apply(requestCaptor.capture())).thenReturn(CompletableFuture.completedFuture(proxyResult));
+
+    var result = transform.transform(originalRequest, nextMock)
+        .get();
+
+    Map<String, Object> resultData = result.getData();
+    var brewery = (Map<String, Object>) resultData.get("brewery");
+    assertThat(brewery.get("__typename"), equalTo("Brewery"));
+    assertThat(brewery.get("founderName"), equalTo("bar"));
+    assertThat(AstPrinter.printAstCompact(requestCaptor.getValue()
+        .getSelectionSet()), equalTo("{__typename brewery(identifier:\"foo\"){__typename founder{name}}}"));
+  }
+
+  @Test
+  void transform_inlinesNamedFragments() throws Exception {
+    var transform = new HoistField("Brewery", "founderName", List.of("founder", "name"));
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{brewery(identifier:\"foo\") {founderName ...BreweryFields}} "
+        + "fragment BreweryFields on Brewery {identifier}");
+
+    when(nextMock.apply(requestCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Result.newResult()
+        .data(Map.of("brewery", Map.of("identifier", "foo", "founder", Map.of("name", "bar"))))
+        .build()));
+
+    transform.transform(originalRequest, nextMock)
+        .get();
+
+    var transformedRequest = requestCaptor.getValue();
+
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getSelectionSet()),
+        equalTo("{brewery(identifier:\"foo\"){...on Brewery{identifier}founder{name}}}"));
+    assertThat(transformedRequest.getFragmentDefinitions()
+        .isEmpty(), is(true));
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void transform_replacesSelectionSet_ifFieldOverlaps() throws Exception {
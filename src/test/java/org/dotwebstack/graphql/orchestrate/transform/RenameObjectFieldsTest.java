@@ -115,4 +115,26 @@ class RenameObjectFieldsTest {
     assertThat(AstPrinter.printAstCompact(transformedRequest.getSelectionSet()),
         equalTo("{brewery(identifier:\"foo\"){identifier ...on Brewery{label:name}}}"));
   }
+
+  @Test
+  void transformRequest_addsAlias_ForNamedFragmentField() {
+    var transform = new RenameObjectFields(
+        (typeName, fieldName, fieldDefinition) -> fieldName.equals("name") ? "label" : fieldName);
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{brewery(identifier:\"foo\") {identifier ...BreweryFields}} "
+        + "fragment BreweryFields on Brewery {label}");
+
+    when(nextMock.apply(requestCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Result.newResult()
+        .build()));
+
+    transform.transform(originalRequest, nextMock);
+    var transformedRequest = requestCaptor.getValue();
+
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getSelectionSet()),
+        equalTo("{brewery(identifier:\"foo\"){identifier ...BreweryFields}}"));
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getFragmentDefinitions()
+        .get("BreweryFields")), equalTo("fragment BreweryFields on Brewery {label:name}"));
+  }
 }
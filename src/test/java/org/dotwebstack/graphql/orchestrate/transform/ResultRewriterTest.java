@@ -0,0 +1,142 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ResultRewriterTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rewrite_addsFields_WithoutModifyingOriginal() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "founderName", container -> ((Map<String, Object>) container
+        .get("founder")).get("name"));
+    resultRewriter.addField(List.of("brewery"), "identifierCopy", container -> container.get("identifier"));
+
+    var founder = Map.of("name", "bar");
+    var data = Map.of("brewery", Map.of("identifier", "foo", "founder", founder), "other", Map.of("x", 1));
+
+    var newData = (Map<String, Object>) resultRewriter.rewrite(data, false);
+    var brewery = (Map<String, Object>) newData.get("brewery");
+
+    assertThat(brewery.get("founderName"), equalTo("bar"));
+    assertThat(brewery.get("identifierCopy"), equalTo("foo"));
+    assertThat(brewery.get("founder"), is(sameInstance(founder)));
+    assertThat(newData.get("other"), is(sameInstance(data.get("other"))));
+    assertThat(data.get("brewery"), equalTo(Map.of("identifier", "foo", "founder", founder)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rewrite_keepsFieldOrder_OfCopiedContainers() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+
+    var brewery = new LinkedHashMap<String, Object>();
+    List.of("name", "identifier", "founder", "address", "beers", "rating")
+        .forEach(fieldKey -> brewery.put(fieldKey, fieldKey));
+
+    var newData = (Map<String, Object>) resultRewriter.rewrite(Map.of("brewery", brewery), false);
+
+    assertThat(List.copyOf(((Map<String, Object>) newData.get("brewery")).keySet()),
+        equalTo(List.of("name", "identifier", "founder", "address", "beers", "rating", "label")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rewrite_appliesNestedPaths_ForListItems() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+    resultRewriter.addField(List.of("brewery", "collaborators"), "label", container -> container.get("name"));
+
+    var data = Map.of("brewery", Map.of("name", "foo", "collaborators",
+        List.of(Map.of("name", "bar"), Map.of("name", "baz"))));
+
+    var newData = (Map<String, Object>) resultRewriter.rewrite(data, false);
+    var brewery = (Map<String, Object>) newData.get("brewery");
+    var collaborators = (List<Map<String, Object>>) brewery.get("collaborators");
+
+    assertThat(brewery.get("label"), equalTo("foo"));
+    assertThat(collaborators.get(0)
+        .get("label"), equalTo("bar"));
+    assertThat(collaborators.get(1)
+        .get("label"), equalTo("baz"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rewrite_mutatesInPlace_IfOwned() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+
+    var brewery = new HashMap<String, Object>(Map.of("name", "foo"));
+    var data = new HashMap<String, Object>(Map.of("brewery", brewery));
+
+    var newData = (Map<String, Object>) resultRewriter.rewrite(data, true);
+
+    assertThat(newData, is(sameInstance(data)));
+    assertThat(brewery.get("label"), equalTo("foo"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rewrite_copiesImmutableContainers_IfOwned() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+
+    var data = new HashMap<String, Object>(Map.of("brewery", Map.of("name", "foo")));
+
+    var newData = (Map<String, Object>) resultRewriter.rewrite(data, true);
+    var brewery = (Map<String, Object>) newData.get("brewery");
+
+    assertThat(newData, is(sameInstance(data)));
+    assertThat(brewery.get("label"), equalTo("foo"));
+  }
+
+  @Test
+  void rewrite_returnsSameInstance_IfPathIsAbsent() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+
+    Map<String, Object> data = new HashMap<>();
+    data.put("brewery", null);
+
+    assertThat(resultRewriter.rewrite(data, false), is(sameInstance(data)));
+    assertThat(resultRewriter.rewrite(null, false), is(nullValue()));
+  }
+
+  @Test
+  void rewrite_throwsException_ForUnsupportedType() {
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("brewery"), "label", container -> container.get("name"));
+
+    var data = Map.of("brewery", "foo");
+
+    assertThrows(TransformException.class, () -> resultRewriter.rewrite(data, false));
+  }
+
+  @Test
+  void rewritePath_relocatesPaths_OfRewrittenFields() {
+    var fieldPath = FieldPath.of(List.of("founder", "name"));
+
+    var resultRewriter = new ResultRewriter();
+    resultRewriter.addField(List.of("breweries"), "founderName", fieldPath::getValue,
+        path -> fieldPath.mapPath("founderName", path));
+
+    assertThat(resultRewriter.rewritePath(List.of("breweries", 1, "founder", "name")),
+        equalTo(List.of("breweries", 1, "founderName")));
+    assertThat(resultRewriter.rewritePath(List.of("breweries", 1, "identifier")),
+        equalTo(List.of("breweries", 1, "identifier")));
+    assertThat(resultRewriter.rewritePath(List.of("other", "founder")), equalTo(List.of("other", "founder")));
+  }
+}
@@ -0,0 +1,121 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
+import static org.dotwebstack.graphql.orchestrate.test.TestUtils.parseQuery;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import graphql.language.AstPrinter;
+import graphql.schema.GraphQLSchema;
+import java.util.List;
+import java.util.Map;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TransformPipelineTest {
+
+  private final TransformContext context = TransformContext.newContext()
+      .subschema(Subschema.newSubschema()
+          .schema(originalSchema)
+          .build())
+      .build();
+
+  private static GraphQLSchema originalSchema;
+
+  @BeforeAll
+  static void beforeAll() {
+    originalSchema = loadSchema("dbeerpedia");
+  }
+
+  @Test
+  void pipe_flattensTransforms_IntoSinglePipeline() {
+    var first = new RenameTypes((typeName, type) -> typeName);
+    var second = new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName);
+    var third = new FilterObjectFields((typeName, fieldName, fieldDefinition) -> true);
+
+    var transform = first.pipe(second)
+        .pipe(third);
+
+    assertThat(transform, instanceOf(TransformPipeline.class));
+    assertThat(((TransformPipeline) transform).getTransforms(), contains(first, second, third));
+  }
+
+  @Test
+  void transformSchema_appliesTransforms_InOrder() {
+    var transform = TransformPipeline.of(new RenameTypes((typeName, type) -> typeName.equals("Brewery") ? "Company"
+        : typeName), new RenameObjectFields((typeName, fieldName, fieldDefinition) -> typeName.equals("Company")
+            && fieldName.equals("name") ? "label" : fieldName));
+
+    var transformedSchema = transform.transformSchema(originalSchema, context);
+
+    assertThat(transformedSchema.getObjectType("Brewery"), is(nullValue()));
+    assertThat(transformedSchema.getObjectType("Company")
+        .getFieldDefinition("label"), is(notNullValue()));
+  }
+
+  @Test
+  void transformRequest_mapsFusedTransforms_InSingleTraversal() {
+    var transform = TransformPipeline.of(new RenameTypes((typeName, type) -> typeName.equals("Brewery") ? "Company"
+        : typeName), new RenameObjectFields((typeName, fieldName, fieldDefinition) -> typeName.equals("Company")
+            && fieldName.equals("name") ? "label" : fieldName),
+        new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("label") ? "title"
+            : fieldName));
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{brewery(identifier:\"foo\") {identifier title ...on Company {title}}}");
+    var transformedRequest = transform.transformRequest(originalRequest);
+
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getRequest()
+        .getSelectionSet()),
+        equalTo("{brewery(identifier:\"foo\"){identifier title:name ...on Brewery{title:name}}}"));
+  }
+
+  @Test
+  void transformRequest_preservesClientAlias_ForRenamedField() {
+    var transform = TransformPipeline.of(new RenameObjectFields((typeName, fieldName,
+        fieldDefinition) -> fieldName.equals("name") ? "label" : fieldName));
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{brewery(identifier:\"foo\") {identifier title:label}}");
+    var transformedRequest = transform.transformRequest(originalRequest);
+
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getRequest()
+        .getSelectionSet()), equalTo("{brewery(identifier:\"foo\"){identifier title:name}}"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void transformRequest_fallsBack_ForNonFusibleTransforms() {
+    var transform = TransformPipeline.of(new HoistField("Brewery", "founderName", List.of("founder", "name")),
+        new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("founderName")
+            ? "founderLabel"
+            : fieldName));
+
+    transform.transformSchema(originalSchema, context);
+
+    var originalRequest = parseQuery("{brewery(identifier:\"foo\") {identifier founderLabel}}");
+    var transformedRequest = transform.transformRequest(originalRequest);
+
+    assertThat(AstPrinter.printAstCompact(transformedRequest.getRequest()
+        .getSelectionSet()), equalTo("{brewery(identifier:\"foo\"){identifier founder{name}}}"));
+
+    var result = transformedRequest.getResultMapper()
+        .apply(Result.newResult()
+            .data(Map.of("brewery", Map.of("identifier", "foo", "founder", Map.of("name", "bar"))))
+            .build());
+
+    var brewery = (Map<String, Object>) result.getData()
+        .get("brewery");
+
+    assertThat(brewery.get("founderLabel"), equalTo("bar"));
+  }
+}
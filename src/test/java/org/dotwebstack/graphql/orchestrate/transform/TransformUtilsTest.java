@@ -0,0 +1,41 @@
+package org.dotwebstack.graphql.orchestrate.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("deprecation")
+class TransformUtilsTest {
+
+  @Test
+  void getFieldValue_collectsValues_AlongNestedLists() {
+    var data = Map.of("brewery", Map.of("beers", List.of(Map.of("name", "foo"), Map.of(), Map.of("name", "bar"))));
+
+    assertThat(TransformUtils.getFieldValue(data, List.of("brewery", "beers", "name")),
+        equalTo(List.of("foo", "bar")));
+    assertThat(TransformUtils.getFieldValue(data, "brewery"), is(sameInstance(data.get("brewery"))));
+  }
+
+  @Test
+  void mapTransform_mapsObjectsAtPath_WithoutModifyingOriginal() {
+    var beers = List.of(Map.<String, Object>of("name", "foo"), Map.<String, Object>of("name", "bar"));
+    var data = Map.<String, Object>of("brewery", Map.of("beers", beers), "other", Map.of("x", 1));
+
+    var newData = TransformUtils.mapTransform(data, List.of("brewery", "beers"), beer -> {
+      var newBeer = new HashMap<>(beer);
+      newBeer.put("label", beer.get("name"));
+      return newBeer;
+    });
+
+    assertThat(newData.get("brewery"), equalTo(Map.of("beers", List.of(Map.of("name", "foo", "label", "foo"),
+        Map.of("name", "bar", "label", "bar")))));
+    assertThat(newData.get("other"), is(sameInstance(data.get("other"))));
+    assertThat(data.get("brewery"), equalTo(Map.of("beers", beers)));
+  }
+}
@@ -2,26 +2,49 @@ package org.dotwebstack.graphql.orchestrate.wrap;
 
 import static org.dotwebstack.graphql.orchestrate.test.TestUtils.loadSchema;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.GraphqlErrorBuilder;
 import graphql.execution.MergedField;
 import graphql.language.Argument;
 import graphql.language.Field;
 import graphql.language.OperationDefinition;
 import graphql.language.SelectionSet;
 import graphql.language.StringValue;
+import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.dotwebstack.graphql.orchestrate.Request;
+import org.dotwebstack.graphql.orchestrate.Result;
+import org.dotwebstack.graphql.orchestrate.instrumentation.InstrumentationContext;
 import org.dotwebstack.graphql.orchestrate.schema.Executor;
 import org.dotwebstack.graphql.orchestrate.schema.Subschema;
+import org.dotwebstack.graphql.orchestrate.transform.AbstractTransform;
+import org.dotwebstack.graphql.orchestrate.transform.CompiledTransform;
+import org.dotwebstack.graphql.orchestrate.transform.HoistField;
+import org.dotwebstack.graphql.orchestrate.transform.RenameObjectFields;
 import org.dotwebstack.graphql.orchestrate.transform.Transform;
 import org.dotwebstack.graphql.orchestrate.transform.TransformContext;
 import org.hamcrest.Matchers;
@@ -32,6 +55,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
 @ExtendWith(MockitoExtension.class)
 class SchemaWrapperTest {
@@ -39,12 +64,18 @@ class SchemaWrapperTest {
   @Mock
   private Transform transform;
 
+  @Mock
+  private CompiledTransform compiledTransform;
+
   @Captor
   private ArgumentCaptor<TransformContext> contextCaptor;
 
   @Mock
   private Executor executor;
 
+  @Captor
+  private ArgumentCaptor<ExecutionInput> inputCaptor;
+
   private GraphQLSchema originalSchema;
 
   @BeforeEach
@@ -55,7 +86,8 @@ class SchemaWrapperTest {
   @Test
   void wrap_appliesSchemaTransforms_onGivenSubschema() {
     var transformedSchema = originalSchema.transform(GraphQLSchema.Builder::build);
-    when(transform.transformSchema(any(), contextCaptor.capture())).thenReturn(transformedSchema);
+    when(transform.compile(any(), contextCaptor.capture())).thenReturn(compiledTransform);
+    when(compiledTransform.getTransformedSchema()).thenReturn(transformedSchema);
 
     var subschema = Subschema.newSubschema()
         .schema(originalSchema)
@@ -64,7 +96,7 @@ class SchemaWrapperTest {
 
     var wrappedSchema = SchemaWrapper.wrap(subschema);
 
-    assertThat(wrappedSchema, Matchers.is(transformedSchema));
+    assertThat(wrappedSchema.getQueryType(), Matchers.is(transformedSchema.getQueryType()));
     var context = contextCaptor.getValue();
     assertThat(context.getSubschema(), is(subschema));
   }
@@ -94,8 +126,287 @@ class SchemaWrapperTest {
     assertThat(result, equalTo(result));
   }
 
+  @Test
+  void wrap_delegatesRenamedRootField_usingOriginalFieldName() throws Exception {
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("brewery")
+            ? "company"
+            : fieldName))
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("company", Map.of("name", "bar")))
+        .build();
+
+    when(executor.execute(inputCaptor.capture())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var wrappedSchema = SchemaWrapper.wrap(subschema);
+
+    var dataFetcher = wrappedSchema.getCodeRegistry()
+        .getDataFetcher(wrappedSchema.getQueryType(), wrappedSchema.getQueryType()
+            .getField("company"));
+
+    var result = ((CompletableFuture<?>) dataFetcher.get(createEnvironment("company"))).get();
+
+    assertThat(result, equalTo(Map.of("name", "bar")));
+    assertThat(inputCaptor.getValue()
+        .getQuery(), containsString("company: brewery(identifier: \"foo\")"));
+  }
+
+  @Test
+  void wrap_appliesTransform_thatOnlyOverridesTransformMethod() throws Exception {
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new IdentifierTransform())
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", Map.of("name", "bar")))
+        .build();
+
+    when(executor.execute(inputCaptor.capture())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var wrappedSchema = SchemaWrapper.wrap(subschema);
+
+    var dataFetcher = wrappedSchema.getCodeRegistry()
+        .getDataFetcher(wrappedSchema.getQueryType(), wrappedSchema.getQueryType()
+            .getField("brewery"));
+
+    var result = ((CompletableFuture<?>) dataFetcher.get(createEnvironment())).get();
+
+    assertThat(result, equalTo(Map.of("name", "BAR")));
+    assertThat(inputCaptor.getValue()
+        .getQuery(), containsString("brewery(identifier: \"bar\")"));
+  }
+
+  @Test
+  void wrap_delegatesNamedFragments_onceWithTransformedFields() {
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name")
+            ? "label"
+            : fieldName))
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", Map.of("label", "foo", "founder", Map.of("label", "bar"), "cofounder",
+            Map.of("label", "baz"))))
+        .build();
+
+    when(executor.execute(inputCaptor.capture())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("{ brewery(identifier: \"foo\") { ...BreweryFields founder { ...PersonFields } "
+            + "cofounder { ...PersonFields } } } fragment BreweryFields on Brewery { label } "
+            + "fragment PersonFields on Person { label }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("label", "foo", "founder",
+        Map.of("label", "bar"), "cofounder", Map.of("label", "baz")))));
+
+    var query = inputCaptor.getValue()
+        .getQuery();
+
+    assertThat(query, containsString("fragment PersonFields on Person {\n  label: name\n}"));
+    assertThat(query.indexOf("fragment PersonFields"), is(query.lastIndexOf("fragment PersonFields")));
+  }
+
+  @Test
+  void wrap_prunesNamedFragments_ifInlinedByTransform() {
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new HoistField("Brewery", "founderName", List.of("founder", "name")))
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", Map.of("name", "foo", "founder", Map.of("name", "bar"))))
+        .build();
+
+    when(executor.execute(inputCaptor.capture())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("{ brewery(identifier: \"foo\") { founderName ...BreweryFields } } "
+            + "fragment BreweryFields on Brewery { name }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("brewery", Map.of("founderName", "bar", "name", "foo"))));
+    assertThat(inputCaptor.getValue()
+        .getQuery(), not(containsString("fragment")));
+  }
+
+  @Test
+  void wrap_returnsPartialData_withRelocatedErrors() {
+    var brewery = new HashMap<String, Object>();
+    brewery.put("label", "foo");
+    brewery.put("cofounder", null);
+
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name")
+            ? "label"
+            : fieldName))
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", brewery))
+        .addError(GraphqlErrorBuilder.newError()
+            .message("Cofounder not available.")
+            .path(List.of("brewery", "cofounder"))
+            .build())
+        .build();
+
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("{ brewery(identifier: \"foo\") { label cofounder { label } } }");
+
+    assertThat(result.getData(), equalTo(Map.of("brewery", brewery)));
+    assertThat(result.getErrors()
+        .size(), is(1));
+    assertThat(result.getErrors()
+        .get(0)
+        .getMessage(), is("Cofounder not available."));
+    assertThat(result.getErrors()
+        .get(0)
+        .getPath(), equalTo(List.of("brewery", "cofounder")));
+  }
+
+  @Test
+  void wrap_relocatesErrors_ofHoistedFields() {
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .executor(executor)
+        .transform(new HoistField("Brewery", "cofounderStreet", List.of("cofounder", "address", "street")))
+        .build();
+
+    var cofounder = new HashMap<String, Object>();
+    cofounder.put("address", null);
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", Map.of("name", "foo", "cofounder", cofounder)))
+        .addError(GraphqlErrorBuilder.newError()
+            .message("Address not available.")
+            .path(List.of("brewery", "cofounder", "address"))
+            .build())
+        .build();
+
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("{ brewery(identifier: \"foo\") { name cofounderStreet } }");
+
+    assertThat(result.getErrors()
+        .size(), is(1));
+    assertThat(result.getErrors()
+        .get(0)
+        .getPath(), equalTo(List.of("brewery", "cofounderStreet")));
+    assertThat(result.getErrors()
+        .get(0)
+        .getLocations()
+        .get(0)
+        .getColumn(), is(3));
+  }
+
+  @Test
+  void wrap_reportsDelegationPhases_toInstrumentation() {
+    var phases = new ArrayList<String>();
+
+    var subschema = Subschema.newSubschema()
+        .schema(originalSchema)
+        .name("breweries")
+        .executor(executor)
+        .transform(new HoistField("Brewery", "cofounderStreet", List.of("cofounder", "address", "street"))
+            .pipe(new RenameObjectFields((typeName, fieldName, fieldDefinition) -> fieldName.equals("name")
+                ? "label"
+                : fieldName)))
+        .instrumentation((phase, name) -> {
+          phases.add(phase + ":" + name);
+          return InstrumentationContext.NOOP;
+        })
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("brewery", Map.of("label", "foo", "cofounder", Map.of("address", Map.of("street", "bar")))))
+        .build();
+
+    when(executor.execute(any())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("{ brewery(identifier: \"foo\") { label cofounderStreet } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(phases, equalTo(List.of("REQUEST_TRANSFORM:TransformPipeline", "REQUEST_TRANSFORM:RenameObjectFields",
+        "REQUEST_TRANSFORM:HoistField", "QUERY_PRINTING:breweries", "EXECUTION:breweries",
+        "RESULT_TRANSFORM:TransformPipeline", "RESULT_TRANSFORM:HoistField")));
+  }
+
+  @Test
+  void wrap_delegatesMutationField_asMutationOperation() throws Exception {
+    var subschema = Subschema.newSubschema()
+        .schema(createEventSchema())
+        .executor(executor)
+        .build();
+
+    var expectedResult = ExecutionResultImpl.newExecutionResult()
+        .data(Map.of("addBrewery", Map.of("name", "foo")))
+        .build();
+
+    when(executor.execute(inputCaptor.capture())).thenReturn(CompletableFuture.completedFuture(expectedResult));
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("mutation { addBrewery(name: \"foo\") { name } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+    assertThat(result.getData(), equalTo(Map.of("addBrewery", Map.of("name", "foo"))));
+    assertThat(inputCaptor.getValue()
+        .getQuery(), startsWith("mutation"));
+  }
+
+  @Test
+  void wrap_delegatesSubscriptionField_mappingEveryEvent() {
+    var subschema = Subschema.newSubschema()
+        .schema(createEventSchema())
+        .build();
+
+    var result = GraphQL.newGraphQL(SchemaWrapper.wrap(subschema))
+        .build()
+        .execute("subscription { breweryAdded { name } }");
+
+    assertThat(result.getErrors()
+        .isEmpty(), is(true));
+
+    Publisher<ExecutionResult> events = result.getData();
+    var eventData = Flux.from(events)
+        .map(ExecutionResult::getData)
+        .collectList()
+        .block();
+
+    assertThat(eventData, equalTo(List.of(Map.of("breweryAdded", Map.of("name", "foo")),
+        Map.of("breweryAdded", Map.of("name", "bar")))));
+  }
+
   private DataFetchingEnvironment createEnvironment() {
-    var field = Field.newField("brewery")
+    return createEnvironment("brewery");
+  }
+
+  private DataFetchingEnvironment createEnvironment(String fieldName) {
+    var field = Field.newField(fieldName)
         .arguments(List.of(new Argument("identifier", StringValue.of("foo"))))
         .selectionSet(SelectionSet.newSelectionSet()
             .selection(new Field("name"))
@@ -112,4 +423,35 @@ class SchemaWrapperTest {
             .build())
         .build();
   }
+
+  private static GraphQLSchema createEventSchema() {
+    DataFetcher<Object> breweryAddedFetcher = environment -> Flux.just(Map.of("name", "foo"), Map.of("name", "bar"));
+
+    return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("type Query { brewery: Brewery } "
+        + "type Mutation { addBrewery(name: String!): Brewery } type Subscription { breweryAdded: Brewery } "
+        + "type Brewery { name: String! }"), RuntimeWiring.newRuntimeWiring()
+            .codeRegistry(GraphQLCodeRegistry.newCodeRegistry()
+                .dataFetcher(FieldCoordinates.coordinates("Subscription", "breweryAdded"), breweryAddedFetcher))
+            .build());
+  }
+
+  // Implements the continuation style transform method only, like transforms written before these were compiled
+  private static final class IdentifierTransform extends AbstractTransform {
+
+    @Override
+    public CompletableFuture<Result> transform(Request originalRequest,
+        Function<Request, CompletableFuture<Result>> next) {
+      var field = (Field) originalRequest.getSelectionSet()
+          .getSelections()
+          .get(0);
+      var transformedField = field.transform(builder -> builder.arguments(List.of(new Argument("identifier",
+          new StringValue("bar")))));
+      var request = originalRequest.transform(builder -> builder.selectionSet(new SelectionSet(
+          List.of(transformedField))));
+
+      return next.apply(request)
+          .thenApply(result -> result.transform(builder -> builder.data(Map.of("brewery", Map.of("name",
+              "BAR")))));
+    }
+  }
 }